@@ -81,6 +81,7 @@ extra["gitHash"] = getGitCommit()
 val nucleusVersion: String by project // = project.properties["nucleusVersion"]?.toString()!!
 val nucleusVersionSuffix : String? by project // = project.properties["nucleusVersionSuffix"]?.toString()
 val vavrVersion: String by project
+val mvstoreVersion: String by project
 val declaredApiVersion: String by project
 val spongeApiVersion: String by project
 
@@ -273,10 +274,12 @@ tasks {
             include(project(":nucleus-modules"))
             include(project(":nucleus-bootstrap"))
             include(dependency("io.vavr:vavr:$vavrVersion"))
+            include(dependency("com.h2database:h2-mvstore:$mvstoreVersion"))
         }
 
         if (!project.properties.containsKey("norelocate")) {
             relocate("io.vavr", "io.github.nucleuspowered.relocate.io.vavr")
+            relocate("org.h2", "io.github.nucleuspowered.relocate.org.h2")
         }
 
         minimize {
@@ -284,6 +287,7 @@ tasks {
             exclude(project(":nucleus-core"))
             exclude(project(":nucleus-modules"))
             exclude(project(":nucleus-bootstrap"))
+            exclude(dependency("com.h2database:h2-mvstore:.*"))
         }
 
         exclude("io/github/nucleuspowered/nucleus/api/NucleusAPIMod.class")
@@ -23,6 +23,7 @@ java {
 
 val spongeApiVersion: String by rootProject
 val vavrVersion: String by rootProject
+val mvstoreVersion: String by rootProject
 
 dependencies {
     api(project(":nucleus-api"))
@@ -32,6 +33,7 @@ dependencies {
     api(dep)
 
     api("io.vavr:vavr:$vavrVersion")
+    implementation("com.h2database:h2-mvstore:$mvstoreVersion")
     implementation("org.spongepowered:timings:1.0-SNAPSHOT")
 
     testImplementation("org.mockito:mockito-all:1.10.19")
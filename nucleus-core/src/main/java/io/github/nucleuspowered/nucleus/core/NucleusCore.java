@@ -37,6 +37,7 @@ import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.core.services.impl.NucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.ICommandMetadataService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IConfigProvider;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.nucleus.core.startuperror.NucleusConfigException;
@@ -88,9 +89,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public final class NucleusCore {
@@ -319,6 +322,8 @@ public final class NucleusCore {
     @Listener
     public void serverStopping(final StoppingEngineEvent<Server> event) {
         // Teardown data here
+        this.serviceCollection.userPreferenceService().flushPreferences();
+        this.serviceCollection.cooldownService().saveCooldowns();
         final IStorageManager manager = this.serviceCollection.storageManager();
         manager.saveAndInvalidateAllCaches().whenComplete((v, t) -> manager.detachAll());
         Sponge.asyncScheduler().tasks(this.pluginContainer).forEach(ScheduledTask::cancel);
@@ -393,10 +398,19 @@ public final class NucleusCore {
                 if (taskBase instanceof IReloadableService.Reloadable) {
                     this.serviceCollection.reloadableService().registerReloadable((IReloadableService.Reloadable) taskBase);
                 }
+                final IMetricsService.Timer timer = this.taskTimer(taskBaseClass);
+                final Runnable timedTask = () -> {
+                    final long start = timer.start();
+                    try {
+                        taskBase.run();
+                    } finally {
+                        timer.stop(start);
+                    }
+                };
                 this.onStartedActions.add(() -> Sponge.asyncScheduler()
                         .executor(this.pluginContainer)
                         .scheduleAtFixedRate(
-                                taskBase,
+                                timedTask,
                                 taskBase.interval().getSeconds(),
                                 taskBase.interval().getSeconds(),
                                 TimeUnit.SECONDS));
@@ -407,12 +421,21 @@ public final class NucleusCore {
                 if (taskBase instanceof IReloadableService.Reloadable) {
                     this.serviceCollection.reloadableService().registerReloadable((IReloadableService.Reloadable) taskBase);
                 }
+                final IMetricsService.Timer timer = this.taskTimer(taskBaseClass);
+                final Consumer<ScheduledTask> timedTask = task -> {
+                    final long start = timer.start();
+                    try {
+                        taskBase.accept(task);
+                    } finally {
+                        timer.stop(start);
+                    }
+                };
                 this.onStartedActions.add(() -> Sponge.server().scheduler()
                         .submit(
                                 Task.builder().plugin(this.pluginContainer)
                                         .delay(taskBase.interval().getSeconds(), TimeUnit.SECONDS)
                                         .interval(taskBase.interval().getSeconds(), TimeUnit.SECONDS)
-                                        .execute(taskBase)
+                                        .execute(timedTask)
                                         .build()
                         ));
             }
@@ -428,6 +451,10 @@ public final class NucleusCore {
         modules.forEach(tuple -> tuple.second().postLoad(this.serviceCollection));
     }
 
+    private IMetricsService.Timer taskTimer(final Class<?> taskClass) {
+        return this.serviceCollection.metricsService().timer("task." + taskClass.getSimpleName().toLowerCase(Locale.ROOT));
+    }
+
     private Collection<ModuleContainer> filterModules(final Collection<ModuleContainer> moduleContainers) {
         final CommentedConfigurationNode defaults = this.serviceCollection.configurateHelper().createConfigNode();
         for (final ModuleContainer moduleContainer : moduleContainers) {
@@ -32,6 +32,12 @@ public final class UserCacheDataNode {
         // ignored - for Configurate
     }
 
+    public UserCacheDataNode(@Nullable final String ipAddress, @Nullable final String jail, final boolean isMuted) {
+        this.ipAddress = ipAddress;
+        this.jail = jail;
+        this.isMuted = isMuted;
+    }
+
     public UserCacheDataNode set(final IUserDataObject x,
             final Predicate<IUserDataObject> mutedProcessor,
             final Function<IUserDataObject, String> jailProcessor) {
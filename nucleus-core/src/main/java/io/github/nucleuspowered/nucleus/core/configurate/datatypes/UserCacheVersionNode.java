@@ -17,13 +17,38 @@ public class UserCacheVersionNode {
     @Setting
     private int version = 1;
 
+    @Setting
+    private boolean complete = true;
+
     @Setting
     private Map<UUID, UserCacheDataNode> node = new HashMap<>();
 
+    public UserCacheVersionNode() {
+        // ignored - for Configurate
+    }
+
+    public UserCacheVersionNode(final int version, final boolean complete) {
+        this.version = version;
+        this.complete = complete;
+    }
+
     public int getVersion() {
         return this.version;
     }
 
+    /**
+     * Gets whether this cache was produced by a file walk that ran to completion.
+     *
+     * @return Whether the cache is complete
+     */
+    public boolean isComplete() {
+        return this.complete;
+    }
+
+    public void setComplete(final boolean complete) {
+        this.complete = complete;
+    }
+
     public Map<UUID, UserCacheDataNode> getNode() {
         return this.node;
     }
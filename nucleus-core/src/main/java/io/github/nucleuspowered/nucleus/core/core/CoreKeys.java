@@ -41,4 +41,7 @@ public final class CoreKeys {
     public static final DataKey<String, IUserDataObject> IP_ADDRESS = DataKey.of(TypeTokens.STRING, IUserDataObject.class, "lastIP");
 
     public static final DataKey<Boolean, IUserDataObject> FIRST_JOIN_PROCESSED = DataKey.of(false, TypeTokens.BOOLEAN, IUserDataObject.class, "firstJoinProcessed");
+
+    public static final DataKey.MapKey<String, Instant, IUserDataObject> COOLDOWNS
+            = DataKey.ofMap(TypeTokens.STRING, TypeTokens.INSTANT, IUserDataObject.class, "cooldowns");
 }
@@ -14,6 +14,7 @@ import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.DocGenCommand
 import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.GetUserCommand;
 import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.InfoCommand;
 import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.MessagesUpdateCommand;
+import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.MetricsCommand;
 import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.PrintPermsCommand;
 import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.RebuildUserCacheCommand;
 import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.ReloadCommand;
@@ -24,9 +25,16 @@ import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.debug.Refresh
 import io.github.nucleuspowered.nucleus.core.core.commands.nucleus.debug.VerifyCommandDescriptionsCommand;
 import io.github.nucleuspowered.nucleus.core.core.config.CoreConfig;
 import io.github.nucleuspowered.nucleus.core.core.listeners.ChatChannelListener;
+import io.github.nucleuspowered.nucleus.core.core.listeners.CooldownListener;
 import io.github.nucleuspowered.nucleus.core.core.listeners.CoreListener;
+import io.github.nucleuspowered.nucleus.core.core.listeners.DisplayNameCacheListener;
+import io.github.nucleuspowered.nucleus.core.core.listeners.PermissionCacheListener;
+import io.github.nucleuspowered.nucleus.core.core.listeners.UserPreferenceListener;
 import io.github.nucleuspowered.nucleus.core.core.listeners.WarmupListener;
 import io.github.nucleuspowered.nucleus.core.core.runnables.CoreTask;
+import io.github.nucleuspowered.nucleus.core.core.runnables.ExpiryTask;
+import io.github.nucleuspowered.nucleus.core.core.runnables.MetricsDumpTask;
+import io.github.nucleuspowered.nucleus.core.core.runnables.UserPreferenceFlushTask;
 import io.github.nucleuspowered.nucleus.core.core.services.PlayerMetadataService;
 import io.github.nucleuspowered.nucleus.core.core.services.UniqueUserService;
 import io.github.nucleuspowered.nucleus.core.module.IModule;
@@ -37,7 +45,6 @@ import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Optional;
 
 public class CoreModule implements IModule.Configurable<CoreConfig> {
@@ -62,6 +69,7 @@ public class CoreModule implements IModule.Configurable<CoreConfig> {
                 GetUserCommand.class,
                 InfoCommand.class,
                 MessagesUpdateCommand.class,
+                MetricsCommand.class,
                 PrintPermsCommand.class,
                 RebuildUserCacheCommand.class,
                 ReloadCommand.class,
@@ -83,14 +91,18 @@ public class CoreModule implements IModule.Configurable<CoreConfig> {
     public Collection<Class<? extends ListenerBase>> getListeners() {
         return Arrays.asList(
                 ChatChannelListener.class,
+                CooldownListener.class,
                 CoreListener.class,
+                DisplayNameCacheListener.class,
+                PermissionCacheListener.class,
+                UserPreferenceListener.class,
                 WarmupListener.class
         );
     }
 
     @Override
     public Collection<Class<? extends TaskBase>> getAsyncTasks() {
-        return Collections.singletonList(CoreTask.class);
+        return Arrays.asList(CoreTask.class, ExpiryTask.class, MetricsDumpTask.class, UserPreferenceFlushTask.class);
     }
 
     @Override
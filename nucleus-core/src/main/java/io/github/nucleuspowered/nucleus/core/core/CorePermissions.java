@@ -43,6 +43,9 @@ public final class CorePermissions {
     @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus info" }, level = SuggestedLevel.OWNER)
     public static final String BASE_NUCLEUS_INFO = "nucleus.nucleus.info.base";
 
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus metrics" }, level = SuggestedLevel.ADMIN)
+    public static final String BASE_NUCLEUS_METRICS = "nucleus.nucleus.metrics.base";
+
     @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus printperms" }, level = SuggestedLevel.ADMIN)
     public static final String BASE_NUCLEUS_PRINTPERMS = "nucleus.nucleus.printperms.base";
 
@@ -0,0 +1,67 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.core.commands.nucleus;
+
+import io.github.nucleuspowered.nucleus.core.Util;
+import io.github.nucleuspowered.nucleus.core.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.core.core.commands.NucleusCommand;
+import io.github.nucleuspowered.nucleus.core.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.core.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.core.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.core.scaffold.command.annotation.Command;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Command(
+        aliases = "metrics",
+        basePermission = CorePermissions.BASE_NUCLEUS_METRICS,
+        commandDescriptionKey = "nucleus.metrics",
+        parentCommand = NucleusCommand.class
+)
+public class MetricsCommand implements ICommandExecutor {
+
+    @Override
+    public ICommandResult execute(final ICommandContext context) {
+        final IMetricsService metricsService = context.getServiceCollection().metricsService();
+        if (!metricsService.isEnabled()) {
+            context.sendMessage("command.nucleus.metrics.disabled");
+            return context.successResult();
+        }
+
+        final List<Component> lines = new ArrayList<>();
+        for (final Map.Entry<String, IMetricsService.Timer> entry : metricsService.getTimers().entrySet()) {
+            final IMetricsService.Timer timer = entry.getValue();
+            lines.add(context.getMessage("command.nucleus.metrics.timer",
+                    entry.getKey(),
+                    timer.getCount(),
+                    toMillis(timer.getMeanNanos()),
+                    toMillis(timer.getQuantileNanos(0.99)),
+                    toMillis(timer.getMaxNanos())));
+        }
+
+        for (final Map.Entry<String, IMetricsService.Counter> entry : metricsService.getCounters().entrySet()) {
+            lines.add(context.getMessage("command.nucleus.metrics.counter", entry.getKey(), entry.getValue().get()));
+        }
+
+        for (final Map.Entry<String, Long> entry : metricsService.getGauges().entrySet()) {
+            lines.add(context.getMessage("command.nucleus.metrics.gauge", entry.getKey(), entry.getValue()));
+        }
+
+        Util.getPaginationBuilder(context.audience())
+                .header(context.getMessage("command.nucleus.metrics.header"))
+                .contents(lines)
+                .sendTo(context.audience());
+        return context.successResult();
+    }
+
+    private static String toMillis(final double nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+}
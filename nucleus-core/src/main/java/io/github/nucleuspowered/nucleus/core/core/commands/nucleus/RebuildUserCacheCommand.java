@@ -22,7 +22,8 @@ public class RebuildUserCacheCommand implements ICommandExecutor {
     @Override
     public ICommandResult execute(final ICommandContext context) {
         context.sendMessage("command.nucleus.rebuild.start");
-        if (context.getServiceCollection().userCacheService().fileWalk()) {
+        if (context.getServiceCollection().userCacheService().fileWalk(false,
+                (processed, total) -> context.sendMessage("command.nucleus.rebuild.progress", processed, total))) {
             context.sendMessage("command.nucleus.rebuild.end");
             return context.successResult();
         } else {
@@ -59,6 +59,10 @@ public class CoreConfig {
     @LocalisedComment("config.core.datafilelocation")
     private String dataFileLocation = "default";
 
+    @Setting(value = "storage-engine")
+    @LocalisedComment("config.core.storageengine")
+    private StorageEngine storageEngine = StorageEngine.FLAT_FILE;
+
     @Setting(value = "offline-user-tab-limit")
     @LocalisedComment("config.core.offlineusertablimit")
     private int nicknameArgOfflineLimit = 20;
@@ -83,10 +87,22 @@ public class CoreConfig {
     @LocalisedComment("config.core.firstdateplayed")
     private boolean checkFirstDatePlayed = true;
 
+    @Setting(value = "persist-cooldowns-longer-than")
+    @LocalisedComment("config.core.persistcooldowns")
+    private long persistCooldownsLongerThan = 0;
+
+    @Setting(value = "metrics")
+    @LocalisedComment("config.core.metrics")
+    private MetricsConfig metricsConfig = new MetricsConfig();
+
     public String getDataFileLocation() {
         return this.dataFileLocation;
     }
 
+    public StorageEngine getStorageEngine() {
+        return this.storageEngine;
+    }
+
     public boolean isDebugmode() {
         return this.debugmode;
     }
@@ -158,4 +174,17 @@ public class CoreConfig {
     public boolean isCheckFirstDatePlayed() {
         return this.checkFirstDatePlayed;
     }
+
+    public long getPersistCooldownsLongerThan() {
+        return this.persistCooldownsLongerThan;
+    }
+
+    public MetricsConfig getMetricsConfig() {
+        return this.metricsConfig;
+    }
+
+    public enum StorageEngine {
+        FLAT_FILE,
+        MVSTORE
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.core.config;
+
+import io.github.nucleuspowered.nucleus.core.services.interfaces.annotation.configuratehelper.LocalisedComment;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+
+@ConfigSerializable
+public class MetricsConfig {
+
+    @Setting(value = "enabled")
+    @LocalisedComment("config.core.metrics.enabled")
+    private boolean enabled = false;
+
+    @Setting(value = "dump-interval")
+    @LocalisedComment("config.core.metrics.dumpinterval")
+    private long dumpInterval = 0;
+
+    @Setting(value = "dump-format")
+    @LocalisedComment("config.core.metrics.dumpformat")
+    private DumpFormat dumpFormat = DumpFormat.JSON;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public long getDumpInterval() {
+        return this.dumpInterval;
+    }
+
+    public DumpFormat getDumpFormat() {
+        return this.dumpFormat;
+    }
+
+    public enum DumpFormat {
+        JSON,
+        PROMETHEUS
+    }
+}
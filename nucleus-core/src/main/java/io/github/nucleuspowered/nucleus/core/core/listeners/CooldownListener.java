@@ -0,0 +1,42 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.core.listeners;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.core.scaffold.listener.ListenerBase;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.ICooldownService;
+import org.spongepowered.api.entity.living.player.server.ServerPlayer;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ServerSideConnectionEvent;
+
+/**
+ * Restores saved cooldowns as players join, and saves long cooldowns as they leave.
+ */
+public class CooldownListener implements ListenerBase {
+
+    private final ICooldownService cooldownService;
+
+    @Inject
+    public CooldownListener(final INucleusServiceCollection serviceCollection) {
+        this.cooldownService = serviceCollection.cooldownService();
+    }
+
+    @Listener(order = Order.PRE)
+    public void onPlayerJoin(final ServerSideConnectionEvent.Join event, @Getter("player") final ServerPlayer player) {
+        this.cooldownService.loadCooldowns(player.uniqueId());
+    }
+
+    /* (non-Javadoc)
+     * Before the user is saved by the core listener.
+     */
+    @Listener(order = Order.LATE)
+    public void onPlayerQuit(final ServerSideConnectionEvent.Disconnect event, @Getter("player") final ServerPlayer player) {
+        this.cooldownService.saveCooldowns(player.uniqueId());
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.core.listeners;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.core.scaffold.listener.ListenerBase;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IPlayerDisplayNameService;
+import org.spongepowered.api.entity.living.player.server.ServerPlayer;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.ChangeEntityWorldEvent;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ServerSideConnectionEvent;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.util.UUID;
+
+/**
+ * Keeps the cached display names and the name index in the {@link IPlayerDisplayNameService}
+ * up to date.
+ */
+public class DisplayNameCacheListener implements ListenerBase {
+
+    private final IPlayerDisplayNameService playerDisplayNameService;
+
+    @Inject
+    public DisplayNameCacheListener(final INucleusServiceCollection serviceCollection) {
+        this.playerDisplayNameService = serviceCollection.playerDisplayNameService();
+    }
+
+    @Listener(order = Order.FIRST)
+    public void onPlayerLogin(final ServerSideConnectionEvent.Join event, @Getter("player") final ServerPlayer player) {
+        this.playerDisplayNameService.addToNameIndex(player);
+    }
+
+    @Listener(order = Order.LATE)
+    public void onPlayerJoin(final ServerSideConnectionEvent.Join event, @Getter("player") final ServerPlayer player) {
+        // By now, modules have loaded anything that makes up the display name, such as nicknames.
+        this.playerDisplayNameService.invalidateDisplayName(player.uniqueId());
+        this.playerDisplayNameService.getDisplayName(player.uniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerQuit(final ServerSideConnectionEvent.Disconnect event, @Getter("player") final ServerPlayer player) {
+        this.playerDisplayNameService.removeFromNameIndex(player.uniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onSubjectDataUpdate(final SubjectDataUpdateEvent event) {
+        // Name colours and styles are options.
+        final Subject subject = event.updatedData().subject();
+        if (subject.containingCollection().identifier().equals(PermissionService.SUBJECTS_USER)) {
+            try {
+                this.playerDisplayNameService.invalidateDisplayName(UUID.fromString(subject.identifier()));
+                return;
+            } catch (final IllegalArgumentException e) {
+                // not a player, fall through
+            }
+        }
+
+        this.playerDisplayNameService.invalidateDisplayNames();
+    }
+
+    @Listener(order = Order.POST)
+    public void onWorldChange(final ChangeEntityWorldEvent.Post event, @Getter("entity") final ServerPlayer player) {
+        // Options may depend on the world context.
+        this.playerDisplayNameService.invalidateDisplayName(player.uniqueId());
+    }
+
+}
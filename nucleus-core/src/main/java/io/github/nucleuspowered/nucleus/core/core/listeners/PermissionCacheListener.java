@@ -0,0 +1,68 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.core.listeners;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.core.scaffold.listener.ListenerBase;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IPermissionService;
+import org.spongepowered.api.entity.living.player.server.ServerPlayer;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.ChangeEntityWorldEvent;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ServerSideConnectionEvent;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.util.UUID;
+
+/**
+ * Keeps the cached permissions and options in the {@link IPermissionService} up to date.
+ */
+public class PermissionCacheListener implements ListenerBase {
+
+    private final IPermissionService permissionService;
+
+    @Inject
+    public PermissionCacheListener(final INucleusServiceCollection serviceCollection) {
+        this.permissionService = serviceCollection.permissionService();
+    }
+
+    @Listener(order = Order.POST)
+    public void onSubjectDataUpdate(final SubjectDataUpdateEvent event) {
+        final Subject subject = event.updatedData().subject();
+        if (subject.containingCollection().identifier().equals(PermissionService.SUBJECTS_USER)) {
+            try {
+                this.permissionService.invalidateSubjectCache(UUID.fromString(subject.identifier()));
+                return;
+            } catch (final IllegalArgumentException e) {
+                // not a player, fall through
+            }
+        }
+
+        // Groups and defaults can affect any player.
+        this.permissionService.invalidateSubjectCache();
+    }
+
+    @Listener(order = Order.POST)
+    public void onWorldChange(final ChangeEntityWorldEvent.Post event, @Getter("entity") final ServerPlayer player) {
+        // The world is usually part of the player's context.
+        this.permissionService.invalidateSubjectCache(player.uniqueId());
+    }
+
+    @Listener(order = Order.FIRST)
+    public void onPlayerJoin(final ServerSideConnectionEvent.Join event, @Getter("player") final ServerPlayer player) {
+        // Anything cached for a previous session is discarded, and the player is added to permission channels.
+        this.permissionService.invalidateSubjectCache(player.uniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerQuit(final ServerSideConnectionEvent.Disconnect event, @Getter("player") final ServerPlayer player) {
+        this.permissionService.removePlayerContexts(player.uniqueId());
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.core.listeners;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.core.scaffold.listener.ListenerBase;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IUserPreferenceService;
+import org.spongepowered.api.entity.living.player.server.ServerPlayer;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ServerSideConnectionEvent;
+
+/**
+ * Loads the preferences of players as they join, and writes them as they leave.
+ */
+public class UserPreferenceListener implements ListenerBase {
+
+    private final IUserPreferenceService userPreferenceService;
+
+    @Inject
+    public UserPreferenceListener(final INucleusServiceCollection serviceCollection) {
+        this.userPreferenceService = serviceCollection.userPreferenceService();
+    }
+
+    /* (non-Javadoc)
+     * The user data was loaded during auth, and other join listeners may check preferences.
+     */
+    @Listener(order = Order.PRE)
+    public void onPlayerJoin(final ServerSideConnectionEvent.Join event, @Getter("player") final ServerPlayer player) {
+        this.userPreferenceService.loadPreferences(player.uniqueId());
+    }
+
+    /* (non-Javadoc)
+     * Before the user is saved by the core listener.
+     */
+    @Listener(order = Order.LATE)
+    public void onPlayerQuit(final ServerSideConnectionEvent.Disconnect event, @Getter("player") final ServerPlayer player) {
+        this.userPreferenceService.unloadPreferences(player.uniqueId());
+    }
+
+}
@@ -9,6 +9,7 @@ import io.github.nucleuspowered.nucleus.core.core.config.CoreConfig;
 import io.github.nucleuspowered.nucleus.core.scaffold.task.TaskBase;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
+import io.github.nucleuspowered.storage.services.StorageWriteScheduler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.util.Identifiable;
 
@@ -40,10 +41,22 @@ public class CoreTask implements TaskBase, IReloadableService.Reloadable {
             this.serviceCollection.logger().info(this.serviceCollection.messageProvider().getMessageString("core.savetask.starting"));
         }
 
+        // Make sure that batched preference changes are in the data objects before saving.
+        this.serviceCollection.userPreferenceService().flushPreferences();
+
         // Only do maintenance on the cache once it's been saved.
+        final StorageWriteScheduler writeScheduler = this.serviceCollection.storageManager().getWriteScheduler();
+        final StorageWriteScheduler.Metrics start = writeScheduler.snapshot();
         this.serviceCollection.storageManager().saveAll().thenAccept(x -> {
             if (this.printSave) {
+                final StorageWriteScheduler.Metrics metrics = writeScheduler.snapshot().since(start);
                 this.serviceCollection.logger().info(this.serviceCollection.messageProvider().getMessageString("core.savetask.complete"));
+                this.serviceCollection.logger().info(this.serviceCollection.messageProvider().getMessageString("core.savetask.metrics",
+                        metrics.getFiles(),
+                        metrics.getDurationMillis(),
+                        String.format("%.1f", metrics.getFilesPerSecond()),
+                        String.format("%.1f", metrics.getBytesPerSecond() / 1024),
+                        metrics.getQueueDepth()));
             }
             this.serviceCollection.storageManager().getUserService().clearCacheUnless(
                     Sponge.server().onlinePlayers().stream().map(Identifiable::uniqueId).collect(Collectors.toSet()));
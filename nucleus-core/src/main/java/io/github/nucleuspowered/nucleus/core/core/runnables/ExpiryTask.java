@@ -2,32 +2,36 @@
  * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
  * at the root of this project for more details.
  */
-package io.github.nucleuspowered.nucleus.modules.mute.runnables;
+package io.github.nucleuspowered.nucleus.core.core.runnables;
 
 import com.google.inject.Inject;
-import io.github.nucleuspowered.nucleus.modules.mute.services.MuteService;
 import io.github.nucleuspowered.nucleus.core.scaffold.task.TaskBase;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IExpiryService;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
-public class MuteTask implements TaskBase {
+/**
+ * Drives the {@link IExpiryService}.
+ */
+public class ExpiryTask implements TaskBase {
 
-    private final MuteService muteHandler;
+    private final IExpiryService expiryService;
 
     @Inject
-    public MuteTask(final INucleusServiceCollection serviceCollection) {
-        this.muteHandler = serviceCollection.getServiceUnchecked(MuteService.class);
+    public ExpiryTask(final INucleusServiceCollection serviceCollection) {
+        this.expiryService = serviceCollection.expiryService();
     }
 
     @Override
-    public void run() {
-        this.muteHandler.checkExpiry();
+    public Duration interval() {
+        return Duration.of(1, ChronoUnit.SECONDS);
     }
 
     @Override
-    public Duration interval() {
-        return Duration.of(1, ChronoUnit.SECONDS);
+    public void run() {
+        this.expiryService.tick();
     }
+
 }
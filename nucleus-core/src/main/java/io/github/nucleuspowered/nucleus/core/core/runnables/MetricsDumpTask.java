@@ -0,0 +1,37 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.core.runnables;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.core.scaffold.task.TaskBase;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Writes the metrics to disk, if they are enabled and the configured interval has passed.
+ */
+public class MetricsDumpTask implements TaskBase {
+
+    private final IMetricsService metricsService;
+
+    @Inject
+    public MetricsDumpTask(final INucleusServiceCollection serviceCollection) {
+        this.metricsService = serviceCollection.metricsService();
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(5, ChronoUnit.SECONDS);
+    }
+
+    @Override
+    public void run() {
+        this.metricsService.dumpIfDue();
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.core.runnables;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.core.scaffold.task.TaskBase;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IUserPreferenceService;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Writes batches of preference changes to the user data objects.
+ */
+public class UserPreferenceFlushTask implements TaskBase {
+
+    private final IUserPreferenceService userPreferenceService;
+
+    @Inject
+    public UserPreferenceFlushTask(final INucleusServiceCollection serviceCollection) {
+        this.userPreferenceService = serviceCollection.userPreferenceService();
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(5, ChronoUnit.SECONDS);
+    }
+
+    @Override
+    public void run() {
+        this.userPreferenceService.flushPreferences();
+    }
+
+}
@@ -12,6 +12,7 @@ import io.github.nucleuspowered.nucleus.core.NucleusCore;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.core.services.impl.timing.DummyTimingsService;
 import io.github.nucleuspowered.nucleus.core.services.impl.timing.TimingsService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.ITimingsService;
 import org.spongepowered.plugin.PluginContainer;
 
@@ -47,11 +48,11 @@ public class NucleusInjectorModule extends AbstractModule {
     }
 
     @Provides
-    private ITimingsService provideTimingsService(final PluginContainer container) {
+    private ITimingsService provideTimingsService(final PluginContainer container, final IMetricsService metricsService) {
         try {
-            return new TimingsService(container);
+            return new TimingsService(container, metricsService);
         } catch (final Exception ex) {
-            return new DummyTimingsService();
+            return new DummyTimingsService(metricsService);
         }
     }
 
@@ -6,32 +6,56 @@ package io.github.nucleuspowered.nucleus.core.logging;
 
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IMessageProviderService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
-import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Logs lines to a {@link DateRotatableFileLogger}.
+ *
+ * <p>Lines are placed into a lock free ring buffer by {@link #queueEntry(String)}, and are written
+ * in order by a single writer thread that owns the file. If the buffer is full, the line is
+ * dropped rather than blocking the caller.</p>
+ *
+ * <p>The writer thread also closes the file once it has been asked to stop and has written
+ * everything that was queued, so that the file is never closed while a line is being written.</p>
+ */
 public abstract class AbstractLoggingHandler implements IReloadableService.Reloadable {
 
     private static final DateTimeFormatter formatter = DateTimeFormatter
             .ofLocalizedDateTime(FormatStyle.SHORT)
             .withLocale(Locale.getDefault())
             .withZone(ZoneId.systemDefault());
+    private static final int QUEUE_CAPACITY = 16384;
+    private static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SHUTDOWN_WAIT_MILLIS = 5000;
+
     private final IMessageProviderService messageProviderService;
     private final Logger slogger;
-    protected DateRotatableFileLogger logger;
-    private final List<String> queueEntry = new ArrayList<>();
+    protected volatile DateRotatableFileLogger logger;
+    private final LogEntryRingBuffer queue = new LogEntryRingBuffer(QUEUE_CAPACITY);
     private final String directoryName;
     private final String filePrefix;
-    private final Object locking = new Object();
+
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    // Guards starting and stopping the writer, so that it can't exit just as it is restarted.
+    private final Object lifecycleLock = new Object();
+    @Nullable private volatile Thread writerThread;
+    private volatile boolean running = false;
 
     @Inject
     public AbstractLoggingHandler(final String directoryName,
@@ -45,68 +69,199 @@ public abstract class AbstractLoggingHandler implements IReloadableService.Reloa
     }
 
     public void queueEntry(final String s) {
-        if (this.logger != null) {
-            synchronized (this.locking) {
-                this.queueEntry.add(s);
-            }
+        if (this.running && this.queue.offer(s)) {
+            this.queued.increment();
+        } else {
+            this.dropped.increment();
         }
     }
 
+    /**
+     * Gets the number of lines that have been accepted by {@link #queueEntry(String)}.
+     *
+     * @return The number of lines
+     */
+    public long getQueuedCount() {
+        return this.queued.sum();
+    }
+
+    /**
+     * Gets the number of lines that have been written to the log file.
+     *
+     * @return The number of lines
+     */
+    public long getWrittenCount() {
+        return this.written.sum();
+    }
+
+    /**
+     * Gets the number of lines that were discarded, because the queue was full, because the
+     * writer was stopped or because they could not be written.
+     *
+     * @return The number of lines
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Reports the line counts of this handler as gauges.
+     *
+     * @param metricsService The {@link IMetricsService}
+     */
+    protected void registerMetrics(final IMetricsService metricsService) {
+        final String prefix = "logging." + this.directoryName + ".";
+        metricsService.registerGauge(prefix + "queued", this::getQueuedCount);
+        metricsService.registerGauge(prefix + "written", this::getWrittenCount);
+        metricsService.registerGauge(prefix + "dropped", this::getDroppedCount);
+    }
+
     public void onServerShutdown() throws IOException {
-        this.onShutdown();
+        // The writer is a daemon thread, so give it a chance to write what is left before the server stops.
+        this.stopWriter(SHUTDOWN_WAIT_MILLIS);
     }
 
+    /**
+     * Stops logging. Anything already queued is still written, and the writer thread closes the
+     * file afterwards, so this does not wait for it.
+     *
+     * @throws IOException if the file had to be closed here and could not be
+     */
     protected void onShutdown() throws IOException {
-        if (this.logger != null) {
-            this.logger.close();
-            this.logger = null;
+        this.stopWriter(0);
+    }
+
+    private void stopWriter(final long waitMillis) throws IOException {
+        final Thread thread;
+        synchronized (this.lifecycleLock) {
+            this.running = false;
+            thread = this.writerThread;
+        }
+
+        if (thread != null && thread.isAlive()) {
+            LockSupport.unpark(thread);
+            if (waitMillis <= 0) {
+                return;
+            }
+
+            try {
+                thread.join(waitMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (thread.isAlive()) {
+                // Still writing, it will close the file when it is done.
+                return;
+            }
+        }
+
+        // Only get here if there is no writer, so nothing else can be using the file.
+        synchronized (this.lifecycleLock) {
+            if (!this.running) {
+                this.writerThread = null;
+                if (this.logger != null) {
+                    this.logger.close();
+                    this.logger = null;
+                }
+            }
         }
     }
 
     protected abstract boolean enabledLog();
 
+    /**
+     * Gets the size, in bytes, at which the log file is rotated.
+     *
+     * @return The size, or zero to only rotate when the date changes
+     */
+    protected long maxFileSize() {
+        return DEFAULT_MAX_FILE_SIZE;
+    }
+
+    /**
+     * Starts the writer if logging has been enabled since the last check. Lines are written by the
+     * writer thread, not by this method.
+     */
     public void onTick() {
-        if (this.queueEntry.isEmpty()) {
-            return;
+        if (this.logger == null && this.enabledLog()) {
+            try {
+                this.createLogger();
+            } catch (final IOException e) {
+                this.slogger.warn(this.messageProviderService.getMessageString("commandlog.couldnotwrite"));
+                e.printStackTrace();
+            }
         }
+    }
 
-        final List<String> l;
-        synchronized (this.locking) {
-            l = new ArrayList<>(this.queueEntry);
-            this.queueEntry.clear();
+    protected void createLogger() throws IOException {
+        synchronized (this.lifecycleLock) {
+            // If the writer is still finishing off after being stopped, it carries on with the same file.
+            if (this.logger == null) {
+                this.logger = new DateRotatableFileLogger(this.directoryName, this.filePrefix, formatter, this.maxFileSize());
+            }
+
+            this.running = true;
+            if (this.writerThread == null || !this.writerThread.isAlive()) {
+                final Thread thread = new Thread(this::writeEntries, "Nucleus " + this.filePrefix + " log writer");
+                thread.setDaemon(true);
+                this.writerThread = thread;
+                thread.start();
+            }
         }
+    }
+
+    private void writeEntries() {
+        while (true) {
+            final DateRotatableFileLogger fileLogger = this.logger;
+            if (!this.running && (fileLogger == null || this.queue.isEmpty())) {
+                synchronized (this.lifecycleLock) {
+                    if (!this.running) {
+                        this.closeFromWriter();
+                        return;
+                    }
+                }
 
-        if (this.logger == null) {
-            if (this.enabledLog()) {
+                // Started again while we were stopping.
+                continue;
+            }
+
+            if (fileLogger == null || this.queue.isEmpty()) {
+                LockSupport.parkNanos(IDLE_WAIT_NANOS);
+                continue;
+            }
+
+            String entry;
+            while ((entry = this.queue.poll()) != null) {
                 try {
-                    this.createLogger();
-                } catch (final IOException e) {
+                    fileLogger.write(entry);
+                    this.written.increment();
+                } catch (final IOException | IllegalStateException e) {
+                    this.dropped.increment();
                     this.slogger.warn(this.messageProviderService.getMessageString("commandlog.couldnotwrite"));
                     e.printStackTrace();
-                    return;
                 }
-            } else {
-                return;
             }
-        }
 
-        try {
-            this.writeEntry(l);
-        } catch (final IOException e) {
-            this.slogger.warn(this.messageProviderService.getMessageString("commandlog.couldnotwrite"));
-            e.printStackTrace();
+            try {
+                fileLogger.flush();
+            } catch (final IOException e) {
+                this.slogger.warn(this.messageProviderService.getMessageString("commandlog.couldnotwrite"));
+                e.printStackTrace();
+            }
         }
     }
 
-    protected void createLogger() throws IOException {
-        this.logger = new DateRotatableFileLogger(this.directoryName, this.filePrefix, s -> "[" +
-            formatter.format(Instant.now().atZone(ZoneOffset.systemDefault())) +
-            "] " + s);
-    }
-
-    private void writeEntry(final Iterable<String> entry) throws IOException {
+    private void closeFromWriter() {
+        this.writerThread = null;
         if (this.logger != null) {
-            this.logger.logEntry(entry);
+            try {
+                this.logger.close();
+            } catch (final IOException e) {
+                e.printStackTrace();
+            }
+
+            this.logger = null;
         }
     }
 }
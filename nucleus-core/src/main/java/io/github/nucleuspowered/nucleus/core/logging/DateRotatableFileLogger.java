@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.core.logging;
 
 import io.github.nucleuspowered.nucleus.core.Util;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -12,44 +13,78 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
-import java.util.function.Function;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes log lines to a file that is rotated when the date changes, or when the file reaches
+ * a maximum size. Rotated files are compressed in the background.
+ *
+ * <p>Not thread safe, only the log writer thread should use this.</p>
+ */
 public class DateRotatableFileLogger implements Closeable {
 
     private final static Path nucleusBase = Paths.get("logs/nucleus");
+    private final static DateTimeFormatter fileDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final static Set<Path> pendingCompression = ConcurrentHashMap.newKeySet();
+    private final static ExecutorService compressor = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "Nucleus log compressor");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final Path directory;
     private final String filenamePrefix;
-    private Instant currentDate;
+    @Nullable private final DateTimeFormatter timestampFormatter;
+    private final long maxFileSize;
+    private LocalDate currentDate;
     private LogFile file;
-    private final Function<String, String> formatter;
     private boolean isClosed = false;
 
-    public DateRotatableFileLogger(final String directory, final String filenamePrefix, final Function<String, String> formatter) throws IOException {
+    // The timestamp prefix only changes once a second, so it is cached rather than formatted for every line.
+    private long cachedSecond = -1;
+    private String cachedPrefix = "";
+
+    /**
+     * Creates a logger.
+     *
+     * @param directory The directory under the Nucleus log directory to write to
+     * @param filenamePrefix The prefix for each log file name
+     * @param timestampFormatter The formatter for the timestamp at the start of each line, which must have a zone,
+     *                           or null for no timestamp
+     * @param maxFileSize The size, in bytes, at which a file is rotated, or zero to only rotate when the date changes
+     * @throws IOException if the directory could not be created
+     */
+    public DateRotatableFileLogger(final String directory, final String filenamePrefix, @Nullable final DateTimeFormatter timestampFormatter,
+            final long maxFileSize) throws IOException {
         Objects.requireNonNull(directory);
         Objects.requireNonNull(filenamePrefix);
 
         this.directory = nucleusBase.resolve(directory);
         this.filenamePrefix = filenamePrefix;
-        this.formatter = formatter == null ? s -> s : formatter;
+        this.timestampFormatter = timestampFormatter;
+        this.maxFileSize = maxFileSize;
         Files.createDirectories(this.directory);
     }
 
-    private void openFile() throws IOException {
+    private void openFile(final LocalDate date) throws IOException {
         if (this.isClosed) {
             throw new IllegalStateException();
         }
 
-        if (this.file != null && !this.file.isClosed()) {
+        if (this.file != null) {
             try {
                 this.file.close();
             } finally {
+                compressInBackground(this.file.getLocation());
                 this.file = null;
             }
         }
@@ -59,71 +94,120 @@ public class DateRotatableFileLogger implements Closeable {
         String fileName;
         do {
             count++;
-            fileName = this.directory.toString() + "/" + this.filenamePrefix + "-" + DateTimeFormatter.ofPattern("yyyy-MM-dd").format(Instant.now().atZone(ZoneId.systemDefault())) + "-" + count + ".log";
+            fileName = this.directory.toString() + "/" + this.filenamePrefix + "-" + fileDateFormatter.format(date) + "-" + count + ".log";
             final Path nextFile = Paths.get(fileName);
             if (Files.exists(nextFile)) {
-                try {
-                    Util.compressAndDeleteFile(nextFile);
-                } catch (final IOException e) {
-                    e.printStackTrace();
-                }
+                compressInBackground(nextFile);
             } else if (!Files.exists(Paths.get(fileName + ".gz"))) {
-                this.file = new LogFile(nextFile, this.formatter);
+                this.file = new LogFile(nextFile);
                 go = true;
             }
         } while(!go);
 
-        this.currentDate = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        this.currentDate = date;
     }
 
-    public void logEntry(final String entry) throws IOException {
-        if (this.isClosed) {
-            throw new IllegalStateException();
+    private static void compressInBackground(final Path path) {
+        if (pendingCompression.add(path)) {
+            compressor.execute(() -> {
+                try {
+                    Util.compressAndDeleteFile(path);
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                } finally {
+                    pendingCompression.remove(path);
+                }
+            });
         }
+    }
 
-        this.logEntry(Collections.singleton(entry), true);
+    private String prefix(final long now) throws IOException {
+        final long second = now / 1000;
+        if (second != this.cachedSecond) {
+            this.cachedSecond = second;
+            if (this.timestampFormatter != null) {
+                this.cachedPrefix = "[" + this.timestampFormatter.format(Instant.ofEpochMilli(now)) + "] ";
+            }
+            final LocalDate today = LocalDate.now(ZoneId.systemDefault());
+            if (this.currentDate != null && today.isAfter(this.currentDate)) {
+                this.openFile(today);
+            }
+        }
+
+        return this.cachedPrefix;
     }
 
-    public void logEntry(final Iterable<String> entry) throws IOException {
+    /**
+     * Writes a line to the file. The line may be buffered until {@link #flush()} is called.
+     *
+     * @param entry The line to write
+     * @throws IOException if the line could not be written
+     */
+    public void write(final String entry) throws IOException {
         if (this.isClosed) {
             throw new IllegalStateException();
         }
 
-        this.logEntry(entry, true);
+        this.write(entry, true);
     }
 
-    private void logEntry(final Iterable<String> entry, final boolean retryOnError) throws IOException {
-        if (this.file == null || this.file.isClosed() || Instant.now().truncatedTo(ChronoUnit.DAYS).isAfter(this.currentDate)) {
-            this.openFile();
+    private void write(final String entry, final boolean retryOnError) throws IOException {
+        if (this.file == null || this.file.isClosed()) {
+            this.openFile(LocalDate.now(ZoneId.systemDefault()));
         }
 
-        try {
-            final Iterator<String> iterator = entry.iterator();
-            while (iterator.hasNext()) {
-                this.file.writeLine(iterator.next());
-                iterator.remove();
-            }
+        final String prefix = this.prefix(System.currentTimeMillis());
+        if (this.maxFileSize > 0 && this.file.size() >= this.maxFileSize) {
+            this.openFile(this.currentDate);
+        }
 
-            this.file.flush();
+        try {
+            this.file.writeLine(prefix, entry);
         } catch (final IOException e) {
             if (retryOnError) {
-                this.logEntry(entry, false);
+                this.write(entry, false);
             } else {
                 throw e;
             }
         }
     }
 
+    public void flush() throws IOException {
+        if (this.file != null && !this.file.isClosed()) {
+            this.file.flush();
+        }
+    }
+
+    public void logEntry(final String entry) throws IOException {
+        this.write(entry);
+        this.flush();
+    }
+
+    public void logEntry(final Iterable<String> entry) throws IOException {
+        final Iterator<String> iterator = entry.iterator();
+        while (iterator.hasNext()) {
+            this.write(iterator.next());
+            iterator.remove();
+        }
+
+        this.flush();
+    }
+
     @Override
     public void close() throws IOException {
         if (this.isClosed) {
             return;
         }
 
+        this.isClosed = true;
         if (this.file != null && !this.file.isClosed()) {
-            this.file.close();
-            this.file = null;
-            this.isClosed = true;
+            try {
+                this.file.close();
+            } finally {
+                // Compress the last file now, the background thread may not get a chance to run.
+                Util.compressAndDeleteFile(this.file.getLocation());
+                this.file = null;
+            }
         }
     }
 }
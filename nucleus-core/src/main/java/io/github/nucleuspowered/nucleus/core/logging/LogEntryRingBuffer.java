@@ -0,0 +1,91 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.logging;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock free queue of log lines that supports many producers and a single consumer.
+ *
+ * <p>Each slot has a sequence number. A producer claims a slot by advancing the tail, writes the
+ * entry and then publishes it by updating the slot's sequence. The consumer only takes entries
+ * that have been published, in the order that their slots were claimed. If the buffer is full,
+ * {@link #offer(String)} fails rather than blocking.</p>
+ */
+final class LogEntryRingBuffer {
+
+    private final AtomicReferenceArray<String> entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only accessed by the consumer.
+    private long head = 0;
+
+    LogEntryRingBuffer(final int capacity) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.entries = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an entry to the buffer. May be called from any thread.
+     *
+     * @param entry The entry
+     * @return false if the buffer was full and the entry was not added
+     */
+    boolean offer(final String entry) {
+        long position;
+        int index;
+        while (true) {
+            position = this.tail.get();
+            index = (int) (position & this.mask);
+            final long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                // The consumer has not yet taken the entry from a full revolution ago.
+                return false;
+            }
+        }
+
+        this.entries.set(index, entry);
+        this.sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Takes the next entry from the buffer. Must only be called by the consumer.
+     *
+     * @return The entry, or null if there are no published entries
+     */
+    @Nullable String poll() {
+        final int index = (int) (this.head & this.mask);
+        if (this.sequences.get(index) != this.head + 1) {
+            return null;
+        }
+
+        final String entry = this.entries.get(index);
+        this.entries.set(index, null);
+        this.sequences.set(index, this.head + this.mask + 1);
+        this.head++;
+        return entry;
+    }
+
+    boolean isEmpty() {
+        return this.sequences.get((int) (this.head & this.mask)) != this.head + 1;
+    }
+
+}
@@ -5,43 +5,97 @@
 package io.github.nucleuspowered.nucleus.core.logging;
 
 import com.google.common.base.Preconditions;
-import io.github.nucleuspowered.nucleus.core.Util;
 
-import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.function.Function;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * A log file that is written through a {@link FileChannel}, encoding lines into a single reusable
+ * buffer.
+ *
+ * <p>Not thread safe, only the log writer thread should use this.</p>
+ */
 class LogFile implements Closeable {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
     private final Path location;
-    private final Function<String, String> formatter;
-    private final BufferedWriter outputStream;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private long size;
     private boolean isClosed = false;
 
-    LogFile(final Path location, final Function<String, String> stringFormatter) throws IOException {
+    LogFile(final Path location) throws IOException {
         Preconditions.checkNotNull(location);
-        Preconditions.checkNotNull(stringFormatter);
 
         this.location = location;
-        this.outputStream = Files.newBufferedWriter(location);
-        this.formatter = stringFormatter;
+        this.channel = FileChannel.open(location, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.size = this.channel.size();
     }
 
-    void writeLine(final String line) throws IOException {
+    void writeLine(final String prefix, final String line) throws IOException {
         try {
-            this.outputStream.write(this.formatter.apply(line));
-            this.outputStream.newLine();
+            this.encode(prefix);
+            this.encode(line);
+            this.encode(LINE_SEPARATOR);
         } catch (final IOException e) {
             this.close();
             throw e;
         }
     }
 
+    private void encode(final String string) throws IOException {
+        final CharBuffer chars = CharBuffer.wrap(string);
+        this.encoder.reset();
+        CoderResult result;
+        do {
+            result = this.encoder.encode(chars, this.buffer, true);
+            if (result.isOverflow()) {
+                this.drain();
+            }
+        } while (result.isOverflow());
+
+        while (this.encoder.flush(this.buffer).isOverflow()) {
+            this.drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.size += this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
     void flush() throws IOException {
-        this.outputStream.flush();
+        this.drain();
+    }
+
+    /**
+     * Gets the size of the file, including anything that has not yet been flushed.
+     *
+     * @return The size, in bytes
+     */
+    long size() {
+        return this.size + this.buffer.position();
+    }
+
+    Path getLocation() {
+        return this.location;
     }
 
     boolean isClosed() {
@@ -55,11 +109,10 @@ class LogFile implements Closeable {
         }
 
         try {
-            this.outputStream.close();
+            this.drain();
         } finally {
             this.isClosed = true;
-
-            Util.compressAndDeleteFile(this.location);
+            this.channel.close();
         }
     }
 }
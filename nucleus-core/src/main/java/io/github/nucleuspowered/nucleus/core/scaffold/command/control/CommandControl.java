@@ -15,6 +15,7 @@ import io.github.nucleuspowered.nucleus.core.scaffold.command.config.CommandModi
 import io.github.nucleuspowered.nucleus.core.scaffold.command.impl.CommandContextImpl;
 import io.github.nucleuspowered.nucleus.core.scaffold.command.modifier.ICommandModifier;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.core.util.PrettyPrinter;
 import net.kyori.adventure.text.Component;
@@ -62,6 +63,15 @@ public final class CommandControl {
     private final List<String> aliases;
     private final Map<CommandModifier, ICommandModifier> modifiers;
     private final CommandModifiersConfig commandModifiersConfig = new CommandModifiersConfig();
+    private final IMetricsService.Timer timer;
+
+    // Worked out once, so that running the command doesn't have to.
+    private final PlannedModifier[] modifierPlan;
+    private final boolean hasExemptions;
+    private final String exemptionCacheKey;
+    private final String cooldownOption;
+    private final String warmupOption;
+    private final String costOption;
 
     private final String command;
     private boolean acceptingRegistration = true;
@@ -77,6 +87,7 @@ public final class CommandControl {
         this.context = new Context(CONTEXT_KEY, this.commandKey.replace(".", " "));
         this.basicPermission = Collections.unmodifiableList(Arrays.asList(meta.getCommandAnnotation().basePermission()));
         this.serviceCollection = serviceCollection;
+        this.timer = serviceCollection.metricsService().timer("command." + this.commandKey);
 
         this.aliases = Collections.unmodifiableList(Arrays.asList(meta.getAliases()));
         if (parent != null) {
@@ -85,8 +96,20 @@ public final class CommandControl {
             this.command = meta.getAliases()[0];
         }
 
+        final String optionPrefix = "nucleus." + this.command.replace(" ", ".").toLowerCase() + ".";
+        this.cooldownOption = optionPrefix + "cooldown";
+        this.warmupOption = optionPrefix + "warmup";
+        this.costOption = optionPrefix + "cost";
+        this.exemptionCacheKey = "command-exemptions:" + this.commandKey;
+
         // this must be last.
         this.modifiers = CommandControl.validateModifiers(this, serviceCollection.logger(), meta.getCommandAnnotation());
+        this.modifierPlan = CommandControl.planModifiers(this.modifiers);
+        boolean hasExemptions = false;
+        for (final PlannedModifier plannedModifier : this.modifierPlan) {
+            hasExemptions |= plannedModifier.exemptPermission != null;
+        }
+        this.hasExemptions = hasExemptions;
     }
 
     public void attach(final String alias, final CommandControl commandControl) {
@@ -144,11 +167,21 @@ public final class CommandControl {
 
     @NonNull
     public CommandResult process(@NonNull final CommandContext context) throws CommandException {
+        final long start = this.timer.start();
+        try {
+            return this.processCommand(context);
+        } finally {
+            this.timer.stop(start);
+        }
+    }
+
+    private CommandResult processCommand(@NonNull final CommandContext context) throws CommandException {
         if (this.executor == null) {
             throw new CommandException(Component.text("This should not be executed"));
         }
          // Create the ICommandContext
-        final Map<CommandModifier, ICommandModifier> modifiers = this.selectAppropriateModifiers(context);
+        final PlannedModifier[] selected = this.selectAppropriateModifiers(context);
+        final Map<CommandModifier, ICommandModifier> modifiers = CommandControl.toMap(selected);
         final ICommandContext contextSource = new CommandContextImpl(
                 context.cause(),
                 context,
@@ -165,8 +198,8 @@ public final class CommandControl {
             }
 
             // Can we run this command? Exception will be thrown if not.
-            for (final Map.Entry<CommandModifier, ICommandModifier> x : modifiers.entrySet()) {
-                final Optional<? extends Component> req = x.getValue().testRequirement(contextSource, this, this.serviceCollection, x.getKey());
+            for (final PlannedModifier x : selected) {
+                final Optional<? extends Component> req = x.commandModifier.testRequirement(contextSource, this, this.serviceCollection, x.modifier);
                 if (req.isPresent()) {
                     // Nope, we're out
                     throw new CommandException(req.get());
@@ -182,10 +215,10 @@ public final class CommandControl {
                     return result.get().getResult(contextSource);
                 }
 
-                // Modifiers might have something to say about it.
-                for (final Map.Entry<CommandModifier, ICommandModifier> modifier : contextSource.modifiers().entrySet()) {
-                    if (modifier.getKey().onExecute()) {
-                        result = modifier.getValue().preExecute(contextSource, this, this.serviceCollection, modifier.getKey());
+                // Modifiers might have something to say about it, unless they have been removed.
+                for (final PlannedModifier modifier : selected) {
+                    if (modifier.onExecute && contextSource.modifiers().containsKey(modifier.modifier)) {
+                        result = modifier.commandModifier.preExecute(contextSource, this, this.serviceCollection, modifier.modifier);
                         if (result.isPresent()) {
                             // STOP.
                             this.onResult(contextSource, result.get());
@@ -270,22 +303,62 @@ public final class CommandControl {
         }
     }
 
-    private Map<CommandModifier, ICommandModifier> selectAppropriateModifiers(final CommandContext source) {
-        return this.modifiers
-                .entrySet()
-                .stream()
-                .filter(x -> x.getKey().target().isInstance(source.cause().root()))
-                .filter(x -> {
-                    try {
-                        return x.getValue().canExecuteModifier(this.serviceCollection, source);
-                    } catch (final CommandException e) {
-                        e.printStackTrace();
-                        return false;
-                    }
-                })
-                .filter(x -> x.getKey().exemptPermission().isEmpty() ||
-                        !this.serviceCollection.permissionService().hasPermission(source, x.getKey().exemptPermission()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    private PlannedModifier[] selectAppropriateModifiers(final CommandContext source) {
+        if (this.modifierPlan.length == 0) {
+            return this.modifierPlan;
+        }
+
+        final boolean[] exemptions = this.getExemptions(source.cause().subject());
+        final Object root = source.cause().root();
+        final PlannedModifier[] selected = new PlannedModifier[this.modifierPlan.length];
+        int count = 0;
+        for (int i = 0; i < this.modifierPlan.length; i++) {
+            final PlannedModifier plannedModifier = this.modifierPlan[i];
+            if ((exemptions != null && exemptions[i])
+                    || (plannedModifier.target != null && !plannedModifier.target.isInstance(root))) {
+                continue;
+            }
+
+            try {
+                if (plannedModifier.commandModifier.canExecuteModifier(this.serviceCollection, source)) {
+                    selected[count++] = plannedModifier;
+                }
+            } catch (final CommandException e) {
+                e.printStackTrace();
+            }
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Gets which of the planned modifiers the subject is exempt from, or null if none of them
+     * can be exempted from. For online players, this is held alongside their cached permissions.
+     */
+    private boolean @Nullable [] getExemptions(final Subject subject) {
+        if (!this.hasExemptions) {
+            return null;
+        }
+
+        return this.serviceCollection.permissionService().getCachedForSubject(subject, this.exemptionCacheKey, s -> {
+            final boolean[] exemptions = new boolean[this.modifierPlan.length];
+            for (int i = 0; i < this.modifierPlan.length; i++) {
+                final String permission = this.modifierPlan[i].exemptPermission;
+                exemptions[i] = permission != null && this.serviceCollection.permissionService().hasPermission(s, permission);
+            }
+            return exemptions;
+        });
+    }
+
+    private static Map<CommandModifier, ICommandModifier> toMap(final PlannedModifier[] plannedModifiers) {
+        if (plannedModifiers.length == 0) {
+            return Collections.emptyMap();
+        }
+
+        final Map<CommandModifier, ICommandModifier> map = new LinkedHashMap<>();
+        for (final PlannedModifier plannedModifier : plannedModifiers) {
+            map.put(plannedModifier.modifier, plannedModifier.commandModifier);
+        }
+        return map;
     }
 
     public Optional<Component> getShortDescription(@NonNull final CommandCause source) {
@@ -311,7 +384,12 @@ public final class CommandControl {
     }
 
     public boolean testPermission(@NonNull final Subject source) {
-        return this.basicPermission.stream().allMatch(x -> this.serviceCollection.permissionService().hasPermission(source, x));
+        for (final String permission : this.basicPermission) {
+            if (!this.serviceCollection.permissionService().hasPermission(source, permission)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public CommandModifiersConfig getCommandModifiersConfig() {
@@ -356,7 +434,7 @@ public final class CommandControl {
 
     public int getCooldown(final Subject subject) {
         return this.serviceCollection.permissionService()
-                .getIntOptionFromSubject(subject, String.format("nucleus.%s.cooldown", this.command.replace(" ", ".")))
+                .getIntOptionFromSubject(subject, this.cooldownOption)
                 .orElseGet(this::getCooldown);
     }
 
@@ -366,7 +444,7 @@ public final class CommandControl {
 
     public int getWarmup(final Subject subject) {
         return this.serviceCollection.permissionService()
-                .getIntOptionFromSubject(subject, String.format("nucleus.%s.warmup", this.command.replace(" ", ".")))
+                .getIntOptionFromSubject(subject, this.warmupOption)
                 .orElseGet(this::getWarmup);
     }
 
@@ -376,7 +454,7 @@ public final class CommandControl {
 
     public double getCost(final Subject subject) {
         return this.serviceCollection.permissionService()
-                .getDoubleOptionFromSubject(subject, String.format("nucleus.%s.cost", this.command.replace(" ", ".")))
+                .getDoubleOptionFromSubject(subject, this.costOption)
                 .orElseGet(this::getCost);
     }
 
@@ -423,7 +501,35 @@ public final class CommandControl {
         return Collections.unmodifiableMap(modifiers);
     }
 
+    // Keeps the order the modifiers were declared in, so that they run in that order in each phase.
+    private static PlannedModifier[] planModifiers(final Map<CommandModifier, ICommandModifier> modifiers) {
+        final PlannedModifier[] plan = new PlannedModifier[modifiers.size()];
+        int i = 0;
+        for (final Map.Entry<CommandModifier, ICommandModifier> entry : modifiers.entrySet()) {
+            plan[i++] = new PlannedModifier(entry.getKey(), entry.getValue());
+        }
+        return plan;
+    }
+
     public Component getUsage(final ICommandContext context) {
         return Component.empty();
     }
+
+    private static final class PlannedModifier {
+
+        private final CommandModifier modifier;
+        private final ICommandModifier commandModifier;
+        @Nullable private final Class<?> target;
+        @Nullable private final String exemptPermission;
+        private final boolean onExecute;
+
+        private PlannedModifier(final CommandModifier modifier, final ICommandModifier commandModifier) {
+            this.modifier = modifier;
+            this.commandModifier = commandModifier;
+            this.target = modifier.target() == Object.class ? null : modifier.target();
+            this.exemptPermission = modifier.exemptPermission().isEmpty() ? null : modifier.exemptPermission();
+            this.onExecute = modifier.onExecute();
+        }
+
+    }
 }
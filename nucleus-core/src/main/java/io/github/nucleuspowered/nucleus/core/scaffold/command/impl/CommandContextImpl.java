@@ -32,7 +32,7 @@ import org.spongepowered.api.world.server.ServerWorld;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -73,10 +73,11 @@ public final class CommandContextImpl implements ICommandContext {
         this.commandkey = control.getCommandKey();
         this.context = context;
         this.serviceCollection = serviceCollection;
-        this.cost = control.getCost(cause);
-        this.cooldown = control.getCooldown(cause);
-        this.warmup = control.getWarmup(cause);
-        this.modifiers = new HashMap<>(modifiers);
+        // The options are looked up on the subject itself, so that they can come from its cache.
+        this.cost = control.getCost(cause.subject());
+        this.cooldown = control.getCooldown(cause.subject());
+        this.warmup = control.getWarmup(cause.subject());
+        this.modifiers = new LinkedHashMap<>(modifiers);
         this.stringName = CommandContextImpl.getFriendlyName(cause);
         this.isBypass = isBypass;
     }
@@ -15,7 +15,9 @@ import io.github.nucleuspowered.nucleus.core.services.interfaces.IConfigurateHel
 import io.github.nucleuspowered.nucleus.core.services.interfaces.ICooldownService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IDocumentationGenerationService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IEconomyServiceProvider;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IExpiryService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IMessageProviderService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IConfigProvider;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IModuleReporter;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.INucleusLocationService;
@@ -102,6 +104,10 @@ public interface INucleusServiceCollection {
 
     ISchedulerService schedulerService();
 
+    IExpiryService expiryService();
+
+    IMetricsService metricsService();
+
     ITimingsService timingsService();
 
     Logger logger();
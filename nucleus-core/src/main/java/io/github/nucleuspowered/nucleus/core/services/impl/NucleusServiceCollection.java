@@ -19,7 +19,9 @@ import io.github.nucleuspowered.nucleus.core.services.interfaces.IConfigurateHel
 import io.github.nucleuspowered.nucleus.core.services.interfaces.ICooldownService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IDocumentationGenerationService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IEconomyServiceProvider;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IExpiryService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IMessageProviderService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IConfigProvider;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IModuleReporter;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.INucleusLocationService;
@@ -85,6 +87,8 @@ public class NucleusServiceCollection implements INucleusServiceCollection {
     private final Supplier<ITextStyleService> textStyleServiceProvider;
     private final Supplier<IModuleReporter> moduleReporterSupplier;
     private final Supplier<ISchedulerService> schedulerServiceProvider;
+    private final Supplier<IExpiryService> expiryServiceProvider;
+    private final Supplier<IMetricsService> metricsServiceProvider;
     private final Supplier<ITimingsService> timingsServiceProvider;
     private final Injector injector;
     private final PluginContainer pluginContainer;
@@ -126,6 +130,8 @@ public class NucleusServiceCollection implements INucleusServiceCollection {
         this.documentationGenerationServiceProvider = new LazyLoad<>(this, injector, IDocumentationGenerationService.class);
         this.moduleReporterSupplier = new LazyLoad<>(this, injector, IModuleReporter.class);
         this.schedulerServiceProvider = new LazyLoad<>(this, injector, ISchedulerService.class);
+        this.expiryServiceProvider = new LazyLoad<>(this, injector, IExpiryService.class);
+        this.metricsServiceProvider = new LazyLoad<>(this, injector, IMetricsService.class);
         this.timingsServiceProvider = new LazyLoad<>(this, injector, ITimingsService.class);
         this.injector = injector;
         this.pluginContainer = pluginContainer;
@@ -229,6 +235,14 @@ public class NucleusServiceCollection implements INucleusServiceCollection {
         return this.schedulerServiceProvider.get();
     }
 
+    @Override public IExpiryService expiryService() {
+        return this.expiryServiceProvider.get();
+    }
+
+    @Override public IMetricsService metricsService() {
+        return this.metricsServiceProvider.get();
+    }
+
     @Override public ITimingsService timingsService() {
         return this.timingsServiceProvider.get();
     }
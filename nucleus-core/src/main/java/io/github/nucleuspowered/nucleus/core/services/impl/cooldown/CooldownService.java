@@ -4,81 +4,210 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.cooldown;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import io.github.nucleuspowered.nucleus.core.core.CoreKeys;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.modular.IUserDataObject;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.ICooldownService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IExpiryService;
 import org.spongepowered.api.util.Identifiable;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Holds cooldowns in a {@link CooldownTable} per player, indexed by an interned id for each
+ * cooldown key, so checking a cooldown doesn't depend on how many others there are.
+ *
+ * <p>Expired cooldowns are removed when they are read. Players' tables are also swept by the
+ * {@link IExpiryService} when their last cooldown is due to expire, so that tables of players
+ * who don't use the command again are dropped.</p>
+ */
 @Singleton
 public class CooldownService implements ICooldownService {
 
-    private final Map<DualKey, Instant> cooldowns = new HashMap<>();
+    private static final String EXPIRY_CATEGORY = "cooldown";
+
+    private final INucleusServiceCollection serviceCollection;
+    private final IExpiryService expiryService;
+    private final Map<String, Integer> keyIds = new ConcurrentHashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Map<UUID, CooldownTable> tables = new ConcurrentHashMap<>();
+
+    @Inject
+    public CooldownService(final INucleusServiceCollection serviceCollection) {
+        this.serviceCollection = serviceCollection;
+        this.expiryService = serviceCollection.expiryService();
+        this.expiryService.registerHandler(EXPIRY_CATEGORY, this::sweep);
+    }
+
+    private int intern(final String key) {
+        final Integer id = this.keyIds.get(key);
+        if (id != null) {
+            return id;
+        }
 
-    private Map<DualKey, Instant> cleanUp() {
-        final Instant now = Instant.now();
-        final Collection<DualKey> keys = this.cooldowns.entrySet()
-                .stream()
-                .filter(x -> x.getValue().isBefore(now))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-        for (final DualKey key : keys) {
-            this.cooldowns.remove(key);
+        synchronized (this.keys) {
+            return this.keyIds.computeIfAbsent(key, k -> {
+                this.keys.add(k);
+                return this.keys.size() - 1;
+            });
         }
+    }
 
-        return this.cooldowns;
+    private String keyFor(final int id) {
+        synchronized (this.keys) {
+            return this.keys.get(id);
+        }
+    }
+
+    private long getExpiry(final String key, final UUID uuid) {
+        final Integer id = this.keyIds.get(key);
+        if (id == null) {
+            return 0;
+        }
+
+        final CooldownTable table = this.tables.get(uuid);
+        return table == null ? 0 : table.get(id, System.currentTimeMillis());
+    }
+
+    private void setExpiry(final UUID uuid, final int id, final long expiry) {
+        // compute is atomic with respect to the removal in sweep, so the cooldown can't be set
+        // on a table that has just been dropped.
+        this.tables.compute(uuid, (u, table) -> {
+            final CooldownTable t = table == null ? new CooldownTable() : table;
+            t.set(id, expiry);
+            return t;
+        });
+        this.expiryService.schedule(EXPIRY_CATEGORY, uuid, Instant.ofEpochMilli(expiry));
+    }
+
+    private void sweep(final UUID uuid) {
+        final long[] latest = new long[1];
+        this.tables.computeIfPresent(uuid, (u, table) -> {
+            latest[0] = table.sweep(System.currentTimeMillis());
+            return latest[0] == 0 ? null : table;
+        });
+
+        if (latest[0] != 0) {
+            this.expiryService.schedule(EXPIRY_CATEGORY, uuid, Instant.ofEpochMilli(latest[0]));
+        }
     }
 
     @Override public boolean hasCooldown(final String key, final Identifiable identifiable) {
-        return this.cleanUp().containsKey(new DualKey(key, identifiable.uniqueId()));
+        return this.getExpiry(key, identifiable.uniqueId()) != 0;
     }
 
     @Override public Optional<Duration> getCooldown(final String key, final Identifiable identifiable) {
-        return Optional.ofNullable(this.cleanUp()
-                .get(new DualKey(key, identifiable.uniqueId())))
-                .map(x -> Duration.between(Instant.now(), x));
+        final long expiry = this.getExpiry(key, identifiable.uniqueId());
+        if (expiry == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofMillis(Math.max(0, expiry - System.currentTimeMillis())));
     }
 
     @Override public void setCooldown(final String key, final Identifiable identifiable, final Duration cooldownLength) {
-        this.cooldowns.put(new DualKey(key, identifiable.uniqueId()), Instant.now().plus(cooldownLength));
+        if (cooldownLength.isNegative() || cooldownLength.isZero()) {
+            this.clearCooldown(key, identifiable);
+            return;
+        }
+
+        this.setExpiry(identifiable.uniqueId(), this.intern(key), System.currentTimeMillis() + cooldownLength.toMillis());
     }
 
     @Override public void clearCooldown(final String key, final Identifiable identifiable) {
-        this.cooldowns.remove(new DualKey(key, identifiable.uniqueId()));
+        final Integer id = this.keyIds.get(key);
+        if (id != null) {
+            final CooldownTable table = this.tables.get(identifiable.uniqueId());
+            if (table != null) {
+                table.clear(id);
+            }
+        }
     }
 
-    private final static class DualKey {
+    @Override
+    public void loadCooldowns(final UUID uuid) {
+        final Map<String, Instant> saved;
+        try {
+            final IUserDataObject dataObject = this.serviceCollection.storageManager().getUserService().getOnThread(uuid).orElse(null);
+            if (dataObject == null || !dataObject.has(CoreKeys.COOLDOWNS)) {
+                return;
+            }
+
+            // The cooldowns are held in memory from now on, and will be saved again if they
+            // are still running when the player leaves.
+            saved = dataObject.get(CoreKeys.COOLDOWNS).orElseGet(HashMap::new);
+            dataObject.remove(CoreKeys.COOLDOWNS);
+        } catch (final Exception e) {
+            e.printStackTrace();
+            return;
+        }
 
-        private final String key;
-        private final UUID uuid;
+        final long now = System.currentTimeMillis();
+        for (final Map.Entry<String, Instant> entry : saved.entrySet()) {
+            final long expiry = entry.getValue().toEpochMilli();
+            if (expiry > now && this.getExpiry(entry.getKey(), uuid) < expiry) {
+                this.setExpiry(uuid, this.intern(entry.getKey()), expiry);
+            }
+        }
+    }
 
-        private DualKey(final String key, final UUID uuid) {
-            this.key = key;
-            this.uuid = uuid;
+    @Override
+    public void saveCooldowns(final UUID uuid) {
+        final long threshold = this.serviceCollection.configProvider().getCoreConfig().getPersistCooldownsLongerThan();
+        if (threshold <= 0) {
+            return;
         }
 
-        @Override public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
+        // Anything saved for a player without a table has not been loaded, so is left alone.
+        final CooldownTable table = this.tables.get(uuid);
+        if (table == null) {
+            return;
+        }
+
+        final Map<String, Instant> toSave = new HashMap<>();
+        final long now = System.currentTimeMillis();
+        final long[] expiries = table.snapshot(now);
+        for (int id = 0; id < expiries.length; id++) {
+            if (expiries[id] - now > threshold * 1000) {
+                toSave.put(this.keyFor(id), Instant.ofEpochMilli(expiries[id]));
             }
-            if (o == null || this.getClass() != o.getClass()) {
-                return false;
+        }
+
+        try {
+            final IUserDataObject dataObject = this.serviceCollection.storageManager().getUserService().getOrNewOnThread(uuid);
+            if (!toSave.isEmpty()) {
+                dataObject.set(CoreKeys.COOLDOWNS, toSave);
+            } else if (dataObject.has(CoreKeys.COOLDOWNS)) {
+                dataObject.remove(CoreKeys.COOLDOWNS);
             }
-            final DualKey dualKey = (DualKey) o;
-            return Objects.equals(this.key, dualKey.key) &&
-                    Objects.equals(this.uuid, dualKey.uuid);
+        } catch (final Exception e) {
+            e.printStackTrace();
         }
+    }
 
-        @Override public int hashCode() {
-            return Objects.hash(this.key, this.uuid.getLeastSignificantBits(), this.uuid.getMostSignificantBits());
+    @Override
+    public void saveCooldowns() {
+        for (final UUID uuid : new ArrayList<>(this.tables.keySet())) {
+            this.saveCooldowns(uuid);
         }
     }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (final CooldownTable table : this.tables.values()) {
+            size += table.size();
+        }
+        return size;
+    }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.cooldown;
+
+import java.util.Arrays;
+
+/**
+ * The cooldowns of a single player, held as the epoch millisecond that each expires, indexed
+ * by the interned id of the cooldown key. A value of zero means there is no cooldown.
+ *
+ * <p>Expired cooldowns are removed as they are read, and by {@link #sweep(long)}.</p>
+ */
+public final class CooldownTable {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] expiries = EMPTY;
+    private int active = 0;
+
+    /**
+     * Gets when the cooldown expires.
+     *
+     * @param id The id of the key
+     * @param now The current epoch millisecond
+     * @return The epoch millisecond the cooldown expires, or zero if there isn't one
+     */
+    public synchronized long get(final int id, final long now) {
+        if (id >= this.expiries.length) {
+            return 0;
+        }
+
+        final long expiry = this.expiries[id];
+        if (expiry != 0 && expiry <= now) {
+            this.expiries[id] = 0;
+            this.active--;
+            return 0;
+        }
+        return expiry;
+    }
+
+    public synchronized void set(final int id, final long expiry) {
+        if (id >= this.expiries.length) {
+            this.expiries = Arrays.copyOf(this.expiries, Math.max(id + 1, this.expiries.length * 2));
+        }
+
+        if (this.expiries[id] == 0) {
+            this.active++;
+        }
+        this.expiries[id] = expiry;
+    }
+
+    public synchronized boolean clear(final int id) {
+        if (id < this.expiries.length && this.expiries[id] != 0) {
+            this.expiries[id] = 0;
+            this.active--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the cooldowns that have expired.
+     *
+     * @param now The current epoch millisecond
+     * @return When the last remaining cooldown expires, or zero if there are none left
+     */
+    public synchronized long sweep(final long now) {
+        long latest = 0;
+        for (int i = 0; i < this.expiries.length; i++) {
+            final long expiry = this.expiries[i];
+            if (expiry != 0) {
+                if (expiry <= now) {
+                    this.expiries[i] = 0;
+                    this.active--;
+                } else if (expiry > latest) {
+                    latest = expiry;
+                }
+            }
+        }
+        return latest;
+    }
+
+    public synchronized int size() {
+        return this.active;
+    }
+
+    /**
+     * Copies the cooldowns that have not expired.
+     *
+     * @param now The current epoch millisecond
+     * @return The expiries, indexed by key id, with zero where there is no cooldown
+     */
+    public synchronized long[] snapshot(final long now) {
+        this.sweep(now);
+        return this.expiries.clone();
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.expiry;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IExpiryService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.ISchedulerService;
+import io.github.nucleuspowered.nucleus.core.util.ExpiryQueue;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Singleton
+public class ExpiryService implements IExpiryService {
+
+    private final ISchedulerService schedulerService;
+    private final Map<String, Consumer<UUID>> handlers = new ConcurrentHashMap<>();
+    private final ExpiryQueue<Entry> queue = new ExpiryQueue<>(1000, 512, Instant.now());
+
+    @Inject
+    public ExpiryService(final INucleusServiceCollection serviceCollection) {
+        this.schedulerService = serviceCollection.schedulerService();
+    }
+
+    @Override
+    public void registerHandler(final String category, final Consumer<UUID> handler) {
+        this.handlers.put(category, handler);
+    }
+
+    @Override
+    public void schedule(final String category, final UUID uuid, final Instant expiry) {
+        this.queue.schedule(new Entry(category, uuid), expiry);
+    }
+
+    @Override
+    public boolean cancel(final String category, final UUID uuid) {
+        return this.queue.cancel(new Entry(category, uuid));
+    }
+
+    @Override
+    public boolean isScheduled(final String category, final UUID uuid) {
+        return this.queue.isScheduled(new Entry(category, uuid));
+    }
+
+    @Override
+    public int size() {
+        return this.queue.size();
+    }
+
+    @Override
+    public void tick() {
+        for (final Entry entry : this.queue.poll(Instant.now())) {
+            final Consumer<UUID> handler = this.handlers.get(entry.category);
+            if (handler != null) {
+                this.schedulerService.runOnMainThread(() -> {
+                    try {
+                        handler.accept(entry.uuid);
+                    } catch (final Exception e) {
+                        e.printStackTrace();
+                    }
+                });
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final String category;
+        private final UUID uuid;
+
+        private Entry(final String category, final UUID uuid) {
+            this.category = category;
+            this.uuid = uuid;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            final Entry entry = (Entry) o;
+            return this.category.equals(entry.category) && this.uuid.equals(entry.uuid);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.category, this.uuid);
+        }
+    }
+
+}
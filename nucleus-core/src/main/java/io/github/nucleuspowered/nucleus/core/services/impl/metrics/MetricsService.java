@@ -0,0 +1,311 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.nucleuspowered.nucleus.core.core.config.MetricsConfig;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.impl.placeholder.PlaceholderRenderStatistics;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
+import io.github.nucleuspowered.nucleus.core.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+@Singleton
+public class MetricsService implements IMetricsService, IReloadableService.Reloadable {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Pattern NOT_PROMETHEUS = Pattern.compile("[^a-zA-Z0-9_]");
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+    private final INucleusServiceCollection serviceCollection;
+    private final Map<String, TimerImpl> timers = new ConcurrentHashMap<>();
+    private final Map<String, CounterImpl> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final List<Supplier<Map<String, Long>>> gaugeSets = new CopyOnWriteArrayList<>();
+
+    private volatile boolean enabled = false;
+    private volatile long dumpIntervalMillis = 0;
+    private volatile MetricsConfig.DumpFormat dumpFormat = MetricsConfig.DumpFormat.JSON;
+    private long lastDump = System.currentTimeMillis();
+
+    @Inject
+    public MetricsService(final INucleusServiceCollection serviceCollection) {
+        this.serviceCollection = serviceCollection;
+        serviceCollection.reloadableService().registerReloadable(this);
+        this.registerCoreGauges();
+    }
+
+    // The services are looked up when the gauges are read, so that this doesn't create them.
+    private void registerCoreGauges() {
+        final INucleusServiceCollection collection = this.serviceCollection;
+        this.registerGauge("permission.cache.hits", () -> collection.permissionService().getSubjectCacheHits());
+        this.registerGauge("permission.cache.misses", () -> collection.permissionService().getSubjectCacheMisses());
+        this.registerGauge("displayname.cache.hits", () -> collection.playerDisplayNameService().getDisplayNameCacheHits());
+        this.registerGauge("displayname.cache.misses", () -> collection.playerDisplayNameService().getDisplayNameCacheMisses());
+        this.registerGauge("displayname.loads", () -> collection.playerDisplayNameService().getDisplayNameLoads());
+        this.registerGauge("displayname.load.nanos", () -> collection.playerDisplayNameService().getDisplayNameLoadNanos());
+        this.registerGauge("cooldown.entries", () -> collection.cooldownService().size());
+        this.registerGauge("expiry.entries", () -> collection.expiryService().size());
+        this.registerGauges(() -> {
+            final Map<String, Long> result = new HashMap<>();
+            for (final PlaceholderRenderStatistics statistics : collection.placeholderService().getRenderStatistics().values()) {
+                result.put("placeholder." + statistics.getToken() + ".renders", statistics.getRenderCount());
+                result.put("placeholder." + statistics.getToken() + ".nanos", statistics.getTotalNanos());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public void onReload(final INucleusServiceCollection serviceCollection) {
+        final MetricsConfig config = serviceCollection.configProvider().getCoreConfig().getMetricsConfig();
+        this.enabled = config.isEnabled();
+        this.dumpIntervalMillis = Math.max(0, config.getDumpInterval()) * 1000;
+        this.dumpFormat = config.getDumpFormat();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @Override
+    public Timer timer(final String name) {
+        return this.timers.computeIfAbsent(name, x -> new TimerImpl());
+    }
+
+    @Override
+    public Counter counter(final String name) {
+        return this.counters.computeIfAbsent(name, x -> new CounterImpl());
+    }
+
+    @Override
+    public void registerGauge(final String name, final LongSupplier gauge) {
+        this.gauges.put(name, gauge);
+    }
+
+    @Override
+    public void registerGauges(final Supplier<Map<String, Long>> gauges) {
+        this.gaugeSets.add(gauges);
+    }
+
+    @Override
+    public Map<String, Timer> getTimers() {
+        return new TreeMap<>(this.timers);
+    }
+
+    @Override
+    public Map<String, Counter> getCounters() {
+        return new TreeMap<>(this.counters);
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        final Map<String, Long> result = new TreeMap<>();
+        for (final Map.Entry<String, LongSupplier> entry : this.gauges.entrySet()) {
+            try {
+                result.put(entry.getKey(), entry.getValue().getAsLong());
+            } catch (final Exception e) {
+                // The service behind the gauge isn't available, so leave it out.
+            }
+        }
+
+        for (final Supplier<Map<String, Long>> gaugeSet : this.gaugeSets) {
+            try {
+                result.putAll(gaugeSet.get());
+            } catch (final Exception e) {
+                // As above.
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toJson() {
+        final JsonObject root = new JsonObject();
+        root.addProperty("timestamp", Instant.now().toString());
+        root.addProperty("enabled", this.enabled);
+
+        final JsonObject timers = new JsonObject();
+        for (final Map.Entry<String, Timer> entry : this.getTimers().entrySet()) {
+            final Timer timer = entry.getValue();
+            final JsonObject object = new JsonObject();
+            object.addProperty("count", timer.getCount());
+            object.addProperty("total_ms", timer.getTotalNanos() / 1_000_000.0);
+            object.addProperty("mean_ms", timer.getMeanNanos() / 1_000_000.0);
+            for (final double quantile : QUANTILES) {
+                object.addProperty("p" + (int) (quantile * 100) + "_ms", timer.getQuantileNanos(quantile) / 1_000_000.0);
+            }
+            object.addProperty("max_ms", timer.getMaxNanos() / 1_000_000.0);
+            timers.add(entry.getKey(), object);
+        }
+        root.add("timers", timers);
+
+        final JsonObject counters = new JsonObject();
+        this.getCounters().forEach((name, counter) -> counters.addProperty(name, counter.get()));
+        root.add("counters", counters);
+
+        final JsonObject gauges = new JsonObject();
+        this.getGauges().forEach(gauges::addProperty);
+        root.add("gauges", gauges);
+        return GSON.toJson(root);
+    }
+
+    @Override
+    public String toPrometheus() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<String, Timer> entry : this.getTimers().entrySet()) {
+            final Timer timer = entry.getValue();
+            final String name = prometheusName(entry.getKey()) + "_seconds";
+            builder.append("# TYPE ").append(name).append(" summary\n");
+            for (final double quantile : QUANTILES) {
+                builder.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                        .append(timer.getQuantileNanos(quantile) / 1e9).append('\n');
+            }
+            builder.append(name).append("_sum ").append(timer.getTotalNanos() / 1e9).append('\n');
+            builder.append(name).append("_count ").append(timer.getCount()).append('\n');
+        }
+
+        for (final Map.Entry<String, Counter> entry : this.getCounters().entrySet()) {
+            final String name = prometheusName(entry.getKey()) + "_total";
+            builder.append("# TYPE ").append(name).append(" counter\n");
+            builder.append(name).append(' ').append(entry.getValue().get()).append('\n');
+        }
+
+        for (final Map.Entry<String, Long> entry : this.getGauges().entrySet()) {
+            final String name = prometheusName(entry.getKey());
+            builder.append("# TYPE ").append(name).append(" gauge\n");
+            builder.append(name).append(' ').append(entry.getValue()).append('\n');
+        }
+
+        return builder.toString();
+    }
+
+    private static String prometheusName(final String name) {
+        return "nucleus_" + NOT_PROMETHEUS.matcher(name).replaceAll("_");
+    }
+
+    @Override
+    public void dumpIfDue() {
+        if (!this.enabled || this.dumpIntervalMillis <= 0) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (now - this.lastDump < this.dumpIntervalMillis) {
+                return;
+            }
+            this.lastDump = now;
+        }
+
+        final boolean json = this.dumpFormat == MetricsConfig.DumpFormat.JSON;
+        final String content = json ? this.toJson() : this.toPrometheus();
+        try {
+            final Path directory = this.serviceCollection.dataDir().get();
+            Files.createDirectories(directory);
+            final Path path = directory.resolve(json ? "metrics.json" : "metrics.prom");
+            final Path temp = directory.resolve(path.getFileName() + ".tmp");
+            Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private final class TimerImpl implements Timer {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        @Override
+        public long start() {
+            return MetricsService.this.enabled ? System.nanoTime() : 0;
+        }
+
+        @Override
+        public void stop(final long start) {
+            if (start != 0) {
+                this.histogram.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public long getCount() {
+            return this.histogram.getCount();
+        }
+
+        @Override
+        public long getTotalNanos() {
+            return this.histogram.getTotalNanos();
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return this.histogram.getMaxNanos();
+        }
+
+        @Override
+        public double getMeanNanos() {
+            return this.histogram.getMeanNanos();
+        }
+
+        @Override
+        public long getQuantileNanos(final double quantile) {
+            return this.histogram.getQuantileNanos(quantile);
+        }
+    }
+
+    private final class CounterImpl implements Counter {
+
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void increment() {
+            if (MetricsService.this.enabled) {
+                this.count.increment();
+            }
+        }
+
+        @Override
+        public void add(final long amount) {
+            if (MetricsService.this.enabled) {
+                this.count.add(amount);
+            }
+        }
+
+        @Override
+        public long get() {
+            return this.count.sum();
+        }
+    }
+
+}
@@ -15,6 +15,7 @@ import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableServ
 import io.github.nucleuspowered.nucleus.core.services.interfaces.annotation.PermissionMetadata;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.data.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.core.util.PermissionMessageChannel;
+import io.github.nucleuspowered.nucleus.core.util.PrefixTrie;
 import io.github.nucleuspowered.nucleus.core.util.PrettyPrinter;
 import io.github.nucleuspowered.nucleus.core.util.functional.ThrownFunction;
 import net.kyori.adventure.text.Component;
@@ -39,6 +40,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
@@ -48,11 +50,17 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Singleton
 public class NucleusPermissionService implements IPermissionService, IReloadableService.Reloadable, ContextCalculator {
 
+    // Permission plugins may change contexts without telling us, so snapshots are also refreshed periodically.
+    private static final long SNAPSHOT_LIFETIME_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
     private final IMessageProviderService messageProviderService;
     private final INucleusServiceCollection serviceCollection;
     private boolean init = false;
@@ -61,8 +69,14 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
     private final Set<String> failedChecks = new HashSet<>();
     private final Map<String, IPermissionService.Metadata> metadataMap = new HashMap<>();
     private final Map<String, IPermissionService.Metadata> prefixMetadataMap = new HashMap<>();
+    private final PrefixTrie<IPermissionService.Metadata> prefixMetadataTrie = new PrefixTrie<>();
 
     private final Map<UUID, Map<String, Context>> standardContexts = new ConcurrentHashMap<>();
+    private final Map<UUID, SubjectPermissionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final LongAdder snapshotHits = new LongAdder();
+    private final LongAdder snapshotMisses = new LongAdder();
+    private final PermissionAudienceRegistry audienceRegistry =
+            new PermissionAudienceRegistry((player, permission) -> this.hasPermission(player, permission), SNAPSHOT_LIFETIME_MILLIS);
 
     @Inject
     public NucleusPermissionService(
@@ -99,6 +113,11 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
 
     @Override
     public boolean hasPermission(final UUID playerUUID, final String permission) {
+        final Optional<ServerPlayer> player = Sponge.server().player(playerUUID);
+        if (player.isPresent()) {
+            return this.hasPermission(player.get(), permission);
+        }
+
         return this.hasPermission(Sponge.server().userManager().load(playerUUID).join()
                 .orElseThrow(() -> new IllegalArgumentException("The UUID " + playerUUID + " is not a valid player UUID")), permission);
     }
@@ -130,6 +149,7 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
         final CoreConfig coreConfig = serviceCollection.configProvider().getModuleConfig(CoreConfig.class);
         this.useRole = coreConfig.isUseParentPerms();
         this.consoleOverride = coreConfig.isConsoleOverride();
+        this.invalidateSubjectCache();
     }
 
     @Override public void registerDescriptions() {
@@ -153,6 +173,7 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
         final NucleusPermissionService.Metadata m = new NucleusPermissionService.Metadata(permission, metadata, moduleid);
         if (metadata.isPrefix()) {
             this.prefixMetadataMap.put(permission.toLowerCase(), m);
+            this.prefixMetadataTrie.put(permission.toLowerCase(), m);
         } else {
             this.metadataMap.put(permission.toLowerCase(), m);
         }
@@ -204,34 +225,141 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
     }
 
     @Override public Optional<String> getOptionFromSubject(final Subject player, final String... options) {
+        final SubjectPermissionSnapshot snapshot = this.snapshotFor(player);
         for (final String option : options) {
             final String o = option.toLowerCase();
-
-            // Option for context.
-            Optional<String> os = player.option(o, player.contextCause());
-            if (os.isPresent()) {
-                return os.map(r -> r.isEmpty() ? null : r);
+            final SubjectPermissionSnapshot.CachedOption result;
+            if (snapshot == null) {
+                result = this.resolveOption(player, o);
+            } else {
+                final SubjectPermissionSnapshot.CachedOption cached = snapshot.options().get(o);
+                if (cached == null) {
+                    this.snapshotMisses.increment();
+                    result = this.resolveOption(player, o);
+                    snapshot.options().put(o, result);
+                } else {
+                    this.snapshotHits.increment();
+                    result = cached;
+                }
             }
 
-            // General option
-            os = player.option(o);
-            if (os.isPresent()) {
-                return os.map(r -> r.isEmpty() ? null : r);
+            if (result.isSet()) {
+                return Optional.ofNullable(result.getValue());
             }
         }
 
         return Optional.empty();
     }
 
+    private SubjectPermissionSnapshot.CachedOption resolveOption(final Subject player, final String option) {
+        // Option for context.
+        Optional<String> os = player.option(option, player.contextCause());
+        if (!os.isPresent()) {
+            // General option
+            os = player.option(option);
+        }
+
+        return os.map(r -> new SubjectPermissionSnapshot.CachedOption(true, r.isEmpty() ? null : r))
+                .orElse(SubjectPermissionSnapshot.UNSET);
+    }
+
     @Override public PermissionMessageChannel permissionMessageChannel(final String permission) {
         return new PermissionMessageChannel(this, permission);
     }
 
+    @Override public List<ServerPlayer> onlinePlayersWithPermission(final String permission) {
+        return this.audienceRegistry.playersWithPermission(permission);
+    }
+
     @Override public Collection<IPermissionService.Metadata> getAllMetadata() {
         return Collections.unmodifiableCollection(this.metadataMap.values());
     }
 
+    @Nullable
+    private SubjectPermissionSnapshot snapshotFor(final Subject subject) {
+        if (!(subject instanceof ServerPlayer) || !((ServerPlayer) subject).isOnline()) {
+            return null;
+        }
+
+        final UUID uuid = ((ServerPlayer) subject).uniqueId();
+        final long now = System.currentTimeMillis();
+        final SubjectPermissionSnapshot current = this.snapshots.get(uuid);
+        if (current != null && !current.isExpired(now)) {
+            return current;
+        }
+
+        final SubjectPermissionSnapshot fresh = new SubjectPermissionSnapshot(now + SNAPSHOT_LIFETIME_MILLIS);
+        final boolean replaced = current == null ?
+                this.snapshots.putIfAbsent(uuid, fresh) == null :
+                this.snapshots.replace(uuid, current, fresh);
+        if (replaced && current != null) {
+            // Their permissions may have changed without us being told, so check which audiences they are in again.
+            this.audienceRegistry.markDirty(uuid);
+        }
+        return replaced ? fresh : this.snapshots.getOrDefault(uuid, fresh);
+    }
+
+    @Override
+    public void invalidateSubjectCache(final UUID uuid) {
+        this.snapshots.remove(uuid);
+        this.audienceRegistry.markDirty(uuid);
+    }
+
+    @Override
+    public void invalidateSubjectCache() {
+        this.snapshots.clear();
+        this.audienceRegistry.markAllDirty();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getCachedForSubject(final Subject subject, final String key, final Function<Subject, T> function) {
+        final SubjectPermissionSnapshot snapshot = this.snapshotFor(subject);
+        if (snapshot == null) {
+            return function.apply(subject);
+        }
+
+        final Object cached = snapshot.derived().get(key);
+        if (cached != null) {
+            this.snapshotHits.increment();
+            return (T) cached;
+        }
+
+        this.snapshotMisses.increment();
+        final T result = function.apply(subject);
+        snapshot.derived().put(key, result);
+        return result;
+    }
+
+    @Override
+    public long getSubjectCacheHits() {
+        return this.snapshotHits.sum();
+    }
+
+    @Override
+    public long getSubjectCacheMisses() {
+        return this.snapshotMisses.sum();
+    }
+
     private boolean hasPermission(final Subject subject, final String permission, final boolean checkRole) {
+        final SubjectPermissionSnapshot snapshot = this.snapshotFor(subject);
+        if (snapshot == null) {
+            return this.resolvePermission(subject, permission, checkRole);
+        }
+
+        final Boolean cached = snapshot.permissions().get(permission);
+        if (cached != null) {
+            this.snapshotHits.increment();
+            return cached;
+        }
+
+        this.snapshotMisses.increment();
+        final boolean result = this.resolvePermission(subject, permission, checkRole);
+        snapshot.permissions().put(permission, result);
+        return result;
+    }
+
+    private boolean resolvePermission(final Subject subject, final String permission, final boolean checkRole) {
         final Tristate tristate = this.hasPermissionTristate(subject, permission, checkRole);
         if (tristate == Tristate.UNDEFINED) {
             return subject.hasPermission(permission); // guarantees the correct response.
@@ -241,6 +369,24 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
     }
 
     private Tristate hasPermissionTristate(final Subject subject, final String permission, final boolean checkRole) {
+        final SubjectPermissionSnapshot snapshot = this.snapshotFor(subject);
+        if (snapshot == null) {
+            return this.resolvePermissionTristate(subject, permission, checkRole);
+        }
+
+        final Tristate cached = snapshot.tristates().get(permission);
+        if (cached != null) {
+            this.snapshotHits.increment();
+            return cached;
+        }
+
+        this.snapshotMisses.increment();
+        final Tristate result = this.resolvePermissionTristate(subject, permission, checkRole);
+        snapshot.tristates().put(permission, result);
+        return result;
+    }
+
+    private Tristate resolvePermissionTristate(final Subject subject, final String permission, final boolean checkRole) {
         if (checkRole && permission.startsWith("nucleus.")) {
             final Tristate tristate = subject.permissionValue(permission, subject.contextCause());
             if (tristate == Tristate.UNDEFINED) {
@@ -254,14 +400,13 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
                     }
                 }
 
-                for (final Map.Entry<String, IPermissionService.Metadata> entry : this.prefixMetadataMap.entrySet()) {
-                    if (permission.startsWith(entry.getKey())) {
-                        final String perm = entry.getValue().getSuggestedLevel().getPermission();
-                        if (perm == null) {
-                            return subject.permissionValue(permission, subject.contextCause());
-                        } else {
-                            return subject.permissionValue(perm, subject.contextCause());
-                        }
+                final IPermissionService.@Nullable Metadata prefixResult = this.prefixMetadataTrie.longestPrefixOf(permission);
+                if (prefixResult != null) {
+                    final String perm = prefixResult.getSuggestedLevel().getPermission();
+                    if (perm == null) {
+                        return subject.permissionValue(permission, subject.contextCause());
+                    } else {
+                        return subject.permissionValue(perm, subject.contextCause());
                     }
                 }
 
@@ -320,7 +465,10 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
     }
 
     private void setContext(final UUID uuid, final Context context) {
-        this.standardContexts.computeIfAbsent(uuid, k -> new HashMap<>()).put(context.getKey().toLowerCase(), context);
+        final Context old = this.standardContexts.computeIfAbsent(uuid, k -> new HashMap<>()).put(context.getKey().toLowerCase(), context);
+        if (!context.equals(old)) {
+            this.invalidateSubjectCache(uuid);
+        }
     }
 
     @Override
@@ -328,10 +476,13 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
         if (subject instanceof Identifiable) {
             final UUID uuid = ((Identifiable) subject).uniqueId();
             final Context old = this.standardContexts.computeIfAbsent(uuid, k -> new HashMap<>()).put(context.getKey().toLowerCase(), context);
+            if (!context.equals(old)) {
+                this.invalidateSubjectCache(uuid);
+            }
             return () -> {
                 this.removeContext(uuid, context.getKey().toLowerCase());
                 if (old != null) {
-                    this.setContext(uuid, context);
+                    this.setContext(uuid, old);
                 }
             };
         }
@@ -341,14 +492,16 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
     @Override
     public void removeContext(final UUID subject, final String key) {
         final Map<String, Context> contexts = this.standardContexts.get(subject);
-        if (contexts != null && !contexts.isEmpty()) {
-            contexts.remove(key.toLowerCase());
+        if (contexts != null && !contexts.isEmpty() && contexts.remove(key.toLowerCase()) != null) {
+            this.invalidateSubjectCache(subject);
         }
     }
 
     @Override
     public void removePlayerContexts(final UUID uuid) {
         this.standardContexts.remove(uuid);
+        this.invalidateSubjectCache(uuid);
+        this.audienceRegistry.remove(uuid);
     }
 
     @Override
@@ -0,0 +1,171 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.permission;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.server.ServerPlayer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Tracks which online players have each permission that a message channel has been created
+ * for.
+ *
+ * <p>Players are marked as dirty when their permissions or contexts change, or when they join
+ * or leave. Dirty players are rechecked the next time any membership is requested, so a
+ * request only checks permissions for players that have changed since the last one. When
+ * nothing has changed, the current snapshot is returned without locking.</p>
+ *
+ * <p>Permission plugins don't always tell us when something changes, so every player is
+ * also rechecked once the membership is older than the maximum age.</p>
+ */
+final class PermissionAudienceRegistry {
+
+    private static final ServerPlayer[] EMPTY = new ServerPlayer[0];
+
+    private final BiPredicate<ServerPlayer, String> permissionCheck;
+    private final Map<String, Members> members = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean allDirty = false;
+    private final long maxAgeMillis;
+    private volatile long nextFullRefresh;
+
+    PermissionAudienceRegistry(final BiPredicate<ServerPlayer, String> permissionCheck, final long maxAgeMillis) {
+        this.permissionCheck = permissionCheck;
+        this.maxAgeMillis = maxAgeMillis;
+        this.nextFullRefresh = System.currentTimeMillis() + maxAgeMillis;
+    }
+
+    /**
+     * Gets the online players with the given permission.
+     *
+     * @param permission The permission
+     * @return The players, which must not be modified
+     */
+    List<ServerPlayer> playersWithPermission(final String permission) {
+        Members group = this.members.get(permission);
+        if (group == null) {
+            group = this.track(permission);
+        }
+
+        if (System.currentTimeMillis() >= this.nextFullRefresh) {
+            this.allDirty = true;
+        }
+
+        if (this.allDirty || !this.dirty.isEmpty()) {
+            this.refresh();
+        }
+
+        return group.snapshot;
+    }
+
+    void markDirty(final UUID uuid) {
+        this.dirty.add(uuid);
+    }
+
+    void markAllDirty() {
+        this.allDirty = true;
+    }
+
+    /**
+     * Removes the player from every group immediately, for when they are leaving the server.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    synchronized void remove(final UUID uuid) {
+        this.dirty.remove(uuid);
+        for (final Members group : this.members.values()) {
+            if (group.players.remove(uuid) != null) {
+                group.publish();
+            }
+        }
+    }
+
+    private synchronized Members track(final String permission) {
+        final Members existing = this.members.get(permission);
+        if (existing != null) {
+            return existing;
+        }
+
+        final Members group = new Members(permission);
+        for (final ServerPlayer player : Sponge.server().onlinePlayers()) {
+            group.update(player.uniqueId(), player);
+        }
+        group.publish();
+        this.members.put(permission, group);
+        return group;
+    }
+
+    private synchronized void refresh() {
+        if (this.allDirty) {
+            this.allDirty = false;
+            this.nextFullRefresh = System.currentTimeMillis() + this.maxAgeMillis;
+            this.dirty.clear();
+            for (final Members group : this.members.values()) {
+                group.players.clear();
+                for (final ServerPlayer player : Sponge.server().onlinePlayers()) {
+                    group.update(player.uniqueId(), player);
+                }
+                group.publish();
+            }
+            return;
+        }
+
+        final Iterator<UUID> iterator = this.dirty.iterator();
+        while (iterator.hasNext()) {
+            final UUID uuid = iterator.next();
+            iterator.remove();
+            final ServerPlayer player = Sponge.server().player(uuid).orElse(null);
+            for (final Members group : this.members.values()) {
+                if (group.update(uuid, player)) {
+                    group.publish();
+                }
+            }
+        }
+    }
+
+    private final class Members {
+
+        private final String permission;
+        // Only accessed while holding the registry lock.
+        private final Map<UUID, ServerPlayer> players = new LinkedHashMap<>();
+        private volatile List<ServerPlayer> snapshot = Collections.emptyList();
+
+        private Members(final String permission) {
+            this.permission = permission;
+        }
+
+        /**
+         * Checks the player, who is null if they are offline.
+         *
+         * @return true if membership changed
+         */
+        private boolean update(final UUID uuid, @Nullable final ServerPlayer player) {
+            if (player != null && player.isOnline()
+                    && PermissionAudienceRegistry.this.permissionCheck.test(player, this.permission)) {
+                return this.players.put(uuid, player) != player;
+            }
+
+            return this.players.remove(uuid) != null;
+        }
+
+        private void publish() {
+            this.snapshot = this.players.isEmpty() ?
+                    Collections.emptyList() :
+                    Collections.unmodifiableList(Arrays.asList(this.players.values().toArray(EMPTY)));
+        }
+    }
+
+}
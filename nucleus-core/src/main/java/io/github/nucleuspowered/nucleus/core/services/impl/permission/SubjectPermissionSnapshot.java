@@ -0,0 +1,77 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.permission;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The permission and option results that have been resolved for an online subject.
+ *
+ * <p>A snapshot is never cleared, it is discarded and replaced when the subject's data or
+ * contexts change. A lookup that races with that replacement can only write into the discarded
+ * snapshot.</p>
+ */
+final class SubjectPermissionSnapshot {
+
+    static final CachedOption UNSET = new CachedOption(false, null);
+
+    private final long expiresAt;
+    private final Map<String, Boolean> permissions = new ConcurrentHashMap<>();
+    private final Map<String, Tristate> tristates = new ConcurrentHashMap<>();
+    private final Map<String, CachedOption> options = new ConcurrentHashMap<>();
+    private final Map<String, Object> derived = new ConcurrentHashMap<>();
+
+    SubjectPermissionSnapshot(final long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(final long now) {
+        return now >= this.expiresAt;
+    }
+
+    Map<String, Boolean> permissions() {
+        return this.permissions;
+    }
+
+    Map<String, Tristate> tristates() {
+        return this.tristates;
+    }
+
+    Map<String, CachedOption> options() {
+        return this.options;
+    }
+
+    Map<String, Object> derived() {
+        return this.derived;
+    }
+
+    /**
+     * The result of looking up a single option. An option that is set to an empty string is
+     * set, but has no value.
+     */
+    static final class CachedOption {
+
+        private final boolean isSet;
+        @Nullable private final String value;
+
+        CachedOption(final boolean isSet, @Nullable final String value) {
+            this.isSet = isSet;
+            this.value = value;
+        }
+
+        boolean isSet() {
+            return this.isSet;
+        }
+
+        @Nullable String getValue() {
+            return this.value;
+        }
+    }
+
+}
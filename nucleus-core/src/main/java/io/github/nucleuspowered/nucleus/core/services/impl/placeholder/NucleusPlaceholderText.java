@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.core.services.impl.placeholder;
 import io.github.nucleuspowered.nucleus.core.util.AdventureUtils;
 import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.placeholder.PlaceholderComponent;
 import org.spongepowered.api.placeholder.PlaceholderContext;
 import org.spongepowered.api.placeholder.PlaceholderParser;
@@ -19,11 +20,18 @@ public class NucleusPlaceholderText implements PlaceholderComponent {
     private final PlaceholderContext context;
     private final PlaceholderParser parser;
     private final Collection<Function<Component, Component>> modifiers;
+    @Nullable private final PlaceholderRenderStatistics statistics;
 
     public NucleusPlaceholderText(final PlaceholderContext context, final PlaceholderParser parser, final Collection<Function<Component, Component>> modifiers) {
+        this(context, parser, modifiers, null);
+    }
+
+    public NucleusPlaceholderText(final PlaceholderContext context, final PlaceholderParser parser,
+            final Collection<Function<Component, Component>> modifiers, @Nullable final PlaceholderRenderStatistics statistics) {
         this.context = context;
         this.parser = parser;
         this.modifiers = modifiers;
+        this.statistics = statistics;
     }
 
     @Override
@@ -38,7 +46,11 @@ public class NucleusPlaceholderText implements PlaceholderComponent {
 
     @Override
     public @NonNull Component asComponent() {
+        final long start = this.statistics == null ? 0 : System.nanoTime();
         Component result = this.parser.parse(this.context);
+        if (this.statistics != null) {
+            this.statistics.record(System.nanoTime() - start);
+        }
         if (!AdventureUtils.isEmpty(result)) {
             for (final Function<Component, Component> modifier : this.modifiers) {
                 result = modifier.apply(result);
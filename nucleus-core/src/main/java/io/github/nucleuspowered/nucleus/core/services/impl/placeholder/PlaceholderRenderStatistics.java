@@ -0,0 +1,44 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.placeholder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how many times a placeholder has been rendered, and how long it took.
+ */
+public final class PlaceholderRenderStatistics {
+
+    private final String token;
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    PlaceholderRenderStatistics(final String token) {
+        this.token = token;
+    }
+
+    void record(final long elapsedNanos) {
+        this.renders.increment();
+        this.nanos.add(elapsedNanos);
+    }
+
+    public String getToken() {
+        return this.token;
+    }
+
+    public long getRenderCount() {
+        return this.renders.sum();
+    }
+
+    public long getTotalNanos() {
+        return this.nanos.sum();
+    }
+
+    public double getAverageNanos() {
+        final long count = this.renders.sum();
+        return count == 0 ? 0 : (double) this.nanos.sum() / count;
+    }
+
+}
@@ -4,6 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.placeholder;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.nucleuspowered.nucleus.core.Util;
@@ -39,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -52,6 +55,12 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
     private final PlaceholderParser optionParser;
     private final PlaceholderParser emptyParser;
     private final Map<String, PlaceholderMetadata> parsers = new HashMap<>();
+    private final Map<String, PlaceholderRenderStatistics> statistics = new ConcurrentHashMap<>();
+
+    // Tokens are parsed once, after which only the context is created on each render.
+    private final Cache<String, TokenDescriptor> descriptors = Caffeine.newBuilder()
+            .maximumSize(2048)
+            .build();
 
     static {
         SEPARATOR = buildModifiers();
@@ -143,6 +152,32 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
 
     @Override
     public ComponentLike parse(@Nullable final Object commandSource, final String input) {
+        TokenDescriptor descriptor = this.descriptors.getIfPresent(input);
+        if (descriptor == null) {
+            descriptor = this.createDescriptor(input);
+            if (descriptor.cacheable) {
+                this.descriptors.put(input, descriptor);
+            }
+        }
+
+        final PlaceholderContext context;
+        if (descriptor.isOption) {
+            if (commandSource instanceof Subject) {
+                context = this.contextForSubjectAndOption((Subject) commandSource, descriptor.argument);
+            } else {
+                return Component.empty();
+            }
+        } else {
+            context = PlaceholderContext.builder()
+                    .associatedObject(commandSource)
+                    .argumentString(descriptor.argument)
+                    .build();
+        }
+
+        return new NucleusPlaceholderText(context, descriptor.parser, descriptor.modifiers, descriptor.statistics);
+    }
+
+    private TokenDescriptor createDescriptor(final String input) {
         String token = input.toLowerCase().trim().replace("{{", "").replace("}}", "");
         final Matcher m = SUFFIX_PATTERN.matcher(token);
         final List<Function<Component, Component>> modifiersCollection;
@@ -155,33 +190,32 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
                 }
             }
 
-            token = token.replaceAll(SUFFIX_PATTERN.pattern(), "");
+            token = token.substring(0, m.start());
         } else {
             modifiersCollection = Collections.emptyList();
         }
 
-        final PlaceholderParser parser;
-        final PlaceholderContext context;
         if (token.startsWith("o:")) {
-            if (commandSource instanceof Subject) {
-                // option
-                parser = this.optionParser;
-                context = this.contextForSubjectAndOption((Subject) commandSource, token.substring(2));
-            } else {
-                return Component.empty();
-            }
-        } else {
-            final String[] s = token.split("\\|", 2);
-            final String tokenIn = s[0].toLowerCase();
-            final String arg = s.length == 2 ? s[1] : null;
-            context = PlaceholderContext.builder()
-                    .associatedObject(commandSource)
-                    .argumentString(arg)
-                    .build();
-            parser = this.getParser(tokenIn).orElse(this.emptyParser);
+            return new TokenDescriptor(this.optionParser, token.substring(2), true, modifiersCollection, this.statisticsFor("o"), true);
         }
 
-        return new NucleusPlaceholderText(context, parser, modifiersCollection);
+        final String[] s = token.split("\\|", 2);
+        final String tokenIn = s[0].toLowerCase();
+        final String arg = s.length == 2 ? s[1] : null;
+        final Optional<PlaceholderParser> parser = this.getParser(tokenIn);
+        // Nucleus tokens that are registered later clear the cache, but we aren't told when other plugins register
+        // parsers with Sponge, so namespaced tokens that can't be found yet are looked up again next time.
+        return new TokenDescriptor(parser.orElse(this.emptyParser), arg, false, modifiersCollection,
+                parser.isPresent() ? this.statisticsFor(tokenIn) : null, parser.isPresent() || !tokenIn.contains(":"));
+    }
+
+    private PlaceholderRenderStatistics statisticsFor(final String token) {
+        return this.statistics.computeIfAbsent(token, PlaceholderRenderStatistics::new);
+    }
+
+    @Override
+    public Map<String, PlaceholderRenderStatistics> getRenderStatistics() {
+        return Collections.unmodifiableMap(this.statistics);
     }
 
     @Override
@@ -202,6 +236,8 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
         final String token = tokenName.toLowerCase();
         if (!this.parsers.containsKey(token)) {
             this.parsers.put(token, new PlaceholderMetadata(token, parser, document, isDuplicate));
+            // Any token that was parsed before this was registered will have been given the empty parser.
+            this.descriptors.invalidateAll();
         } else {
             throw new IllegalStateException("Token " + tokenName.toLowerCase() + " has already been registered.");
         }
@@ -242,6 +278,31 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
 
     // --
 
+    private static final class TokenDescriptor {
+
+        private final PlaceholderParser parser;
+        @Nullable private final String argument;
+        private final boolean isOption;
+        private final List<Function<Component, Component>> modifiers;
+        @Nullable private final PlaceholderRenderStatistics statistics;
+        private final boolean cacheable;
+
+        private TokenDescriptor(
+                final PlaceholderParser parser,
+                @Nullable final String argument,
+                final boolean isOption,
+                final List<Function<Component, Component>> modifiers,
+                @Nullable final PlaceholderRenderStatistics statistics,
+                final boolean cacheable) {
+            this.parser = parser;
+            this.argument = argument;
+            this.isOption = isOption;
+            this.modifiers = Collections.unmodifiableList(modifiers);
+            this.statistics = statistics;
+            this.cacheable = cacheable;
+        }
+    }
+
     private static ServerWorldProperties getWorld(final PlaceholderContext placeholder) {
         return placeholder.associatedObject()
                 .filter(x -> x instanceof Locatable)
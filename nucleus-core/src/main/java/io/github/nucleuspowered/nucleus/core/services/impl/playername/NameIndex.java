@@ -0,0 +1,111 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.playername;
+
+import io.github.nucleuspowered.nucleus.core.util.PrefixTrie;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The names and nicknames of online players, indexed by their lower case form so that names
+ * can be completed by prefix without scanning every player.
+ */
+final class NameIndex {
+
+    private final PrefixTrie<Map<UUID, String>> trie = new PrefixTrie<>();
+    private final Map<UUID, String> names = new HashMap<>();
+    private final Map<UUID, String> nicknames = new HashMap<>();
+
+    private static String fold(final String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    synchronized void setName(final UUID uuid, @Nullable final String name) {
+        this.replace(this.names, this.nicknames, uuid, name);
+    }
+
+    synchronized void setNickname(final UUID uuid, @Nullable final String nickname) {
+        this.replace(this.nicknames, this.names, uuid, nickname == null || nickname.isEmpty() ? null : nickname);
+    }
+
+    synchronized void remove(final UUID uuid) {
+        this.replace(this.names, this.nicknames, uuid, null);
+        this.replace(this.nicknames, this.names, uuid, null);
+    }
+
+    /**
+     * Gets the players with a name or nickname that starts with the prefix, ignoring case.
+     *
+     * @param prefix The prefix
+     * @return The players, and their names that matched
+     */
+    synchronized Map<UUID, List<String>> startsWith(final String prefix) {
+        final Map<UUID, List<String>> result = new HashMap<>();
+        this.trie.forEachWithPrefix(fold(prefix), (key, players) ->
+                players.forEach((uuid, name) -> result.computeIfAbsent(uuid, x -> new ArrayList<>(2)).add(name)));
+        return result;
+    }
+
+    /**
+     * Gets the player with the name or nickname, ignoring case. A player whose name matches
+     * is preferred over one whose nickname matches.
+     *
+     * @param name The name
+     * @return The {@link UUID} of the player, if there is one
+     */
+    synchronized Optional<UUID> exactMatch(final String name) {
+        final Map<UUID, String> players = this.trie.get(fold(name));
+        if (players == null) {
+            return Optional.empty();
+        }
+
+        for (final UUID uuid : players.keySet()) {
+            final String realName = this.names.get(uuid);
+            if (realName != null && realName.equalsIgnoreCase(name)) {
+                return Optional.of(uuid);
+            }
+        }
+
+        return players.keySet().stream().findFirst();
+    }
+
+    private void replace(final Map<UUID, String> map, final Map<UUID, String> other, final UUID uuid, @Nullable final String name) {
+        final String previous = name == null ? map.remove(uuid) : map.put(uuid, name);
+        if (previous != null) {
+            final String key = fold(previous);
+            final Map<UUID, String> players = this.trie.get(key);
+            if (players != null) {
+                // The player's other name may be the same once case is ignored.
+                final String otherName = other.get(uuid);
+                if (otherName != null && fold(otherName).equals(key)) {
+                    players.put(uuid, otherName);
+                } else {
+                    players.remove(uuid);
+                    if (players.isEmpty()) {
+                        this.trie.remove(key);
+                    }
+                }
+            }
+        }
+
+        if (name != null) {
+            Map<UUID, String> players = this.trie.get(fold(name));
+            if (players == null) {
+                players = new LinkedHashMap<>(2);
+                this.trie.put(fold(name), players);
+            }
+            players.put(uuid, name);
+        }
+    }
+
+}
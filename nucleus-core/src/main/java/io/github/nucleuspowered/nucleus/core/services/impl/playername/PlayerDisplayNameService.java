@@ -4,6 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.playername;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.nucleuspowered.nucleus.core.Constants;
@@ -22,21 +24,28 @@ import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextColor;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Server;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.SystemSubject;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.entity.living.player.server.ServerPlayer;
+import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.util.Nameable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 @Singleton
@@ -44,11 +53,34 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
 
     private final LinkedHashSet<DisplayNameResolver> resolvers = new LinkedHashSet<>();
     private final LinkedHashSet<DisplayNameQuery> queries = new LinkedHashSet<>();
+    private final NameIndex nameIndex = new NameIndex();
 
     private final IMessageProviderService messageProviderService;
     private final IPermissionService permissionService;
     private final ITextStyleService textStyleService;
 
+    // Display names are invalidated when nicknames, options or resolvers change, the expiry
+    // is a backstop for anything else that might affect them.
+    private final Cache<UUID, Component> displayNames = Caffeine.newBuilder()
+            .maximumSize(2048)
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .build();
+    private final Map<UUID, CompletableFuture<Component>> loading = new ConcurrentHashMap<>();
+
+    // Incremented on every invalidation, which records the new value against the player, or as
+    // allInvalidatedAt for everyone. A load that started before an invalidation of its player may
+    // have used out of date information, so it does not get to cache its result. Loads don't take
+    // anywhere near as long as the expiry, so older invalidations can be forgotten.
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<UUID, Long> invalidatedAt = Caffeine.newBuilder()
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .build();
+    private volatile long allInvalidatedAt = 0;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
     private String commandNameOnClick = null;
 
     private Function<Subject, String> colourFromTemplateSupplier = subject -> "";
@@ -64,16 +96,19 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
     @Override
     public void supplyColourFromTemplateSupplier(final Function<Subject, String> colourFromTemplateSupplier) {
         this.colourFromTemplateSupplier = colourFromTemplateSupplier;
+        this.invalidateDisplayNames();
     }
 
     @Override
     public void supplyStyleFromTemplateSupplier(final Function<Subject, String> styleFromTemplateSupplier) {
         this.styleFromTemplateSupplier = styleFromTemplateSupplier;
+        this.invalidateDisplayNames();
     }
 
     @Override
     public void provideDisplayNameResolver(final DisplayNameResolver resolver) {
         this.resolvers.add(resolver);
+        this.invalidateDisplayNames();
     }
 
     @Override
@@ -83,9 +118,13 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
 
     @Override
     public Optional<User> getUser(final String displayName) {
-        final Optional<User> withRealName = Sponge.server().userManager().load(displayName).join();
-        if (withRealName.isPresent()) {
-            return withRealName;
+        // Online players first, as we don't need to load anything for them. Nicknames can't be
+        // another player's name, so the order doesn't change who gets matched.
+        final Optional<User> online = this.nameIndex.exactMatch(displayName)
+                .flatMap(uuid -> Sponge.server().player(uuid))
+                .map(ServerPlayer::user);
+        if (online.isPresent()) {
+            return online;
         }
 
         for (final DisplayNameQuery query : this.queries) {
@@ -95,20 +134,12 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
             }
         }
 
-        return Optional.empty();
+        return Sponge.server().userManager().load(displayName).join();
     }
 
     @Override
     public Map<UUID, List<String>> startsWith(final String displayName) {
-        final Map<UUID, List<String>> uuids = new HashMap<>();
-        Sponge.server().onlinePlayers().stream()
-            .filter(x -> x.name().toLowerCase().startsWith(displayName.toLowerCase()))
-            .forEach(x -> {
-                final List<String> names = new ArrayList<>();
-                names.add(x.name());
-                uuids.put(x.uniqueId(), names);
-            });
-
+        final Map<UUID, List<String>> uuids = this.nameIndex.startsWith(displayName);
         for (final DisplayNameQuery query : this.queries) {
             query.startsWith(displayName).forEach(
                     (uuid, name) -> uuids.computeIfAbsent(uuid, x -> new ArrayList<>()).add(name)
@@ -118,6 +149,21 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
         return uuids;
     }
 
+    @Override
+    public void addToNameIndex(final ServerPlayer player) {
+        this.nameIndex.setName(player.uniqueId(), player.name());
+    }
+
+    @Override
+    public void setIndexedNickname(final UUID uuid, @Nullable final String nickname) {
+        this.nameIndex.setNickname(uuid, nickname);
+    }
+
+    @Override
+    public void removeFromNameIndex(final UUID uuid) {
+        this.nameIndex.remove(uuid);
+    }
+
     @Override
     public Optional<User> getUser(final Component displayName) {
         return this.getUser(displayName.toString());
@@ -125,18 +171,146 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
 
     @Override
     public Component getDisplayName(final UUID playerUUID) {
-        final TextComponent.Builder builder;
         if (playerUUID.equals(Util.CONSOLE_FAKE_UUID)) {
             return this.getName(Sponge.systemSubject());
         }
-       final User user = Sponge.server()
+
+        final Component cached = this.displayNames.getIfPresent(playerUUID);
+        if (cached != null) {
+            this.cacheHits.increment();
+            return cached;
+        }
+
+        this.cacheMisses.increment();
+        final Optional<ServerPlayer> player = Sponge.server().player(playerUUID);
+        if (player.isPresent()) {
+            return this.loadDisplayName(player.get().user(), this.generation.get());
+        }
+
+        // Offline, so don't block on loading the user if we can avoid it. The name is
+        // good enough until the user has loaded.
+        final Optional<String> knownName = Sponge.server().gameProfileManager().cache().findById(playerUUID).flatMap(GameProfile::name);
+        if (knownName.isPresent()) {
+            this.getDisplayNameAsync(playerUUID);
+            final TextComponent.Builder builder = Component.text().content(knownName.get());
+            this.addCommandToNameInternal(builder, knownName.get());
+            return builder.build();
+        }
+
+        try {
+            return this.getDisplayNameAsync(playerUUID).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Component> getDisplayNameAsync(final UUID playerUUID) {
+        if (playerUUID.equals(Util.CONSOLE_FAKE_UUID)) {
+            return CompletableFuture.completedFuture(this.getName(Sponge.systemSubject()));
+        }
+
+        final Component cached = this.displayNames.getIfPresent(playerUUID);
+        if (cached != null) {
+            this.cacheHits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        final CompletableFuture<Component> existing = this.loading.get(playerUUID);
+        if (existing != null) {
+            return existing;
+        }
+
+        final CompletableFuture<Component> future = new CompletableFuture<>();
+        final CompletableFuture<Component> raced = this.loading.putIfAbsent(playerUUID, future);
+        if (raced != null) {
+            return raced;
+        }
+
+        // The user may already be loaded, in which case this completes straight away, so it must not be
+        // started from within an operation on the loading map.
+        final long loadGeneration = this.generation.get();
+        Sponge.server()
                 .userManager()
                 .load(playerUUID)
-               .join()
-                .orElseThrow(() -> new IllegalArgumentException("UUID does not map to a player"));
+                .thenApply(user -> this.loadDisplayName(
+                        user.orElseThrow(() -> new IllegalArgumentException("UUID does not map to a player")), loadGeneration))
+                .whenComplete((result, exception) -> {
+                    this.loading.remove(playerUUID, future);
+                    if (exception == null) {
+                        future.complete(result);
+                    } else {
+                        future.completeExceptionally(exception);
+                    }
+                });
+        return future;
+    }
+
+    @Override
+    public void invalidateDisplayName(final UUID playerUUID) {
+        this.invalidatedAt.put(playerUUID, this.generation.incrementAndGet());
+        this.loading.remove(playerUUID);
+        this.displayNames.invalidate(playerUUID);
+    }
+
+    @Override
+    public void invalidateDisplayNames() {
+        final long at = this.generation.incrementAndGet();
+        this.allInvalidatedAt = at;
+        this.invalidatedAt.asMap().values().removeIf(x -> x <= at);
+        this.loading.clear();
+        this.displayNames.invalidateAll();
+    }
+
+    @Override
+    public long getDisplayNameCacheHits() {
+        return this.cacheHits.sum();
+    }
+
+    @Override
+    public long getDisplayNameCacheMisses() {
+        return this.cacheMisses.sum();
+    }
+
+    @Override
+    public long getDisplayNameLoads() {
+        return this.loads.sum();
+    }
+
+    @Override
+    public long getDisplayNameLoadNanos() {
+        return this.loadNanos.sum();
+    }
+
+    private Component loadDisplayName(final User user, final long loadGeneration) {
+        final long start = System.nanoTime();
+        final Component displayName = this.createDisplayName(user);
+        this.loads.increment();
+        this.loadNanos.add(System.nanoTime() - start);
+        // Checked while holding the entry, so an invalidation either happens first and stops the put,
+        // or happens afterwards and removes it. If this load is out of date, any newer value is kept.
+        this.displayNames.asMap().compute(user.uniqueId(),
+                (uuid, current) -> this.isCurrent(uuid, loadGeneration) ? displayName : current);
+        return displayName;
+    }
+
+    private boolean isCurrent(final UUID uuid, final long loadGeneration) {
+        if (loadGeneration < this.allInvalidatedAt) {
+            return false;
+        }
+
+        final Long invalidated = this.invalidatedAt.getIfPresent(uuid);
+        return invalidated == null || loadGeneration >= invalidated;
+    }
+
+    private Component createDisplayName(final User user) {
+        final TextComponent.Builder builder;
         Component userName = null;
         for (final DisplayNameResolver resolver : this.resolvers) {
-            final Optional<Component> optionalUserName = resolver.resolve(playerUUID);
+            final Optional<Component> optionalUserName = resolver.resolve(user.uniqueId());
             if (optionalUserName.isPresent()) {
                 userName = optionalUserName.get();
                 break;
@@ -220,6 +394,17 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
         if (uuid == Util.CONSOLE_FAKE_UUID) {
             return Component.text("Server");
         }
+
+        final Optional<ServerPlayer> player = Sponge.server().player(uuid);
+        if (player.isPresent()) {
+            return Component.text(player.get().name());
+        }
+
+        final Optional<String> knownName = Sponge.server().gameProfileManager().cache().findById(uuid).flatMap(GameProfile::name);
+        if (knownName.isPresent()) {
+            return Component.text(knownName.get());
+        }
+
         return Component.text(Sponge.server().userManager().load(uuid)
                         .join()
                         .map(User::name).orElse("unknown"));
@@ -278,6 +463,7 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
 
     @Override
     public void onReload(final INucleusServiceCollection serviceCollection) {
+        this.invalidateDisplayNames();
         this.commandNameOnClick = serviceCollection.configProvider().getModuleConfig(CoreConfig.class).getCommandOnNameClick();
         if (this.commandNameOnClick == null || this.commandNameOnClick.isEmpty()) {
             return;
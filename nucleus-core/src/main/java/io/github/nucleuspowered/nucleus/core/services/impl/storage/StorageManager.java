@@ -17,6 +17,7 @@ import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.m
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.modular.UserDataObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.modular.WorldDataObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.persistence.FlatFileStorageRepositoryFactory;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.persistence.MVStoreStorageRepositoryFactory;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IUserQueryObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IWorldQueryObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.services.SingleCachedService;
@@ -25,6 +26,7 @@ import io.github.nucleuspowered.nucleus.core.services.impl.storage.services.Worl
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IConfigProvider;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IConfigurateHelper;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IDataVersioning;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.storage.IStorageModule;
 import io.github.nucleuspowered.storage.dataaccess.IDataTranslator;
@@ -32,6 +34,7 @@ import io.github.nucleuspowered.storage.dataobjects.IDataObject;
 import io.github.nucleuspowered.storage.persistence.IStorageRepository;
 import io.github.nucleuspowered.storage.persistence.IStorageRepositoryFactory;
 import io.github.nucleuspowered.storage.services.IStorageService;
+import io.github.nucleuspowered.storage.services.StorageWriteScheduler;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
@@ -54,6 +57,8 @@ import java.util.function.Supplier;
 public final class StorageManager implements IStorageManager {
 
     private final FlatFileStorageRepositoryFactory flatFileStorageRepositoryFactory;
+    private final MVStoreStorageRepositoryFactory mvStoreStorageRepositoryFactory;
+    private final StorageWriteScheduler writeScheduler;
     private final IConfigurateHelper configurateHelper;
     private final IConfigProvider configProvider;
     private final IStorageService.SingleCached<IGeneralDataObject> generalService;
@@ -68,18 +73,24 @@ public final class StorageManager implements IStorageManager {
             final IConfigurateHelper configurateHelper,
             final IConfigProvider configProvider,
             final IDataVersioning dataVersioning,
+            final IMetricsService metricsService,
             final PluginContainer pluginContainer) {
-        this.flatFileStorageRepositoryFactory = new FlatFileStorageRepositoryFactory(dataDirectory, logger);
+        this.writeScheduler = new StorageWriteScheduler(pluginContainer);
+        this.flatFileStorageRepositoryFactory = new FlatFileStorageRepositoryFactory(dataDirectory, logger, this.writeScheduler);
+        this.mvStoreStorageRepositoryFactory = new MVStoreStorageRepositoryFactory(dataDirectory, logger, this.writeScheduler);
         this.configurateHelper = configurateHelper;
         this.configProvider = configProvider;
-        this.userService = new UserService(this, pluginContainer, dataVersioning);
-        this.worldService = new WorldService(this, pluginContainer, dataVersioning);
+        this.userService = new UserService(this, pluginContainer, dataVersioning, metricsService, logger);
+        this.worldService = new WorldService(this, pluginContainer, dataVersioning, metricsService, logger);
         this.generalService = new SingleCachedService<>(
                 this::getGeneralRepository,
                 this::getGeneralDataAccess,
                 pluginContainer,
                 dataVersioning::setVersion,
                 dataVersioning::migrate);
+        metricsService.registerGauge("storage.write.queue", this.writeScheduler::getQueueDepth);
+        metricsService.registerGauge("storage.write.files", this.writeScheduler::getTotalFilesWritten);
+        metricsService.registerGauge("storage.write.bytes", this.writeScheduler::getTotalBytesWritten);
     }
 
     @Override
@@ -87,6 +98,11 @@ public final class StorageManager implements IStorageManager {
         return this.flatFileStorageRepositoryFactory;
     }
 
+    @Override
+    public StorageWriteScheduler getWriteScheduler() {
+        return this.writeScheduler;
+    }
+
     // ugh
     @Override
     @SuppressWarnings("unchecked")
@@ -222,8 +238,18 @@ public final class StorageManager implements IStorageManager {
     @Override
     public void attachAll() {
         this.detachAll();
-        // TODO: attach based on core config
         final CoreConfig config = this.configProvider.getCoreConfig();
+        if (config.getStorageEngine() == CoreConfig.StorageEngine.MVSTORE) {
+            this.mvStoreStorageRepositoryFactory.migrateFrom(this.flatFileStorageRepositoryFactory);
+            this.attach(this.mvStoreStorageRepositoryFactory);
+        }
+    }
+
+    private void attach(final IStorageRepositoryFactory factory) {
+        this.userRepository = factory.userRepository();
+        this.worldRepository = factory.worldRepository();
+        this.generalRepository = factory.generalRepository();
+        this.additionalStorageServices.values().forEach(x -> x.setRepository(factory));
     }
 
     @Override
@@ -248,6 +274,7 @@ public final class StorageManager implements IStorageManager {
         this.userRepository = null;
 
         this.additionalStorageServices.values().forEach(IStorageModule::detach);
+        this.mvStoreStorageRepositoryFactory.shutdown();
     }
 
 
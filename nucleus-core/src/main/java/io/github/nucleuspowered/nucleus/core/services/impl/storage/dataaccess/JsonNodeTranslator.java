@@ -0,0 +1,110 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.storage.dataaccess;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Translates between Gson trees and {@link ConfigurationNode}s directly, without printing
+ * either to a string and parsing it again.
+ *
+ * <p>Values are mapped in the same way as the Configurate Gson loader, so the result of a round trip
+ * is the same as going through the loader.</p>
+ */
+public final class JsonNodeTranslator {
+
+    private JsonNodeTranslator() {}
+
+    /**
+     * Copies the supplied {@link JsonElement} into the supplied {@link ConfigurationNode}.
+     *
+     * @param element The element to copy
+     * @param node The node to copy into
+     * @throws SerializationException if a value could not be set
+     */
+    public static void toNode(final JsonElement element, final ConfigurationNode node) throws SerializationException {
+        if (element.isJsonObject()) {
+            final JsonObject object = element.getAsJsonObject();
+            if (object.size() == 0) {
+                node.raw(Collections.emptyMap());
+            } else {
+                for (final Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                    JsonNodeTranslator.toNode(entry.getValue(), node.node(entry.getKey()));
+                }
+            }
+        } else if (element.isJsonArray()) {
+            final JsonArray array = element.getAsJsonArray();
+            if (array.size() == 0) {
+                node.raw(Collections.emptyList());
+            } else {
+                for (final JsonElement entry : array) {
+                    JsonNodeTranslator.toNode(entry, node.appendListNode());
+                }
+            }
+        } else if (element.isJsonPrimitive()) {
+            final JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                node.raw(primitive.getAsBoolean());
+            } else if (primitive.isNumber()) {
+                final double nextDouble = primitive.getAsDouble();
+                final int nextInt = (int) nextDouble;
+                final long nextLong = (long) nextDouble;
+                if (nextInt == nextDouble) {
+                    node.raw(nextInt);
+                } else if (nextLong == nextDouble) {
+                    node.raw(nextLong);
+                } else {
+                    node.raw(nextDouble);
+                }
+            } else {
+                node.raw(primitive.getAsString());
+            }
+        } else {
+            node.raw(null);
+        }
+    }
+
+    /**
+     * Creates a {@link JsonElement} that represents the supplied {@link ConfigurationNode}.
+     *
+     * @param node The node
+     * @return The {@link JsonElement}
+     */
+    public static JsonElement fromNode(final ConfigurationNode node) {
+        if (node.isMap()) {
+            final JsonObject object = new JsonObject();
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) {
+                object.add(String.valueOf(entry.getKey()), JsonNodeTranslator.fromNode(entry.getValue()));
+            }
+            return object;
+        } else if (node.isList()) {
+            final JsonArray array = new JsonArray();
+            for (final ConfigurationNode entry : node.childrenList()) {
+                array.add(JsonNodeTranslator.fromNode(entry));
+            }
+            return array;
+        }
+
+        final Object value = node.rawScalar();
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        } else if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        } else if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        }
+        return new JsonPrimitive(value.toString());
+    }
+
+}
@@ -4,8 +4,14 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.configurate;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataaccess.JsonNodeTranslator;
 import org.spongepowered.configurate.ConfigurationNode;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Indicates that this is the basic object for saving data with
  */
@@ -13,12 +19,50 @@ public abstract class AbstractConfigurateBackedDataObject implements IConfigurat
 
     protected ConfigurationNode backingNode;
 
-    @Override public ConfigurationNode getBackingNode() {
+    // The json form of each top level child of the backing node, shared between snapshots
+    // until that child is changed.
+    private final Map<Object, JsonElement> snapshotCache = new HashMap<>();
+
+    @Override public synchronized ConfigurationNode getBackingNode() {
         return this.backingNode.copy();
     }
 
-    @Override public void setBackingNode(final ConfigurationNode node) {
+    @Override public synchronized void setBackingNode(final ConfigurationNode node) {
         this.backingNode = node;
+        this.snapshotCache.clear();
+    }
+
+    @Override public synchronized JsonObject createSnapshot() {
+        final JsonObject snapshot = new JsonObject();
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : this.backingNode.childrenMap().entrySet()) {
+            final JsonElement element = this.snapshotCache.computeIfAbsent(entry.getKey(), k -> JsonNodeTranslator.fromNode(entry.getValue()));
+            snapshot.add(String.valueOf(entry.getKey()), element);
+        }
+        if (this.snapshotCache.size() > snapshot.size()) {
+            this.snapshotCache.keySet().removeIf(x -> !snapshot.has(String.valueOf(x)));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Indicates that the top level child of the backing node with the given key has changed, and must be
+     * serialised again when the next snapshot is taken.
+     *
+     * <p>Callers that change the backing node must hold the lock on this object.</p>
+     *
+     * @param key The key of the child that has changed
+     */
+    protected final void invalidateSnapshot(final Object key) {
+        this.snapshotCache.remove(key);
+    }
+
+    /**
+     * Indicates that any part of the backing node may have changed.
+     *
+     * <p>Callers that change the backing node must hold the lock on this object.</p>
+     */
+    protected final void invalidateSnapshot() {
+        this.snapshotCache.clear();
     }
 
 }
@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.configurate;
 
+import com.google.gson.JsonObject;
 import io.github.nucleuspowered.storage.dataobjects.IDataObject;
 import org.spongepowered.configurate.ConfigurationNode;
 
@@ -12,4 +13,14 @@ public interface IConfigurateBackedDataObject extends IDataObject {
     ConfigurationNode getBackingNode();
 
     void setBackingNode(ConfigurationNode node);
+
+    /**
+     * Gets a json view of the data in this object as it is at this moment.
+     *
+     * <p>Parts of this view that have not changed since the last snapshot are shared with that
+     * snapshot, rather than copied. The returned object must therefore be treated as read only.</p>
+     *
+     * @return The snapshot
+     */
+    JsonObject createSnapshot();
 }
@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.storage.persistence;
 
+import com.google.common.util.concurrent.Striped;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
@@ -15,6 +16,7 @@ import io.github.nucleuspowered.storage.exceptions.DataQueryException;
 import io.github.nucleuspowered.storage.exceptions.DataSaveException;
 import io.github.nucleuspowered.storage.persistence.IStorageRepository;
 import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
+import io.github.nucleuspowered.storage.services.StorageWriteScheduler;
 import io.github.nucleuspowered.storage.util.KeyedObject;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.ResourceKey;
@@ -22,6 +24,8 @@ import org.spongepowered.api.ResourceKey;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,26 +35,30 @@ import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 abstract class FlatFileStorageRepository implements IStorageRepository {
 
     private final Logger logger;
+    private final StorageWriteScheduler writeScheduler;
 
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
-    protected FlatFileStorageRepository(final Logger logger) {
+    // Files are independent, so writes only need to be serialised per file.
+    private static final Striped<Lock> FILE_LOCKS = Striped.lock(64);
+
+    protected FlatFileStorageRepository(final Logger logger, final StorageWriteScheduler writeScheduler) {
         this.logger = logger;
+        this.writeScheduler = writeScheduler;
     }
 
     Optional<JsonObject> get(@Nullable final Path path) throws DataLoadException {
@@ -61,9 +69,7 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
                 }
                 // Read the file.
                 try (final BufferedReader reader = Files.newBufferedReader(path)) {
-                    return Optional.of(new JsonParser()
-                            .parse(reader.lines().collect(Collectors.joining()))
-                            .getAsJsonObject());
+                    return Optional.of(new JsonParser().parse(reader).getAsJsonObject());
                 }
             } catch (final Exception e) {
                 throw new DataLoadException("Could not load file at " + path.toAbsolutePath().toString(), e);
@@ -73,22 +79,30 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
         return Optional.empty();
     }
 
-    synchronized void save(final Path file, final JsonObject object) throws DataSaveException {
+    void save(final Path file, final JsonObject object) throws DataSaveException {
+        final Lock lock = FILE_LOCKS.get(file.toAbsolutePath());
+        lock.lock();
         try {
-            // Backup the file
-            if (Files.exists(file)) {
-                Files.copy(file, file.resolveSibling(file.getFileName() + ".bak"), StandardCopyOption.REPLACE_EXISTING);
-            }
-
-            // Write the new file
+            // Write to a temporary file, then move it over the old file so that a partial write never
+            // replaces good data.
             Files.createDirectories(file.getParent());
-            try (final BufferedWriter writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                writer.write(gson.toJson(object));
+            final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (final BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                gson.toJson(object, writer);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
             }
+            this.writeScheduler.recordWrite(Files.size(file));
         } catch (final Exception ex) {
             this.logger.error("Could not save " + file.toString());
             ex.printStackTrace();
             throw new DataSaveException("Could not save " + file.toString(), ex);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -109,8 +123,8 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
 
         private final Supplier<Path> FILENAME_RESOLVER;
 
-        Single(final Logger logger, final Supplier<Path> filename_resolver) {
-            super(logger);
+        Single(final Logger logger, final StorageWriteScheduler writeScheduler, final Supplier<Path> filename_resolver) {
+            super(logger, writeScheduler);
             this.FILENAME_RESOLVER = filename_resolver;
         }
 
@@ -140,23 +154,19 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
 
         AbstractKeyed(
                 final Logger logger,
+                final StorageWriteScheduler writeScheduler,
                 final ThrownFunction<Q, Path, DataQueryException> filename_resolver,
                 final Function<K, Path> uuid_filename_resolver,
                 final Supplier<Path> basePath) {
-            super(logger);
+            super(logger, writeScheduler);
             this.FILENAME_RESOLVER = filename_resolver;
             this.KEY_FILENAME_RESOLVER = uuid_filename_resolver;
             this.BASE_PATH = basePath;
         }
 
         @Override
-        public boolean exists(final Q query) {
-            try {
-                return this.existsInternal(query) != null;
-            } catch (final DataQueryException e) {
-                e.printStackTrace();
-                return false;
-            }
+        public boolean exists(final Q query) throws DataQueryException {
+            return this.existsInternal(query) != null;
         }
 
         @Override
@@ -187,19 +197,21 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
         }
 
         @Override
-        public Map<K, JsonObject> getAll(final Q query) throws DataLoadException, DataQueryException {
-            final HashMap<K, JsonObject> j = new HashMap<>();
-            for (final K key : this.getAllKeys(query)) {
-                j.put(key, this.get(key).get()); // should be there
-            }
-
-            return Collections.unmodifiableMap(j);
+        public Map<K, JsonObject> getAll(final Q query) throws DataQueryException {
+            return this.getAll(this.getAllKeys(query)).getLoaded();
         }
 
         @Override
-        public Collection<K> getAllKeys(final Q query) throws DataLoadException, DataQueryException {
+        public Collection<K> getAllKeys(final Q query) throws DataQueryException {
             if (query.restrictedToKeys()) {
-                this.getAllKeysInternal().retainAll(query.keys());
+                final Set<K> keys = new HashSet<>();
+                for (final K key : query.keys()) {
+                    if (this.exists(key)) {
+                        keys.add(key);
+                    }
+                }
+
+                return Collections.unmodifiableSet(keys);
             }
 
             throw new DataQueryException("There must only a key", query);
@@ -219,7 +231,7 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
 
 
         @Override
-        public int count(final Q query) {
+        public int count(final Q query) throws DataQueryException {
             return this.exists(query) ? 1 : 0;
         }
 
@@ -256,13 +268,18 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
     final static class ResourceKeyed<Q extends IQueryObject<ResourceKey, Q>> extends AbstractKeyed<ResourceKey, Q> {
 
         ResourceKeyed(final Logger logger,
+                final StorageWriteScheduler writeScheduler,
                 final ThrownFunction<Q, Path, DataQueryException> filename_resolver,
                 final Function<ResourceKey, Path> uuid_filename_resolver, final Supplier<Path> basePath) {
-            super(logger, filename_resolver, uuid_filename_resolver, basePath);
+            super(logger, writeScheduler, filename_resolver, uuid_filename_resolver, basePath);
         }
 
         @Override
         protected Set<ResourceKey> getAllKeysInternal() throws DataLoadException {
+            if (Files.notExists(this.BASE_PATH.get())) {
+                return new HashSet<>();
+            }
+
             final FileWalker u = new FileWalker();
             try {
                 Files.walkFileTree(this.BASE_PATH.get(), u);
@@ -280,36 +297,16 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
         private static class FileWalker extends SimpleFileVisitor<Path> {
 
             private final Set<ResourceKey> keys = new HashSet<>();
-            @Nullable private String inDirectory;
-
-            @Override
-            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-                if (this.inDirectory == null) {
-                    final FileVisitResult result = super.preVisitDirectory(dir, attrs);
-                    if (result == FileVisitResult.CONTINUE) {
-                        this.inDirectory = dir.getFileName().toString();
-                    }
-                    return result;
-                }
-
-                return FileVisitResult.SKIP_SUBTREE;
-            }
-
-            @Override
-            public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
-                this.inDirectory = null;
-                return super.postVisitDirectory(dir, exc);
-            }
 
             // Print information about
             // each type of file.
             @Override
             public FileVisitResult visitFile(final Path file, final BasicFileAttributes attr) {
                 if (attr.isRegularFile()) {
-                    if (file.endsWith(".json")) {
-                        final String f = file.getFileName().toString();
+                    final String f = file.getFileName().toString();
+                    if (f.endsWith(".json")) {
                         try {
-                            this.keys.add(ResourceKey.of(this.inDirectory, f.replace(".json", "")));
+                            this.keys.add(ResourceKey.of(file.getParent().getFileName().toString(), f.replace(".json", "")));
                         } catch (final Exception e) {
                             // ignored
                         }
@@ -327,16 +324,22 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
     final static class UUIDKeyed<Q extends IQueryObject<UUID, Q>> extends AbstractKeyed<UUID, Q> {
 
         UUIDKeyed(final Logger logger,
+                final StorageWriteScheduler writeScheduler,
                 final ThrownFunction<Q, Path, DataQueryException> filename_resolver,
                 final Function<UUID, Path> uuid_filename_resolver, final Supplier<Path> basePath) {
-            super(logger, filename_resolver, uuid_filename_resolver, basePath);
+            super(logger, writeScheduler, filename_resolver, uuid_filename_resolver, basePath);
         }
 
         @Override
         protected Set<UUID> getAllKeysInternal() throws DataLoadException {
-            final UUIDFileWalker u = new UUIDFileWalker();
+            final Path basePath = this.BASE_PATH.get();
+            if (Files.notExists(basePath)) {
+                return new HashSet<>();
+            }
+
+            final UUIDFileWalker u = new UUIDFileWalker(basePath);
             try {
-                Files.walkFileTree(this.BASE_PATH.get(), u);
+                Files.walkFileTree(basePath, u);
                 return u.uuidSet;
             } catch (final IOException e) {
                 throw new DataLoadException("Could not walk the file tree", e);
@@ -351,10 +354,15 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
         private static class UUIDFileWalker extends SimpleFileVisitor<Path> {
 
             private final Set<UUID> uuidSet = new HashSet<>();
+            private final Path basePath;
+
+            private UUIDFileWalker(final Path basePath) {
+                this.basePath = basePath;
+            }
 
             @Override
             public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-                if (dir.getFileName().toString().length() == 2) {
+                if (dir.equals(this.basePath) || dir.getFileName().toString().length() == 2) {
                     return super.preVisitDirectory(dir, attrs);
                 }
 
@@ -366,9 +374,9 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
             @Override
             public FileVisitResult visitFile(final Path file, final BasicFileAttributes attr) {
                 if (attr.isRegularFile()) {
-                    if (file.endsWith(".json")) {
-                        final String f = file.getFileName().toString();
-                        if (f.length() == 41 && f.startsWith(file.getParent().toString().toLowerCase())) {
+                    final String f = file.getFileName().toString();
+                    if (f.endsWith(".json")) {
+                        if (f.length() == 41 && f.startsWith(file.getParent().getFileName().toString().toLowerCase())) {
                             try {
                                 this.uuidSet.add(UUID.fromString(f.substring(0, 36)));
                             } catch (final Exception e) {
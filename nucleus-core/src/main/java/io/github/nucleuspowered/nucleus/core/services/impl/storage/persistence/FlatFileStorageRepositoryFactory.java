@@ -5,24 +5,21 @@
 package io.github.nucleuspowered.nucleus.core.services.impl.storage.persistence;
 
 import com.google.gson.JsonObject;
-import io.github.nucleuspowered.nucleus.core.guice.DataDirectory;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IUserQueryObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IWorldQueryObject;
 import io.github.nucleuspowered.storage.exceptions.DataQueryException;
 import io.github.nucleuspowered.storage.persistence.IStorageRepository;
 import io.github.nucleuspowered.storage.persistence.IStorageRepositoryFactory;
+import io.github.nucleuspowered.storage.services.StorageWriteScheduler;
 
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.UUID;
 import java.util.function.Supplier;
 
-import com.google.inject.Inject;
-import com.google.inject.Singleton;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.ResourceKey;
 
-@Singleton
 public final class FlatFileStorageRepositoryFactory implements IStorageRepositoryFactory {
 
     private final ResourceKey key = ResourceKey.of("nucleus", "flat_file");
@@ -33,16 +30,18 @@ public final class FlatFileStorageRepositoryFactory implements IStorageRepositor
     private static final String KITS_FILE = "kits.json";
     private final Supplier<Path> dataPath;
     private final Logger logger;
+    private final StorageWriteScheduler writeScheduler;
 
-    @Inject
-    public FlatFileStorageRepositoryFactory(@DataDirectory final Supplier<Path> path, final Logger logger) {
+    public FlatFileStorageRepositoryFactory(final Supplier<Path> path, final Logger logger,
+            final StorageWriteScheduler writeScheduler) {
         this.dataPath = path;
         this.logger = logger;
+        this.writeScheduler = writeScheduler;
     }
 
     @Override
     public IStorageRepository.Keyed<ResourceKey, IWorldQueryObject, JsonObject> worldRepository() {
-        return new FlatFileStorageRepository.ResourceKeyed<>(this.logger, query -> {
+        return new FlatFileStorageRepository.ResourceKeyed<>(this.logger, this.writeScheduler, query -> {
             if (query.keys().size() == 1) {
                 final Collection<ResourceKey> keys = query.keys();
                 final ResourceKey key = keys.iterator().next();
@@ -57,7 +56,7 @@ public final class FlatFileStorageRepositoryFactory implements IStorageRepositor
 
     @Override
     public IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> userRepository() {
-        return new FlatFileStorageRepository.UUIDKeyed<>(this.logger, query -> {
+        return new FlatFileStorageRepository.UUIDKeyed<>(this.logger, this.writeScheduler, query -> {
             if (query.keys().size() == 1) {
                 final Collection<UUID> uuids = query.keys();
                 final String uuid = uuids.iterator().next().toString();
@@ -72,12 +71,12 @@ public final class FlatFileStorageRepositoryFactory implements IStorageRepositor
 
     @Override
     public IStorageRepository.Single<JsonObject> generalRepository() {
-        return new FlatFileStorageRepository.Single(this.logger, () -> this.dataPath.get().resolve(GENERAL_FILE));
+        return new FlatFileStorageRepository.Single(this.logger, this.writeScheduler, () -> this.dataPath.get().resolve(GENERAL_FILE));
     }
 
     @Override
     public IStorageRepository.Single<JsonObject> kitsRepository() {
-        return new FlatFileStorageRepository.Single(this.logger, () -> this.dataPath.get().resolve(KITS_FILE));
+        return new FlatFileStorageRepository.Single(this.logger, this.writeScheduler, () -> this.dataPath.get().resolve(KITS_FILE));
     }
 
 }
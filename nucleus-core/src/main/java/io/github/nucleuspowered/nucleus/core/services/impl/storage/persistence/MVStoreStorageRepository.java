@@ -0,0 +1,264 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.storage.persistence;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.nucleuspowered.storage.exceptions.DataDeleteException;
+import io.github.nucleuspowered.storage.exceptions.DataLoadException;
+import io.github.nucleuspowered.storage.exceptions.DataQueryException;
+import io.github.nucleuspowered.storage.exceptions.DataSaveException;
+import io.github.nucleuspowered.storage.persistence.IStorageRepository;
+import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
+import io.github.nucleuspowered.storage.services.StorageWriteScheduler;
+import io.github.nucleuspowered.storage.util.KeyedObject;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.spongepowered.api.ResourceKey;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Stores data in a single {@link MVStore} file, where each data type is a separate {@link MVMap} and
+ * each document is stored as a compact json string against its serialised key.
+ *
+ * <p>Writes are placed into the store's in-memory page buffer and are committed in batches by the store's
+ * background writer (or when {@link #shutdown()} is called), rather than rewriting a file per document.</p>
+ */
+abstract class MVStoreStorageRepository implements IStorageRepository {
+
+    private static final Gson gson = new Gson();
+
+    private final Logger logger;
+    private final Supplier<MVStore> store;
+    private final StorageWriteScheduler writeScheduler;
+
+    protected MVStoreStorageRepository(final Logger logger, final Supplier<MVStore> store, final StorageWriteScheduler writeScheduler) {
+        this.logger = logger;
+        this.store = store;
+        this.writeScheduler = writeScheduler;
+    }
+
+    MVMap<String, String> openMap(final String name) {
+        return this.store.get().openMap(name);
+    }
+
+    Optional<JsonObject> get(@Nullable final String json, final String key) throws DataLoadException {
+        if (json == null || json.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new JsonParser().parse(json).getAsJsonObject());
+        } catch (final Exception e) {
+            throw new DataLoadException("Could not load entry " + key, e);
+        }
+    }
+
+    void save(final MVMap<String, String> map, final String key, final JsonObject object) throws DataSaveException {
+        try {
+            final String json = gson.toJson(object);
+            map.put(key, json);
+            this.writeScheduler.recordWrite(json.length());
+        } catch (final Exception ex) {
+            this.logger.error("Could not save " + key);
+            throw new DataSaveException("Could not save " + key, ex);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        final MVStore mvStore = this.store.get();
+        if (!mvStore.isClosed()) {
+            mvStore.commit();
+        }
+    }
+
+    @Override public void clearCache() {
+        // noop
+    }
+
+    @Override public boolean hasCache() {
+        return false;
+    }
+
+    static class Single extends MVStoreStorageRepository implements IStorageRepository.Single<JsonObject> {
+
+        private static final String SINGLE_KEY = "data";
+
+        private final String mapName;
+
+        Single(final Logger logger, final Supplier<MVStore> store, final StorageWriteScheduler writeScheduler, final String mapName) {
+            super(logger, store, writeScheduler);
+            this.mapName = mapName;
+        }
+
+        @Override
+        public Optional<JsonObject> get() throws DataLoadException {
+            return this.get(this.openMap(this.mapName).get(SINGLE_KEY), this.mapName);
+        }
+
+        @Override
+        public void save(final JsonObject object) throws DataSaveException {
+            this.save(this.openMap(this.mapName), SINGLE_KEY, object);
+        }
+
+    }
+
+    abstract static class AbstractKeyed<K, Q extends IQueryObject<K, Q>>
+            extends MVStoreStorageRepository
+            implements Keyed<K, Q, JsonObject> {
+
+        private final String mapName;
+        private final Function<K, String> keySerialiser;
+        private final Function<String, K> keyDeserialiser;
+
+        AbstractKeyed(
+                final Logger logger,
+                final Supplier<MVStore> store,
+                final StorageWriteScheduler writeScheduler,
+                final String mapName,
+                final Function<K, String> keySerialiser,
+                final Function<String, K> keyDeserialiser) {
+            super(logger, store, writeScheduler);
+            this.mapName = mapName;
+            this.keySerialiser = keySerialiser;
+            this.keyDeserialiser = keyDeserialiser;
+        }
+
+        private MVMap<String, String> map() {
+            return this.openMap(this.mapName);
+        }
+
+        private K singleKey(final Q query) throws DataQueryException {
+            if (query.keys().size() == 1) {
+                return query.keys().iterator().next();
+            }
+
+            throw new DataQueryException("There must only a key", query);
+        }
+
+        @Override
+        public boolean exists(final Q query) throws DataQueryException {
+            return this.exists(this.singleKey(query));
+        }
+
+        @Override
+        public Optional<KeyedObject<K, JsonObject>> get(final Q query) throws DataLoadException {
+            final K key;
+            try {
+                key = this.singleKey(query);
+            } catch (final Exception e) {
+                throw new DataLoadException("Query not valid", e);
+            }
+
+            return this.get(key).map(x -> new KeyedObject<>(key, x));
+        }
+
+        @Override
+        public boolean exists(final K key) {
+            return this.map().containsKey(this.keySerialiser.apply(key));
+        }
+
+        @Override
+        public Optional<JsonObject> get(final K key) throws DataLoadException {
+            final String serialisedKey = this.keySerialiser.apply(key);
+            return this.get(this.map().get(serialisedKey), serialisedKey);
+        }
+
+        @Override
+        public Collection<K> getAllKeys() {
+            final Set<K> keys = new HashSet<>();
+            for (final String key : this.map().keySet()) {
+                try {
+                    keys.add(this.keyDeserialiser.apply(key));
+                } catch (final Exception e) {
+                    // ignored
+                }
+            }
+
+            return Collections.unmodifiableSet(keys);
+        }
+
+        @Override
+        public Map<K, JsonObject> getAll(final Q query) throws DataQueryException {
+            return this.getAll(this.getAllKeys(query)).getLoaded();
+        }
+
+        @Override
+        public Collection<K> getAllKeys(final Q query) throws DataQueryException {
+            if (query.restrictedToKeys()) {
+                final Set<K> keys = new HashSet<>();
+                for (final K key : query.keys()) {
+                    if (this.exists(key)) {
+                        keys.add(key);
+                    }
+                }
+
+                return Collections.unmodifiableSet(keys);
+            }
+
+            throw new DataQueryException("There must only a key", query);
+        }
+
+        @Override
+        public int count(final Q query) throws DataQueryException {
+            return this.exists(query) ? 1 : 0;
+        }
+
+        @Override
+        public void save(final K key, final JsonObject object) throws DataSaveException {
+            this.save(this.map(), this.keySerialiser.apply(key), object);
+        }
+
+        @Override
+        public void delete(final K key) throws DataDeleteException {
+            try {
+                this.map().remove(this.keySerialiser.apply(key));
+            } catch (final Exception e) {
+                throw new DataDeleteException("Could not delete " + key, e);
+            }
+        }
+
+        @Override
+        public void clearCache(final Iterable<K> keys) {
+            // no-op here
+        }
+    }
+
+    // ** WORLD
+
+    final static class ResourceKeyed<Q extends IQueryObject<ResourceKey, Q>> extends AbstractKeyed<ResourceKey, Q> {
+
+        ResourceKeyed(final Logger logger, final Supplier<MVStore> store, final StorageWriteScheduler writeScheduler,
+                final String mapName) {
+            super(logger, store, writeScheduler, mapName, ResourceKey::asString, ResourceKey::resolve);
+        }
+
+    }
+
+    // ** USER
+
+    final static class UUIDKeyed<Q extends IQueryObject<UUID, Q>> extends AbstractKeyed<UUID, Q> {
+
+        UUIDKeyed(final Logger logger, final Supplier<MVStore> store, final StorageWriteScheduler writeScheduler,
+                final String mapName) {
+            super(logger, store, writeScheduler, mapName, UUID::toString, UUID::fromString);
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.storage.persistence;
+
+import com.google.gson.JsonObject;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IUserQueryObject;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IWorldQueryObject;
+import io.github.nucleuspowered.storage.exceptions.DataLoadException;
+import io.github.nucleuspowered.storage.exceptions.DataQueryException;
+import io.github.nucleuspowered.storage.exceptions.DataSaveException;
+import io.github.nucleuspowered.storage.persistence.IStorageRepository;
+import io.github.nucleuspowered.storage.persistence.IStorageRepositoryFactory;
+import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
+import io.github.nucleuspowered.storage.services.StorageWriteScheduler;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.configurate.ConfigurateException;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link IStorageRepository}s that are backed by a single, embedded {@link MVStore} file.
+ */
+public final class MVStoreStorageRepositoryFactory implements IStorageRepositoryFactory {
+
+    private static final String STORE_FILE = "nucleus.mv.db";
+    private static final String WORLD_DATA_MAP = "worlddata";
+    private static final String USER_DATA_MAP = "userdata";
+    private static final String GENERAL_MAP = "general";
+    private static final String KITS_MAP = "kits";
+    private static final String META_MAP = "meta";
+    private static final String MIGRATED_KEY = "migrated-from-flat-file";
+
+    // Number of documents to write before committing during migration, to keep the page buffer small.
+    private static final int MIGRATION_BATCH_SIZE = 500;
+
+    private final ResourceKey key = ResourceKey.of("nucleus", "mvstore");
+
+    private final Supplier<Path> dataPath;
+    private final Logger logger;
+    private final StorageWriteScheduler writeScheduler;
+    @Nullable private MVStore store;
+
+    public MVStoreStorageRepositoryFactory(final Supplier<Path> path, final Logger logger, final StorageWriteScheduler writeScheduler) {
+        this.dataPath = path;
+        this.logger = logger;
+        this.writeScheduler = writeScheduler;
+    }
+
+    private synchronized MVStore getStore() {
+        if (this.store == null || this.store.isClosed()) {
+            this.store = new MVStore.Builder()
+                    .fileName(this.dataPath.get().resolve(STORE_FILE).toAbsolutePath().toString())
+                    .compress()
+                    .open();
+        }
+        return this.store;
+    }
+
+    /**
+     * Commits any outstanding changes and closes the backing store. The store will be reopened
+     * if any repository created by this factory is used again.
+     */
+    public synchronized void shutdown() {
+        if (this.store != null && !this.store.isClosed()) {
+            this.store.close();
+        }
+        this.store = null;
+    }
+
+    /**
+     * Copies all data from the supplied factory into this store, if this has not already been done.
+     *
+     * <p>Existing entries in this store are not overwritten. The flat files are left in place.</p>
+     *
+     * @param flatFileFactory The factory to migrate data from
+     */
+    public synchronized void migrateFrom(final IStorageRepositoryFactory flatFileFactory) {
+        final MVStore mvStore = this.getStore();
+        final MVMap<String, String> meta = mvStore.openMap(META_MAP);
+        if (meta.containsKey(MIGRATED_KEY)) {
+            return;
+        }
+
+        this.logger.info("Migrating Nucleus data from flat files to {}, this may take some time.", STORE_FILE);
+        try {
+            final int users = this.migrateKeyed(mvStore, flatFileFactory.userRepository(), this.userRepository());
+            final int worlds = this.migrateKeyed(mvStore, flatFileFactory.worldRepository(), this.worldRepository());
+            this.migrateSingle(flatFileFactory.generalRepository(), this.generalRepository());
+            this.migrateSingle(flatFileFactory.kitsRepository(), this.kitsRepository());
+            meta.put(MIGRATED_KEY, String.valueOf(System.currentTimeMillis()));
+            mvStore.commit();
+            this.logger.info("Migrated {} user and {} world entries to {}.", users, worlds, STORE_FILE);
+        } catch (final Exception e) {
+            mvStore.rollback();
+            this.logger.error("Could not migrate flat file data to {}. The migration will be attempted again on the next start.", STORE_FILE, e);
+        }
+    }
+
+    private <K, Q extends IQueryObject<K, Q>> int migrateKeyed(
+            final MVStore mvStore,
+            final IStorageRepository.@Nullable Keyed<K, Q, JsonObject> from,
+            final IStorageRepository.Keyed<K, Q, JsonObject> to) throws DataLoadException, DataQueryException, DataSaveException {
+        if (from == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (final K key : from.getAllKeys()) {
+            if (to.exists(key)) {
+                continue;
+            }
+
+            final Optional<JsonObject> object = from.get(key);
+            if (object.isPresent()) {
+                to.save(key, object.get());
+                if (++count % MIGRATION_BATCH_SIZE == 0) {
+                    mvStore.commit();
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private void migrateSingle(
+            final IStorageRepository.@Nullable Single<JsonObject> from,
+            final IStorageRepository.Single<JsonObject> to) throws DataLoadException, DataQueryException, DataSaveException, ConfigurateException {
+        if (from != null && !to.get().isPresent()) {
+            final Optional<JsonObject> object = from.get();
+            if (object.isPresent()) {
+                to.save(object.get());
+            }
+        }
+    }
+
+    public ResourceKey getKey() {
+        return this.key;
+    }
+
+    @Override
+    public IStorageRepository.Keyed<ResourceKey, IWorldQueryObject, JsonObject> worldRepository() {
+        return new MVStoreStorageRepository.ResourceKeyed<>(this.logger, this::getStore, this.writeScheduler, WORLD_DATA_MAP);
+    }
+
+    @Override
+    public IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> userRepository() {
+        return new MVStoreStorageRepository.UUIDKeyed<>(this.logger, this::getStore, this.writeScheduler, USER_DATA_MAP);
+    }
+
+    @Override
+    public IStorageRepository.Single<JsonObject> generalRepository() {
+        return new MVStoreStorageRepository.Single(this.logger, this::getStore, this.writeScheduler, GENERAL_MAP);
+    }
+
+    @Override
+    public IStorageRepository.Single<JsonObject> kitsRepository() {
+        return new MVStoreStorageRepository.Single(this.logger, this::getStore, this.writeScheduler, KITS_MAP);
+    }
+
+}
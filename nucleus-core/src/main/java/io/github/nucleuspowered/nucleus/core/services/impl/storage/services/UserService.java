@@ -8,8 +8,10 @@ import com.google.gson.JsonObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.modular.IUserDataObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IUserQueryObject;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IDataVersioning;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.storage.services.AbstractKeyedService;
+import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.plugin.PluginContainer;
 
@@ -18,8 +20,12 @@ import java.util.function.BiConsumer;
 
 public final class UserService extends AbstractKeyedService<UUID, IUserQueryObject, IUserDataObject, JsonObject> {
 
-    public UserService(final IStorageManager repository, final PluginContainer pluginContainer, final IDataVersioning dataVersioning) {
-        super(repository::getUserDataAccess, repository::getUserRepository, dataVersioning::migrate, dataVersioning::setVersion, pluginContainer);
+    public UserService(final IStorageManager repository, final PluginContainer pluginContainer, final IDataVersioning dataVersioning,
+            final IMetricsService metricsService, final Logger logger) {
+        super(repository::getUserDataAccess, repository::getUserRepository, dataVersioning::migrate, dataVersioning::setVersion,
+                repository.getWriteScheduler(), pluginContainer, logger,
+                metricsService.timer("storage.user.load"), metricsService.timer("storage.user.loadbatch"),
+                metricsService.timer("storage.user.save"));
     }
 
     @Override
@@ -8,8 +8,10 @@ import com.google.gson.JsonObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.modular.IWorldDataObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IWorldQueryObject;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IDataVersioning;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.storage.services.AbstractKeyedService;
+import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.plugin.PluginContainer;
@@ -18,8 +20,12 @@ import java.util.function.BiConsumer;
 
 public class WorldService extends AbstractKeyedService<ResourceKey, IWorldQueryObject, IWorldDataObject, JsonObject> {
 
-    public WorldService(final IStorageManager repository, final PluginContainer pluginContainer, final IDataVersioning dataVersioning) {
-        super(repository::getWorldDataAccess, repository::getWorldRepository, dataVersioning::migrate, dataVersioning::setVersion, pluginContainer);
+    public WorldService(final IStorageManager repository, final PluginContainer pluginContainer, final IDataVersioning dataVersioning,
+            final IMetricsService metricsService, final Logger logger) {
+        super(repository::getWorldDataAccess, repository::getWorldRepository, dataVersioning::migrate, dataVersioning::setVersion,
+                repository.getWriteScheduler(), pluginContainer, logger,
+                metricsService.timer("storage.world.load"), metricsService.timer("storage.world.loadbatch"),
+                metricsService.timer("storage.world.save"));
     }
 
     @Override
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.textstyle;
+
+/**
+ * Operations on a bitmask of legacy {@code &} formatting codes, where each colour and style
+ * code has its own bit. The reset code {@code &r} has no bit, and is never stripped.
+ */
+public final class LegacyCodeMask {
+
+    public static final String COLOUR_CODES = "0123456789abcdef";
+    public static final String STYLE_CODES = "lonmk";
+
+    private static final int[] BITS = new int[128];
+
+    static {
+        final String codes = COLOUR_CODES + STYLE_CODES;
+        for (int i = 0; i < codes.length(); i++) {
+            final char c = codes.charAt(i);
+            BITS[c] = 1 << i;
+            BITS[Character.toUpperCase(c)] = 1 << i;
+        }
+    }
+
+    private LegacyCodeMask() {
+    }
+
+    /**
+     * Gets the bit for the given code, matching either case.
+     *
+     * @param code The code, without the {@code &}
+     * @return The bit, or zero if the character is not a colour or style code
+     */
+    public static int bitFor(final char code) {
+        return code < BITS.length ? BITS[code] : 0;
+    }
+
+    /**
+     * Removes every code in the mask from the message. Removal is repeated until no codes
+     * are left, so {@code &&aa} is stripped completely if {@code a} is in the mask.
+     *
+     * @param message The message
+     * @param mask The codes to remove
+     * @return The message without the codes
+     */
+    public static String strip(final String message, final int mask) {
+        if (mask == 0 || message.indexOf('&') == -1) {
+            return message;
+        }
+
+        // The builder acts as a stack: a code that follows an & that is still in the output
+        // removes that &, which then exposes any & before it to the next character.
+        final StringBuilder builder = new StringBuilder(message.length());
+        for (int i = 0; i < message.length(); i++) {
+            final char c = message.charAt(i);
+            final int last = builder.length() - 1;
+            if (last >= 0 && builder.charAt(last) == '&' && (bitFor(c) & mask) != 0) {
+                builder.setLength(last);
+            } else {
+                builder.append(c);
+            }
+        }
+
+        return builder.length() == message.length() ? message : builder.toString();
+    }
+
+    /**
+     * Returns whether the message contains any code in the mask. Only exact case matches are
+     * considered.
+     *
+     * @param message The message
+     * @param mask The codes to look for
+     * @return true if any is found
+     */
+    public static boolean containsCaseSensitive(final String message, final int mask) {
+        if (mask == 0) {
+            return false;
+        }
+
+        for (int i = message.indexOf('&'); i >= 0 && i < message.length() - 1; i = message.indexOf('&', i + 1)) {
+            final char c = message.charAt(i + 1);
+            if (Character.isLowerCase(c) || Character.isDigit(c)) {
+                if ((bitFor(c) & mask) != 0) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+}
@@ -186,20 +186,11 @@ public class TextStyleService implements ITextStyleService {
     }
 
     private String stripPermissionless(final List<String> permissionPrefixColour, final String permissionPrefixStyle, final Subject source, final String oldMessage) {
-        String message = oldMessage;
-        if (message.contains("&")) {
-            // Find the next
-            final String p = this.getRegexForPermissionless(source, permissionPrefixColour, permissionPrefixStyle);
-            if (p != null) {
-                int oldlength;
-                do {
-                    oldlength = message.length();
-                    message = Pattern.compile(p, Pattern.CASE_INSENSITIVE).matcher(p).replaceAll("");
-                } while (oldlength != message.length());
-            }
+        if (oldMessage.indexOf('&') == -1) {
+            return oldMessage;
         }
 
-        return message;
+        return LegacyCodeMask.strip(oldMessage, this.getDisallowedMask(source, permissionPrefixColour, permissionPrefixStyle));
     }
 
     @Override
@@ -217,60 +208,47 @@ public class TextStyleService implements ITextStyleService {
             final String permissionPrefixStyle,
             final Subject source,
     final String oldMessage) {
-        if (oldMessage.contains("&")) {
-            // Find the next
-            final String p = this.getRegexForPermissionless(source, permissionPrefixColour, permissionPrefixStyle);
-            if (p != null) {
-                // Scan the message for any of these tokens.
-                final Pattern pattern = Pattern.compile(p);
-                if (pattern.matcher(oldMessage).find()) {
-                    final List<String> name = new ArrayList<>();
-                    // We don't support these.
-                    for (final char a : p.toCharArray()) {
-                        if (a == '&' || a == '[' || a == ']') {
-                            continue;
-                        }
-                        final TextColor textColor = this.idToColour.get(a);
-                        if (textColor != null) {
-                            name.add(textColor.toString());
-                        } else {
-                            final String nullableName = this.styleToPerms.get(this.idToStyle.get(a));
-                            if (nullableName != null) {
-                                name.add(nullableName);
-                            }
-                        }
+        if (oldMessage.indexOf('&') != -1) {
+            final int mask = this.getDisallowedMask(source, permissionPrefixColour, permissionPrefixStyle);
+            if (LegacyCodeMask.containsCaseSensitive(oldMessage, mask)) {
+                final List<String> name = new ArrayList<>();
+                for (final char a : LegacyCodeMask.COLOUR_CODES.toCharArray()) {
+                    if ((LegacyCodeMask.bitFor(a) & mask) != 0) {
+                        name.add(this.idToColour.get(a).toString());
+                    }
+                }
+                for (final char a : LegacyCodeMask.STYLE_CODES.toCharArray()) {
+                    if ((LegacyCodeMask.bitFor(a) & mask) != 0) {
+                        name.add(this.styleToPerms.get(this.idToStyle.get(a)));
                     }
-
-                    return Collections.unmodifiableList(name);
                 }
+
+                return Collections.unmodifiableList(name);
             }
         }
 
         return Collections.emptyList();
     }
 
-    @Nullable
-    private String getRegexForPermissionless(final Subject subject, final List<String> permissionPrefixColour, final String stylePrefix) {
-        final String keys = this.getKeys(subject, permissionPrefixColour, stylePrefix);
-        if (keys != null) {
-            return "&[" + keys + "]";
-        }
-
-        return null;
+    /**
+     * Gets the {@link LegacyCodeMask} of codes that the subject may not use. This is cached by
+     * the permission service until the subject's permissions change.
+     */
+    private int getDisallowedMask(final Subject subject, final List<String> permissionPrefixColour, final String stylePrefix) {
+        final String key = "textstyle:" + String.join(",", permissionPrefixColour) + ":" + stylePrefix;
+        return this.permissionService.getCachedForSubject(subject, key,
+                s -> this.computeDisallowedMask(s, permissionPrefixColour, stylePrefix));
     }
 
-    @Nullable
-    private String getKeys(final Subject subject, final List<String> permissionPrefixColour, final String stylePrefix) {
-        final StringBuilder stringBuilder = new StringBuilder();
-        for (final Map.Entry<TextColor, String> suffix : this.colourToPermissionSuffix.entrySet()) {
+    private int computeDisallowedMask(final Subject subject, final List<String> permissionPrefixColour, final String stylePrefix) {
+        int mask = 0;
+        for (final char c : LegacyCodeMask.COLOUR_CODES.toCharArray()) {
+            final String suffix = this.colourToPermissionSuffix.get(this.idToColour.get(c));
             if (permissionPrefixColour.stream().noneMatch(prefix -> {
                 final String p = prefix.endsWith(".") ? prefix : prefix + ".";
-                return this.permissionService.hasPermission(subject, p + suffix.getValue());
+                return this.permissionService.hasPermission(subject, p + suffix);
             })) {
-                final Character c = this.idToColour.inverse().get(suffix.getKey());
-                if (c != null) {
-                    stringBuilder.append(c);
-                }
+                mask |= LegacyCodeMask.bitFor(c);
             }
         }
 
@@ -281,20 +259,13 @@ public class TextStyleService implements ITextStyleService {
             p = stylePrefix + ".";
         }
 
-        for (final Map.Entry<TextDecoration, String> suffix : this.styleToPerms.entrySet()) {
-            if (!this.permissionService.hasPermission(subject, p + suffix.getValue())) {
-                final Character c = this.idToStyle.inverse().get(suffix.getKey());
-                if (c != null) {
-                    stringBuilder.append(c);
-                }
+        for (final char c : LegacyCodeMask.STYLE_CODES.toCharArray()) {
+            if (!this.permissionService.hasPermission(subject, p + this.styleToPerms.get(this.idToStyle.get(c)))) {
+                mask |= LegacyCodeMask.bitFor(c);
             }
         }
 
-        if (stringBuilder.length() > 0) {
-            return stringBuilder.toString();
-        }
-
-        return null;
+        return mask;
     }
 
     @Override
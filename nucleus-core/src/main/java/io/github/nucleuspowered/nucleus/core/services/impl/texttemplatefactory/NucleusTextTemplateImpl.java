@@ -13,6 +13,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Sponge;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +21,14 @@ import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+/**
+ * A parsed text template.
+ *
+ * <p>When created, the template's elements are compiled into a plan: consecutive elements that are
+ * the same for every recipient are collected into static runs that are built once, leaving only
+ * placeholder and subject dependent elements to be evaluated on each render. If there are no such
+ * elements, the rendered component is built once and returned for every recipient.</p>
+ */
 public class NucleusTextTemplateImpl implements NucleusTextTemplate {
 
     private static final class Holder {
@@ -32,6 +41,12 @@ public class NucleusTextTemplateImpl implements NucleusTextTemplate {
     @Nullable private final Component suffix;
     @Nullable private final INucleusServiceCollection serviceCollection;
 
+    // Each segment is either a List<Component> of static components, or a dynamic element.
+    private final Object[] plan;
+    private final boolean containsTokens;
+    @Nullable private final Component staticBody;
+    @Nullable private final Component staticBodyWithAffixes;
+
     public NucleusTextTemplateImpl(
             @Nullable final INucleusServiceCollection serviceCollection,
             final List<BiFunction<Object, Map<String, Function<Object, Optional<ComponentLike>>>, Component>> texts,
@@ -41,6 +56,33 @@ public class NucleusTextTemplateImpl implements NucleusTextTemplate {
         this.prefix = prefix;
         this.suffix = suffix;
         this.serviceCollection = serviceCollection;
+
+        final List<Object> segments = new ArrayList<>();
+        List<Component> staticRun = null;
+        boolean tokens = false;
+        for (final BiFunction<Object, Map<String, Function<Object, Optional<ComponentLike>>>, Component> text : texts) {
+            if (text instanceof TemplateParser.StaticElement) {
+                if (staticRun == null) {
+                    staticRun = new ArrayList<>();
+                    segments.add(staticRun);
+                }
+                staticRun.add(((TemplateParser.StaticElement) text).getComponent());
+            } else {
+                staticRun = null;
+                segments.add(text);
+                tokens |= text instanceof TemplateParser.PlaceholderElement;
+            }
+        }
+
+        this.plan = segments.toArray();
+        this.containsTokens = tokens;
+        if (serviceCollection != null && (this.plan.length == 0 || (this.plan.length == 1 && this.plan[0] instanceof List))) {
+            this.staticBody = this.build(null, false, null);
+            this.staticBodyWithAffixes = this.build(null, true, null);
+        } else {
+            this.staticBody = null;
+            this.staticBodyWithAffixes = null;
+        }
     }
 
     @NonNull
@@ -94,7 +136,7 @@ public class NucleusTextTemplateImpl implements NucleusTextTemplate {
         if (this.serviceCollection == null) {
             return false;
         }
-        return this.texts.stream().anyMatch(x -> x instanceof TemplateParser.PlaceholderElement);
+        return this.containsTokens;
     }
 
     @Override
@@ -123,13 +165,30 @@ public class NucleusTextTemplateImpl implements NucleusTextTemplate {
             return Component.empty();
         }
 
+        // Nothing depends on the recipient, so we can use the pre-built result.
+        final Component prebuilt = prefix ? this.staticBodyWithAffixes : this.staticBody;
+        if (prebuilt != null) {
+            return prebuilt;
+        }
+
+        return this.build(source, prefix, tokensArray);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Component build(@Nullable final Object source, final boolean prefix,
+            @Nullable final Map<String, Function<Object, Optional<ComponentLike>>> tokensArray) {
         final TextComponent.Builder builder = Component.text();
         if (prefix && this.prefix != null) {
             builder.append(this.prefix);
         }
 
-        for (final BiFunction<Object, Map<String, Function<Object, Optional<ComponentLike>>>, Component> textComponent : this.texts) {
-            builder.append(textComponent.apply(source, tokensArray));
+        for (final Object segment : this.plan) {
+            if (segment instanceof List) {
+                builder.append((List<Component>) segment);
+            } else {
+                builder.append(((BiFunction<Object, Map<String, Function<Object, Optional<ComponentLike>>>, Component>) segment)
+                        .apply(source, tokensArray));
+            }
         }
 
         if (prefix && this.suffix != null) {
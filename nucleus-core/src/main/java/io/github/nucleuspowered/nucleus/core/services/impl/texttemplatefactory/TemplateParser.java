@@ -27,7 +27,6 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -115,7 +114,7 @@ public final class TemplateParser implements INucleusTextTemplateFactory {
         }
 
         // Generic hell.
-        final List<BiFunction<Object, Map<String, Function<Object, Optional<ComponentLike>>>, Component>> texts = new LinkedList<>();
+        final List<BiFunction<Object, Map<String, Function<Object, Optional<ComponentLike>>>, Component>> texts = new ArrayList<>();
         ITextStyleService.TextFormat textFormat = ITextStyleService.EMPTY;
         if (s.size() > 0) {
             textFormat = this.createTextTemplateFragmentWithLinks(s.get(0), texts, textFormat).orElse(textFormat);
@@ -156,7 +155,7 @@ public final class TemplateParser implements INucleusTextTemplateFactory {
         final ITextStyleService textStyleService = this.serviceCollection.textStyleService();
         if (!m.find()) {
             final Component component = textStyleService.oldLegacy(message);
-            elements.add((a, b) -> component);
+            elements.add(new StaticElement(component));
             return Optional.of(textStyleService.getLastColourAndStyle(component, format));
         }
 
@@ -169,7 +168,7 @@ public final class TemplateParser implements INucleusTextTemplateFactory {
                     .append(textStyleService.oldLegacy(textArray[0])).build();
 
             // Add this text to the list regardless.
-            elements.add((a, b) -> first);
+            elements.add(new StaticElement(first));
 
             // If we have more to do, shove it into the "remaining" variable.
             if (textArray.length == 2) {
@@ -208,11 +207,11 @@ public final class TemplateParser implements INucleusTextTemplateFactory {
             final ITextStyleService.TextFormat tf = st;
             if (m.group("url") != null) {
                 final String url = m.group("url");
-                elements.add((a, b) -> this.getTextForUrl(url, url, whiteSpace, tf, m.group("options")));
+                elements.add(new StaticElement(this.getTextForUrl(url, url, whiteSpace, tf, m.group("options"))));
             } else if (m.group("specialUrl") != null) {
                 final String url = m.group("sUrl");
                 final String msg = m.group("msg");
-                elements.add((a, b) -> this.getTextForUrl(url, msg, whiteSpace, tf, m.group("optionssurl")));
+                elements.add(new StaticElement(this.getTextForUrl(url, msg, whiteSpace, tf, m.group("optionssurl"))));
             } else {
                 // Must be commands.
                 final String cmd = m.group("sCmd");
@@ -231,8 +230,8 @@ public final class TemplateParser implements INucleusTextTemplateFactory {
                 } else {
                     final Style s = st.style();
                     final @Nullable TextColor c = st.colour().orElse(null);
-                    elements.add(
-                            (a, b) -> Component.text().color(c).style(s).append(this.getCmd(msg, cmd, optionList, whiteSpace)).build());
+                    elements.add(new StaticElement(
+                            Component.text().color(c).style(s).append(this.getCmd(msg, cmd, optionList, whiteSpace)).build()));
                 }
             }
         } while (remaining != null && m.find());
@@ -247,7 +246,7 @@ public final class TemplateParser implements INucleusTextTemplateFactory {
 
             final TextComponent t = tb.build();
             st = textStyleService.getLastColourAndStyle(t, st);
-            elements.add((a, b) -> t);
+            elements.add(new StaticElement(t));
         }
         return Optional.of(st);
     }
@@ -322,6 +321,28 @@ public final class TemplateParser implements INucleusTextTemplateFactory {
         return HoverEvent.showText(this.serviceCollection.messageProvider().getMessage("chat.command.click", cmd));
     }
 
+    /**
+     * An element that is the same for every recipient, so is built once when the template is parsed.
+     */
+    static final class StaticElement implements BiFunction<Object, Map<String, Function<Object, Optional<ComponentLike>>>, Component> {
+
+        private final Component component;
+
+        StaticElement(final Component component) {
+            this.component = component;
+        }
+
+        Component getComponent() {
+            return this.component;
+        }
+
+        @Override
+        public Component apply(final Object cs, final Map<String, Function<Object, Optional<ComponentLike>>> tokens) {
+            return this.component;
+        }
+
+    }
+
     private final class SubjectCommand implements BiFunction<Object, Map<String, Function<Object, Optional<ComponentLike>>>, Component> {
 
         @Nullable private final TextColor colour;
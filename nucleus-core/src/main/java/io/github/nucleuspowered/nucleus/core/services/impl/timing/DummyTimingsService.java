@@ -4,26 +4,20 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.timing;
 
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.ITimingsService;
 
 public final class DummyTimingsService implements ITimingsService {
 
-    final static class Holding {
-        final static ITiming DUMMY = new ITiming() {
-            @Override
-            public ITiming start() {
-                return this;
-            }
+    private final IMetricsService metricsService;
 
-            @Override
-            public void stop() {
-            }
-        };
+    public DummyTimingsService(final IMetricsService metricsService) {
+        this.metricsService = metricsService;
     }
 
     @Override
     public ITiming of(final String name) {
-        return Holding.DUMMY;
+        return new MetricsTiming(this.metricsService, name, null);
     }
 
 }
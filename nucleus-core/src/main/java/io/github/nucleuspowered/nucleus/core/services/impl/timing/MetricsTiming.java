@@ -0,0 +1,46 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.timing;
+
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.ITimingsService;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Locale;
+
+/**
+ * A timing that is recorded by the {@link IMetricsService}, and optionally passed on to another
+ * timing.
+ */
+final class MetricsTiming implements ITimingsService.ITiming {
+
+    private final IMetricsService.Timer timer;
+    private final ITimingsService.@Nullable ITiming delegate;
+    private long start;
+
+    MetricsTiming(final IMetricsService metricsService, final String name, final ITimingsService.@Nullable ITiming delegate) {
+        this.timer = metricsService.timer("timings." + name.toLowerCase(Locale.ROOT).replace(' ', '.'));
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ITimingsService.ITiming start() {
+        if (this.delegate != null) {
+            this.delegate.start();
+        }
+        this.start = this.timer.start();
+        return this;
+    }
+
+    @Override
+    public void stop() {
+        this.timer.stop(this.start);
+        this.start = 0;
+        if (this.delegate != null) {
+            this.delegate.stop();
+        }
+    }
+
+}
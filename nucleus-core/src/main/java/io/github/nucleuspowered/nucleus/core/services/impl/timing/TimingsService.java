@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.core.services.impl.timing;
 import co.aikar.timings.Timing;
 import co.aikar.timings.TimingsFactory;
 import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.ITimingsService;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.plugin.PluginContainer;
@@ -14,15 +15,17 @@ import org.spongepowered.plugin.PluginContainer;
 public final class TimingsService implements ITimingsService {
 
     private final PluginContainer container;
+    private final IMetricsService metricsService;
 
     @Inject
-    public TimingsService(final PluginContainer container) {
+    public TimingsService(final PluginContainer container, final IMetricsService metricsService) {
         this.container = container;
+        this.metricsService = metricsService;
     }
 
     @Override
     public ITiming of(final String name) {
-        return new AikarTiming(this.container, name);
+        return new MetricsTiming(this.metricsService, name, new AikarTiming(this.container, name));
     }
 
     final static class AikarTiming implements ITiming {
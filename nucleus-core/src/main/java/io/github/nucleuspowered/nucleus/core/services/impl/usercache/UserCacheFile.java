@@ -0,0 +1,102 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.usercache;
+
+import io.github.nucleuspowered.nucleus.core.configurate.datatypes.UserCacheDataNode;
+import io.github.nucleuspowered.nucleus.core.configurate.datatypes.UserCacheVersionNode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads and writes the user cache in a compact binary format.
+ *
+ * <p>The file consists of a header (magic number, cache version, completion flag and entry count),
+ * followed by one record per user: the two halves of the UUID, a flags byte, and then the IP
+ * address and jail name if the corresponding flags are set.</p>
+ */
+final class UserCacheFile {
+
+    private static final int MAGIC = 0x4E554331; // NUC1
+
+    private static final int FLAG_MUTED = 1;
+    private static final int FLAG_IP = 1 << 1;
+    private static final int FLAG_JAIL = 1 << 2;
+
+    private UserCacheFile() {}
+
+    static UserCacheVersionNode read(final Path path) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + " is not a Nucleus user cache file");
+            }
+
+            final UserCacheVersionNode node = new UserCacheVersionNode(in.readInt(), in.readBoolean());
+            final int count = in.readInt();
+            final Map<UUID, UserCacheDataNode> entries = node.getNode();
+            for (int i = 0; i < count; i++) {
+                final UUID uuid = new UUID(in.readLong(), in.readLong());
+                final int flags = in.readByte();
+                final String ip = (flags & FLAG_IP) != 0 ? in.readUTF() : null;
+                final String jail = (flags & FLAG_JAIL) != 0 ? in.readUTF() : null;
+                entries.put(uuid, new UserCacheDataNode(ip, jail, (flags & FLAG_MUTED) != 0));
+            }
+
+            return node;
+        }
+    }
+
+    static void write(final Path path, final int version, final boolean complete, final Map<UUID, UserCacheDataNode> entries)
+            throws IOException {
+        Files.createDirectories(path.getParent());
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(version);
+            out.writeBoolean(complete);
+            out.writeInt(entries.size());
+            for (final Map.Entry<UUID, UserCacheDataNode> entry : entries.entrySet()) {
+                final UserCacheDataNode data = entry.getValue();
+                final String ip = data.getIpAddress().orElse(null);
+                final String jail = data.getJailName().orElse(null);
+                int flags = data.isMuted() ? FLAG_MUTED : 0;
+                if (ip != null) {
+                    flags |= FLAG_IP;
+                }
+
+                if (jail != null) {
+                    flags |= FLAG_JAIL;
+                }
+
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeByte(flags);
+                if (ip != null) {
+                    out.writeUTF(ip);
+                }
+
+                if (jail != null) {
+                    out.writeUTF(jail);
+                }
+            }
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
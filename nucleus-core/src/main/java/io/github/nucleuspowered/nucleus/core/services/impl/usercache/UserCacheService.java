@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.usercache;
 
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.nucleuspowered.nucleus.core.configurate.datatypes.UserCacheDataNode;
@@ -17,111 +18,221 @@ import io.github.nucleuspowered.nucleus.core.services.interfaces.IStorageManager
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IUserCacheService;
 import io.github.nucleuspowered.storage.services.IStorageService;
 import io.leangen.geantyref.TypeToken;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.util.Identifiable;
-import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.gson.GsonConfigurationLoader;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Keeps a small amount of information about every known user in memory, so that lookups by IP
+ * address, jail and mute status do not require every user file to be loaded.
+ *
+ * <p>Lookups are served from secondary indexes that are kept up to date as individual entries
+ * change, so no lookup scans the entire cache.</p>
+ */
 @Singleton
 public class UserCacheService implements IUserCacheService, IReloadableService.DataLocationReloadable {
 
     private static final int expectedVersion = new UserCacheVersionNode().getVersion();
+    private static final String CACHE_FILE = "usercache.bin";
+
+    // Progress of an unfinished file walk, kept apart from the cache file so that saves during the walk don't overwrite it.
+    private static final String WALK_CHECKPOINT_FILE = "usercache.walk.bin";
+    private static final String LEGACY_CACHE_FILE = "usercache.json";
+    private static final int FILE_WALK_BATCH_SIZE = 100;
+
+    // Number of batches that are loaded concurrently during a file walk.
+    private static final int FILE_WALK_CONCURRENCY = 4;
+
+    // Number of rounds of concurrent batches between progress checkpoints, which allow an interrupted walk to resume.
+    private static final int FILE_WALK_CHECKPOINT_INTERVAL = 5;
+
     private boolean isWalking = false;
 
     private final Supplier<Path> dataDirectory;
     private final Object lockingObject = new Object();
+    private final Object saveLock = new Object();
     private final IStorageManager storageManager;
+    private final Logger logger;
 
     private Function<IUserDataObject, String> jailProcessor = x -> null;
     private Predicate<IUserDataObject> mutedProcessor = x -> false;
 
-    private UserCacheVersionNode data;
+    private int version = expectedVersion;
+    private boolean complete = true;
+    private final Map<UUID, UserCacheDataNode> entries = new ConcurrentHashMap<>();
+
+    // Guards updates to the entries and the indexes, so that the two are always consistent.
+    private final Object indexLock = new Object();
+    private final Map<String, Set<UUID>> ipIndex = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> jailIndex = new ConcurrentHashMap<>();
+    private final Set<UUID> mutedIndex = ConcurrentHashMap.newKeySet();
 
     @Inject
     public UserCacheService(final INucleusServiceCollection serviceCollection) {
         this.dataDirectory = serviceCollection.dataDir();
         this.storageManager = serviceCollection.storageManager();
+        this.logger = serviceCollection.logger();
         serviceCollection.reloadableService().registerDataFileReloadable(this);
     }
 
     @Override
     public void load() {
+        UserCacheVersionNode data;
         try {
-            this.data = this.configurationLoader()
-                    .load()
-                    .get(TypeToken.get(UserCacheVersionNode.class), (Supplier<UserCacheVersionNode>) UserCacheVersionNode::new);
+            final Path cacheFile = this.dataDirectory.get().resolve(CACHE_FILE);
+            if (Files.exists(cacheFile)) {
+                data = UserCacheFile.read(cacheFile);
+            } else {
+                data = this.loadLegacy();
+            }
         } catch (final IOException e) {
             e.printStackTrace();
-            this.data = new UserCacheVersionNode();
+            data = new UserCacheVersionNode();
         }
+
+        // If a walk was interrupted, the cache is not complete, even if the last full save said it was.
+        final boolean walkInterrupted = Files.exists(this.dataDirectory.get().resolve(WALK_CHECKPOINT_FILE));
+        this.replaceAll(data.getVersion(), data.isComplete() && !walkInterrupted, data.getNode());
     }
 
-    @Override
-    public void save() {
+    @Nullable
+    private UserCacheVersionNode loadWalkCheckpoint() {
+        final Path checkpointFile = this.dataDirectory.get().resolve(WALK_CHECKPOINT_FILE);
+        if (Files.notExists(checkpointFile)) {
+            return null;
+        }
+
         try {
-            final GsonConfigurationLoader gsonConfigurationLoader = this.configurationLoader();
-            final ConfigurationNode node = gsonConfigurationLoader.createNode();
-            node.set(TypeToken.get(UserCacheVersionNode.class), this.data);
-            gsonConfigurationLoader.save(node);
+            final UserCacheVersionNode checkpoint = UserCacheFile.read(checkpointFile);
+            if (checkpoint.getVersion() == expectedVersion) {
+                return checkpoint;
+            }
         } catch (final IOException e) {
             e.printStackTrace();
         }
 
+        return null;
+    }
+
+    private UserCacheVersionNode loadLegacy() throws IOException {
+        final Path legacyFile = this.dataDirectory.get().resolve(LEGACY_CACHE_FILE);
+        if (Files.notExists(legacyFile)) {
+            return new UserCacheVersionNode();
+        }
+
+        return GsonConfigurationLoader.builder()
+                .path(legacyFile)
+                .build()
+                .load()
+                .get(TypeToken.get(UserCacheVersionNode.class), (Supplier<UserCacheVersionNode>) UserCacheVersionNode::new);
+    }
+
+    @Override
+    public void save() {
+        final Map<UUID, UserCacheDataNode> toSave;
+        final int currentVersion;
+        final boolean isComplete;
+        synchronized (this.indexLock) {
+            toSave = new HashMap<>(this.entries);
+            currentVersion = this.version;
+            isComplete = this.complete;
+        }
+
+        this.save(toSave, currentVersion, isComplete);
+    }
+
+    private void save(final Map<UUID, UserCacheDataNode> toSave, final int version, final boolean isComplete) {
+        // Saves may come from the file walk as well as the usual save task, and they share a temporary file.
+        synchronized (this.saveLock) {
+            try {
+                UserCacheFile.write(this.dataDirectory.get().resolve(CACHE_FILE), version, isComplete, toSave);
+                Files.deleteIfExists(this.dataDirectory.get().resolve(LEGACY_CACHE_FILE));
+            } catch (final IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void saveWalkCheckpoint(final Map<UUID, UserCacheDataNode> toSave) {
+        synchronized (this.saveLock) {
+            try {
+                UserCacheFile.write(this.dataDirectory.get().resolve(WALK_CHECKPOINT_FILE), expectedVersion, false, toSave);
+            } catch (final IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void deleteWalkCheckpoint() {
+        synchronized (this.saveLock) {
+            try {
+                Files.deleteIfExists(this.dataDirectory.get().resolve(WALK_CHECKPOINT_FILE));
+            } catch (final IOException e) {
+                e.printStackTrace();
+            }
+        }
     }
 
     @Override
     public List<UUID> getForIp(final String ip) {
-        this.updateCacheForOnlinePlayers();
-        final String ipToCheck = ip.replace("/", "");
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue()
-                .getIpAddress().map(y -> y.equals(ipToCheck)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        return this.copyOf(this.ipIndex.get(ip.replace("/", "")));
     }
 
     @Override
     public List<UUID> getJailed() {
-        this.updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isJailed())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        final List<UUID> jailed = new ArrayList<>();
+        for (final Set<UUID> inJail : this.jailIndex.values()) {
+            jailed.addAll(inJail);
+        }
+        return jailed;
     }
 
     @Override
     public List<UUID> getJailedIn(final String name) {
-        this.updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream()
-                .filter(x -> x.getValue().getJailName().map(y -> y.equalsIgnoreCase(name)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        return this.copyOf(this.jailIndex.get(name.toLowerCase(Locale.ROOT)));
     }
 
     @Override
     public List<UUID> getMuted() {
-        this.updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isMuted())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        return new ArrayList<>(this.mutedIndex);
+    }
+
+    private List<UUID> copyOf(@Nullable final Set<UUID> uuids) {
+        if (uuids == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(uuids);
     }
 
     @Override
     public void updateCacheForOnlinePlayers() {
         final IUserQueryObject iuq = new UserQueryObject();
         iuq.addAllKeys(Sponge.server().onlinePlayers().stream().map(Identifiable::uniqueId).collect(Collectors.toList()));
-        this.storageManager.getUserService().getAll(iuq).thenAccept(result ->
-                result.forEach((uuid, obj) -> this.data.getNode().computeIfAbsent(uuid, x -> new UserCacheDataNode()).set(obj, this.mutedProcessor,
-                        this.jailProcessor)));
+        this.storageManager.getUserService().getAll(iuq).thenAccept(result -> result.forEach(this::updateCacheForPlayer));
     }
 
     @Override public void updateCacheForPlayer(final UUID uuid, final IUserDataObject u) {
-        this.data.getNode().computeIfAbsent(uuid, x -> new UserCacheDataNode()).set(u, this.mutedProcessor, this.jailProcessor);
+        this.put(uuid, this.createNode(u));
     }
 
     @Override public void updateCacheForPlayer(final UUID uuid) {
@@ -129,16 +240,20 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
     }
 
     @Override public void startFilewalkIfNeeded() {
-        if (!this.isWalking && (!this.isCorrectVersion() || this.data.getNode().isEmpty())) {
-            this.fileWalk();
+        if (!this.isWalking && (!this.isCorrectVersion() || !this.complete || this.entries.isEmpty())) {
+            this.fileWalk(this.isCorrectVersion() && !this.complete, null);
         }
     }
 
     @Override public boolean isCorrectVersion() {
-        return expectedVersion == this.data.getVersion();
+        return expectedVersion == this.version;
     }
 
     @Override public boolean fileWalk() {
+        return this.fileWalk(false, null);
+    }
+
+    @Override public boolean fileWalk(final boolean resume, @Nullable final BiConsumer<Integer, Integer> progressListener) {
         synchronized (this.lockingObject) {
             if (this.isWalking) {
                 return false;
@@ -148,25 +263,62 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
         }
 
         try {
-            final Map<UUID, UserCacheDataNode> data = new HashMap<>();
-            final List<UUID> knownUsers = Sponge.server().userManager().streamAll()
-                    .map(Identifiable::uniqueId).collect(Collectors.toList());
+            final Map<UUID, UserCacheDataNode> data = new ConcurrentHashMap<>();
+            if (resume) {
+                final UserCacheVersionNode checkpoint = this.loadWalkCheckpoint();
+                data.putAll(checkpoint == null ? this.entries : checkpoint.getNode());
+            }
+
+            final List<UUID> toWalk = Sponge.server().userManager().streamAll()
+                    .map(Identifiable::uniqueId)
+                    .filter(x -> !data.containsKey(x))
+                    .collect(Collectors.toList());
+            final int total = toWalk.size();
+            if (resume) {
+                this.logger.info("Resuming user cache rebuild, {} users were already processed.", data.size());
+            }
 
-            int count = 0;
+            final Set<UUID> online = Sponge.server().onlinePlayers().stream().map(Identifiable::uniqueId).collect(Collectors.toSet());
             final IStorageService.Keyed<UUID, IUserQueryObject, IUserDataObject> manager = this.storageManager.getUserService();
-            for (final UUID user : knownUsers) {
-                if (manager.exists(user).join()) {
-                    manager.get(user).join().ifPresent(x -> data.put(user, new UserCacheDataNode().set(x, this.mutedProcessor, this.jailProcessor)));
-                    if (++count >= 10) {
-                        manager.clearCache();
-                        count = 0;
+            final List<List<UUID>> batches = Lists.partition(toWalk, FILE_WALK_BATCH_SIZE);
+            int processed = 0;
+            int rounds = 0;
+            for (final List<List<UUID>> concurrentBatches : Lists.partition(batches, FILE_WALK_CONCURRENCY)) {
+                final List<CompletableFuture<Void>> futures = new ArrayList<>();
+                for (final List<UUID> batch : concurrentBatches) {
+                    final IUserQueryObject query = new UserQueryObject();
+                    query.addAllKeys(batch);
+                    futures.add(manager.getAll(query).thenAccept(result ->
+                            result.forEach((user, x) -> data.put(user, this.createNode(x)))));
+                }
+
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+                // Don't keep offline users in memory longer than we need to.
+                manager.clearCacheUnless(online);
+                for (final List<UUID> batch : concurrentBatches) {
+                    processed += batch.size();
+                }
+
+                if (++rounds % FILE_WALK_CHECKPOINT_INTERVAL == 0 && processed < total) {
+                    this.saveWalkCheckpoint(new HashMap<>(data));
+                    this.logger.info("User cache rebuild: {}/{} users processed.", processed, total);
+                    if (progressListener != null) {
+                        progressListener.accept(processed, total);
                     }
                 }
             }
 
-            this.data = new UserCacheVersionNode();
-            this.data.getNode().putAll(data);
+            // Anyone who is online will have been kept up to date while we were walking.
+            final Set<UUID> nowOnline = Sponge.server().onlinePlayers().stream().map(Identifiable::uniqueId).collect(Collectors.toSet());
+            synchronized (this.indexLock) {
+                data.putAll(this.entries.entrySet().stream()
+                        .filter(x -> nowOnline.contains(x.getKey()))
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+                this.replaceAll(expectedVersion, true, data);
+            }
             this.save();
+            this.deleteWalkCheckpoint();
         } finally {
             this.isWalking = false;
         }
@@ -184,14 +336,58 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
         this.mutedProcessor = func;
     }
 
-    private GsonConfigurationLoader configurationLoader() {
-        return GsonConfigurationLoader.builder()
-                .path(this.dataDirectory.get().resolve("usercache.json"))
-                .build();
-    }
-
     @Override
     public void onDataFileLocationChange(final INucleusServiceCollection serviceCollection) {
         this.load();
     }
+
+    private UserCacheDataNode createNode(final IUserDataObject userDataObject) {
+        return new UserCacheDataNode().set(userDataObject, this.mutedProcessor, this.jailProcessor);
+    }
+
+    private void put(final UUID uuid, final UserCacheDataNode node) {
+        synchronized (this.indexLock) {
+            final UserCacheDataNode previous = this.entries.put(uuid, node);
+            if (previous != null) {
+                this.removeFromIndexes(uuid, previous);
+            }
+            this.addToIndexes(uuid, node);
+        }
+    }
+
+    private void replaceAll(final int version, final boolean complete, final Map<UUID, UserCacheDataNode> data) {
+        synchronized (this.indexLock) {
+            this.version = version;
+            this.complete = complete;
+            this.entries.clear();
+            this.ipIndex.clear();
+            this.jailIndex.clear();
+            this.mutedIndex.clear();
+            this.entries.putAll(data);
+            data.forEach(this::addToIndexes);
+        }
+    }
+
+    private void addToIndexes(final UUID uuid, final UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(ip -> this.ipIndex.computeIfAbsent(ip, x -> ConcurrentHashMap.newKeySet()).add(uuid));
+        node.getJailName().ifPresent(jail ->
+                this.jailIndex.computeIfAbsent(jail.toLowerCase(Locale.ROOT), x -> ConcurrentHashMap.newKeySet()).add(uuid));
+        if (node.isMuted()) {
+            this.mutedIndex.add(uuid);
+        }
+    }
+
+    private void removeFromIndexes(final UUID uuid, final UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(ip -> UserCacheService.removeFrom(this.ipIndex, ip, uuid));
+        node.getJailName().ifPresent(jail -> UserCacheService.removeFrom(this.jailIndex, jail.toLowerCase(Locale.ROOT), uuid));
+        this.mutedIndex.remove(uuid);
+    }
+
+    private static void removeFrom(final Map<String, Set<UUID>> index, final String key, final UUID uuid) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(uuid);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
 }
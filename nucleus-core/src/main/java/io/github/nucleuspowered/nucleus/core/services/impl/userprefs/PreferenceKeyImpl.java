@@ -17,16 +17,22 @@ import org.spongepowered.api.ResourceKey;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
 
 public class PreferenceKeyImpl<T> extends DataKeyImpl<T, IUserDataObject> implements NucleusUserPreferenceService.PreferenceKey<T> {
 
+    private static final AtomicInteger NEXT_BOOLEAN_SLOT = new AtomicInteger();
+    private static final AtomicInteger NEXT_OBJECT_SLOT = new AtomicInteger();
+
     private final ResourceKey key;
     @Nullable private final T def;
     private final Class<T> clazz;
     private final BiPredicate<INucleusServiceCollection, UUID> canAccess;
     private final String descriptionKey;
     private final TriConsumer<INucleusServiceCollection, UUID, T> onSet;
+    private final boolean booleanSlot;
+    private final int slot;
 
     PreferenceKeyImpl(
             final ResourceKey key,
@@ -75,6 +81,12 @@ public class PreferenceKeyImpl<T> extends DataKeyImpl<T, IUserDataObject> implem
         this.canAccess = canAccess;
         this.descriptionKey = descriptionKey;
         this.onSet = onSet;
+        this.booleanSlot = clazz == Boolean.class;
+        this.slot = this.booleanSlot ? NEXT_BOOLEAN_SLOT.getAndIncrement() : NEXT_OBJECT_SLOT.getAndIncrement();
+    }
+
+    static int getObjectSlotCount() {
+        return NEXT_OBJECT_SLOT.get();
     }
 
     @Override
@@ -102,6 +114,19 @@ public class PreferenceKeyImpl<T> extends DataKeyImpl<T, IUserDataObject> implem
         return this.descriptionKey;
     }
 
+    /**
+     * Gets the slot that this key's value is held in, in a {@link PreferenceRecord}.
+     *
+     * @return The slot
+     */
+    int getSlot() {
+        return this.slot;
+    }
+
+    boolean isBooleanSlot() {
+        return this.booleanSlot;
+    }
+
     public void onSet(final INucleusServiceCollection serviceCollection, final UUID uuid, final T value) {
         this.onSet.accept(serviceCollection, uuid, value);
     }
@@ -116,6 +141,14 @@ public class PreferenceKeyImpl<T> extends DataKeyImpl<T, IUserDataObject> implem
                 final String descriptionKey) {
             super(key, def, Boolean.class, canAccess, descriptionKey);
         }
+
+        public BooleanKey(final ResourceKey key,
+                @Nullable final Boolean def,
+                final BiPredicate<INucleusServiceCollection, UUID> canAccess,
+                final String descriptionKey,
+                final TriConsumer<INucleusServiceCollection, UUID, Boolean> onSet) {
+            super(key, def, Boolean.class, canAccess, descriptionKey, onSet);
+        }
     }
 
     public static class LocaleKey extends PreferenceKeyImpl<Locale> {
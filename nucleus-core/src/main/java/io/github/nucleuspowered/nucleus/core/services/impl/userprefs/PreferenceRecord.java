@@ -0,0 +1,100 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.impl.userprefs;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The preferences of an online player, held so that reading a preference doesn't have to go
+ * through the user's data object.
+ *
+ * <p>Boolean preferences are packed into a single {@code long}. The low 32 bits mark which
+ * slots are held, and the high 32 bits hold the values. Other preferences are held in an
+ * array indexed by their slot. Any preference that is not held must be read from storage.</p>
+ */
+final class PreferenceRecord {
+
+    static final int BOOLEAN_SLOTS = 32;
+
+    /**
+     * Returned by {@link #get(PreferenceKeyImpl)} when the preference is not held.
+     */
+    static final Object NOT_HELD = new Object();
+
+    private static final Object NULL = new Object();
+
+    private final AtomicLong booleans = new AtomicLong();
+    private final AtomicReferenceArray<Object> values;
+
+    PreferenceRecord(final int objectSlots) {
+        this.values = new AtomicReferenceArray<>(objectSlots);
+    }
+
+    /**
+     * Gets the held value of the preference.
+     *
+     * @param key The key
+     * @return The value, which may be null, or {@link #NOT_HELD}
+     */
+    @Nullable
+    Object get(final PreferenceKeyImpl<?> key) {
+        final int slot = key.getSlot();
+        if (key.isBooleanSlot()) {
+            if (slot >= BOOLEAN_SLOTS) {
+                return NOT_HELD;
+            }
+
+            final long current = this.booleans.get();
+            if ((current & (1L << slot)) == 0) {
+                return NOT_HELD;
+            }
+            return (current & (1L << (slot + BOOLEAN_SLOTS))) != 0 ? Boolean.TRUE : Boolean.FALSE;
+        }
+
+        if (slot >= this.values.length()) {
+            return NOT_HELD;
+        }
+
+        final Object value = this.values.get(slot);
+        if (value == null) {
+            return NOT_HELD;
+        }
+        return value == NULL ? null : value;
+    }
+
+    /**
+     * Holds the value of the preference, which should already have had any default applied.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    void set(final PreferenceKeyImpl<?> key, @Nullable final Object value) {
+        final int slot = key.getSlot();
+        if (key.isBooleanSlot()) {
+            if (slot >= BOOLEAN_SLOTS) {
+                return;
+            }
+
+            final long held = 1L << slot;
+            final long bit = 1L << (slot + BOOLEAN_SLOTS);
+            // A null boolean isn't held, so it will be read from storage instead.
+            this.booleans.getAndUpdate(current -> {
+                if (value == null) {
+                    return current & ~held & ~bit;
+                }
+                return ((Boolean) value) ? (current | held | bit) : ((current | held) & ~bit);
+            });
+            return;
+        }
+
+        if (slot < this.values.length()) {
+            this.values.set(slot, value == null ? NULL : value);
+        }
+    }
+
+}
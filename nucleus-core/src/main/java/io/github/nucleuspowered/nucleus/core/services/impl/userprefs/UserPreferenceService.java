@@ -8,6 +8,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.nucleuspowered.nucleus.api.core.NucleusUserPreferenceService;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.modular.IUserDataObject;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IUserPreferenceService;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
@@ -18,20 +19,36 @@ import org.spongepowered.api.registry.RegistryRoots;
 import org.spongepowered.api.registry.RegistryType;
 import org.spongepowered.api.registry.RegistryTypes;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores user preferences.
+ *
+ * <p>The preferences of online players are held in a {@link PreferenceRecord}, so that
+ * reads on hot paths, such as checking whether a player can be sent a message, don't go
+ * through the user's data object. Changes are applied to the record straight away and queued,
+ * and the queue is written to the user data objects in batches by
+ * {@link #flushPreferences()}.</p>
+ */
 @Singleton
 public class UserPreferenceService implements IUserPreferenceService {
 
+    private static final Object NULL = new Object();
+
     private final ResourceKey resourceKey;
     private final DefaultedRegistryType<PreferenceKey<?>> registryType;
     private final NucleusKeysProvider provider;
     private final INucleusServiceCollection serviceCollection;
+    private final Set<PreferenceKey<?>> registeredKeys = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, PreferenceRecord> records = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<PreferenceKeyImpl<?>, Object>> pendingWrites = new ConcurrentHashMap<>();
 
     @Inject
     public UserPreferenceService(final INucleusServiceCollection serviceCollection) {
@@ -57,11 +74,68 @@ public class UserPreferenceService implements IUserPreferenceService {
 
     @Override
     public <T> void set(final UUID uuid, final PreferenceKeyImpl<T> key, @Nullable final T value) {
-        this.serviceCollection
-                .storageManager()
-                .getUserService()
-                .getOrNew(uuid)
-                .thenAccept(x -> x.set(key, value));
+        final PreferenceRecord record = this.records.get(uuid);
+        if (record != null) {
+            record.set(key, value == null ? key.getDefaultValue().orElse(null) : value);
+        }
+
+        // compute is atomic with respect to the removal in flushPreferences, so no write is lost.
+        this.pendingWrites.compute(uuid, (u, pending) -> {
+            final Map<PreferenceKeyImpl<?>, Object> writes = pending == null ? new ConcurrentHashMap<>() : pending;
+            writes.put(key, value == null ? NULL : value);
+            return writes;
+        });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public void loadPreferences(final UUID uuid) {
+        final IUserDataObject dataObject = this.serviceCollection.storageManager().getUserService().getOrNewOnThread(uuid);
+        final PreferenceRecord record = new PreferenceRecord(PreferenceKeyImpl.getObjectSlotCount());
+        this.registryType.get().stream().forEach(key -> {
+            if (key instanceof PreferenceKeyImpl) {
+                try {
+                    record.set((PreferenceKeyImpl) key, dataObject.getOrDefault((PreferenceKeyImpl) key));
+                } catch (final ClassCastException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+
+        // Anything that has yet to be written is newer than what we just read.
+        final Map<PreferenceKeyImpl<?>, Object> pending = this.pendingWrites.get(uuid);
+        if (pending != null) {
+            pending.forEach((key, value) -> record.set(key, value == NULL ? key.getDefaultValue().orElse(null) : value));
+        }
+        this.records.put(uuid, record);
+    }
+
+    @Override
+    public void unloadPreferences(final UUID uuid) {
+        this.flushPreferences(uuid);
+        this.records.remove(uuid);
+    }
+
+    @Override
+    public void flushPreferences() {
+        for (final UUID uuid : new ArrayList<>(this.pendingWrites.keySet())) {
+            this.flushPreferences(uuid);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void flushPreferences(final UUID uuid) {
+        final Map<PreferenceKeyImpl<?>, Object> pending = this.pendingWrites.remove(uuid);
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            final IUserDataObject dataObject = this.serviceCollection.storageManager().getUserService().getOrNewOnThread(uuid);
+            pending.forEach((key, value) -> dataObject.set((PreferenceKeyImpl) key, value == NULL ? null : value));
+        } catch (final Exception e) {
+            e.printStackTrace();
+        }
     }
 
     @SuppressWarnings("rawtypes")
@@ -77,17 +151,37 @@ public class UserPreferenceService implements IUserPreferenceService {
         return ret;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> Optional<T> get(final UUID uuid, final NucleusUserPreferenceService.PreferenceKey<T> key) {
-        if (!this.registryType.get().findValueKey(key).isPresent()) {
-            throw new IllegalArgumentException("Key is not registered.");
-        }
+        if (!this.registeredKeys.contains(key)) {
+            if (!this.registryType.get().findValueKey(key).isPresent()) {
+                throw new IllegalArgumentException("Key is not registered.");
+            }
 
-        if (!(key instanceof PreferenceKeyImpl)) {
-            throw new IllegalArgumentException("Custom preference keys are not supported.");
+            if (!(key instanceof PreferenceKeyImpl)) {
+                throw new IllegalArgumentException("Custom preference keys are not supported.");
+            }
+            this.registeredKeys.add(key);
         }
 
         final PreferenceKeyImpl<T> prefKey = (PreferenceKeyImpl<T>) key;
+        final PreferenceRecord record = this.records.get(uuid);
+        if (record != null) {
+            final Object value = record.get(prefKey);
+            if (value != PreferenceRecord.NOT_HELD) {
+                return Optional.ofNullable((T) value);
+            }
+        }
+
+        final Map<PreferenceKeyImpl<?>, Object> pending = this.pendingWrites.get(uuid);
+        if (pending != null) {
+            final Object value = pending.get(prefKey);
+            if (value != null) {
+                return value == NULL ? prefKey.getDefaultValue() : Optional.of((T) value);
+            }
+        }
+
         Optional<T> ot = Optional.empty();
         try {
             ot = this.serviceCollection
@@ -4,46 +4,69 @@
  */
 package io.github.nucleuspowered.nucleus.core.services.impl.warmup;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.nucleuspowered.nucleus.core.core.config.WarmupConfig;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IMessageProviderService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IWarmupService;
+import io.github.nucleuspowered.nucleus.core.util.TimingWheel;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.scheduler.ScheduledTask;
 import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.Ticks;
 import org.spongepowered.plugin.PluginContainer;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs warmups from a single task that ticks with the server, rather than a task per warmup.
+ *
+ * <p>Each player has at most one warmup, held in a concurrent map so that checking for and
+ * cancelling a warmup (which happens on every move) is a single lookup. Warmups are passed to
+ * the ticking task, which holds them in a {@link TimingWheel} until they are due. A cancelled
+ * warmup is left in the wheel and skipped when it comes round.</p>
+ */
 @Singleton
 public class WarmupService implements IWarmupService, IReloadableService.Reloadable {
 
-    private final Object lockingObject = new Object();
+    private static final long TICK_MILLIS = 50;
+    private static final int WHEEL_SLOTS = 512;
 
     private final PluginContainer pluginContainer;
     private final IMessageProviderService messageProviderService;
     private WarmupConfig warmupConfig = new WarmupConfig();
 
-    // player to task
-    private final BiMap<UUID, UUID> tasks = HashBiMap.create();
+    private final Map<UUID, Warmup> warmups = new ConcurrentHashMap<>();
 
-    // task to warmup
-    private final BiMap<UUID, WarmupTask> uuidToWarmup = HashBiMap.create();
+    // Only accessed from the warmup task, other threads pass warmups to it using the queue.
+    private final TimingWheel<Warmup> wheel = new TimingWheel<>(WHEEL_SLOTS, System.currentTimeMillis() / TICK_MILLIS);
+    private final Queue<Warmup> toSchedule = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean taskStarted = new AtomicBoolean(false);
+
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
 
     @Inject
-    public WarmupService(final PluginContainer pluginContainer, final IMessageProviderService messageProviderService, final IReloadableService reloadableService) {
+    public WarmupService(final PluginContainer pluginContainer,
+            final IMessageProviderService messageProviderService,
+            final IReloadableService reloadableService,
+            final IMetricsService metricsService) {
         this.pluginContainer = pluginContainer;
         this.messageProviderService = messageProviderService;
         reloadableService.registerReloadable(this);
+        metricsService.registerGauge("warmup.active", this.warmups::size);
+        metricsService.registerGauge("warmup.fired", this.fired::sum);
+        metricsService.registerGauge("warmup.cancelled", this.cancelled::sum);
     }
 
     @Override
@@ -52,79 +75,85 @@ public class WarmupService implements IWarmupService, IReloadableService.Reloada
     }
 
     @Override public void executeAfter(final Player target, final Duration duration, final WarmupTask runnable, final boolean sendMessage) {
-         synchronized (this.lockingObject) {
-            this.cancelInternal(target);
-
-            if (sendMessage) {
-                this.messageProviderService.sendMessageTo(target, "warmup.start",
-                        this.messageProviderService.getTimeString(target.locale(), duration));
-                if (this.warmupConfig.isOnCommand() && this.warmupConfig.isOnMove()) {
-                    this.messageProviderService.sendMessageTo(target, "warmup.both");
-                } else if (this.warmupConfig.isOnCommand()) {
-                    this.messageProviderService.sendMessageTo(target, "warmup.onCommand");
-                } else if (this.warmupConfig.isOnMove()) {
-                    this.messageProviderService.sendMessageTo(target, "warmup.onMove");
-                }
+        final UUID playerTarget = target.uniqueId();
+        final Warmup warmup = new Warmup(playerTarget, runnable, System.currentTimeMillis() + duration.toMillis());
+        final Warmup previous = this.warmups.put(playerTarget, warmup);
+        if (previous != null) {
+            this.cancelWarmup(previous);
+        }
+
+        if (sendMessage) {
+            this.messageProviderService.sendMessageTo(target, "warmup.start",
+                    this.messageProviderService.getTimeString(target.locale(), duration));
+            if (this.warmupConfig.isOnCommand() && this.warmupConfig.isOnMove()) {
+                this.messageProviderService.sendMessageTo(target, "warmup.both");
+            } else if (this.warmupConfig.isOnCommand()) {
+                this.messageProviderService.sendMessageTo(target, "warmup.onCommand");
+            } else if (this.warmupConfig.isOnMove()) {
+                this.messageProviderService.sendMessageTo(target, "warmup.onMove");
             }
+        }
 
-            // build the task
-            final UUID playerTarget = target.uniqueId();
-            final Consumer<ScheduledTask> taskToSubmit = (ScheduledTask task) -> {
-                this.tasks.remove(playerTarget);
-                this.uuidToWarmup.remove(task.uniqueId());
-
-                if (Sponge.server().player(playerTarget).isPresent()) {
-                    // Only run if the player is still on the server.
-                    runnable.run();
-                }
-            };
-
-            final Task t = Task.builder()
-                    .delay(duration.toMillis(), TimeUnit.MILLISECONDS)
-                    .execute(taskToSubmit)
+        this.toSchedule.offer(warmup);
+        if (this.taskStarted.compareAndSet(false, true)) {
+            Sponge.server().scheduler().submit(Task.builder()
+                    .interval(Ticks.of(1))
+                    .execute(this::onTick)
                     .plugin(this.pluginContainer)
-                    .build();
-            final ScheduledTask scheduledTask = Sponge.server().scheduler().submit(t, "Nucleus Warmup task: " + playerTarget.toString());
-            this.tasks.put(playerTarget, scheduledTask.uniqueId());
-            this.uuidToWarmup.put(scheduledTask.uniqueId(), runnable);
+                    .build(), "Nucleus Warmup task");
         }
     }
 
     @Override public boolean cancel(final Player player) {
-        synchronized (this.lockingObject) {
-            return this.cancelInternal(player);
+        // Most players that move don't have a warmup, so check before removing anything.
+        final Warmup warmup = this.warmups.get(player.uniqueId());
+        if (warmup == null || !this.warmups.remove(player.uniqueId(), warmup)) {
+            return false;
         }
-    }
 
-    private boolean cancelInternal(final Player player) {
-        final UUID taskUUID = this.tasks.get(player.uniqueId());
-        if (taskUUID != null) {
-            Sponge.server().scheduler().findTask(taskUUID).ifPresent(ScheduledTask::cancel);
-            final WarmupTask task = this.uuidToWarmup.get(taskUUID);
-            if (task != null) {
-                // if we get here, it was never cancelled.
-                task.onCancel();
-            }
+        this.cancelWarmup(warmup);
+        return true;
+    }
 
-            this.uuidToWarmup.remove(taskUUID);
+    private void cancelWarmup(final Warmup warmup) {
+        if (warmup.finish()) {
+            this.cancelled.increment();
+            warmup.task.onCancel();
         }
-        this.tasks.remove(player.uniqueId());
-        return taskUUID != null;
     }
 
     @Override public boolean awaitingExecution(final Player player) {
-        synchronized (this.lockingObject) {
-            final UUID taskUUID = this.tasks.get(player.uniqueId());
-            if (taskUUID != null) {
-                if (Sponge.server().scheduler().findTask(taskUUID).isPresent()) {
-                    // remove entries
-                    return true;
-                } else {
-                    this.uuidToWarmup.remove(taskUUID);
-                }
+        final Warmup warmup = this.warmups.get(player.uniqueId());
+        return warmup != null && !warmup.isFinished();
+    }
+
+    private void onTick() {
+        Warmup warmup;
+        while ((warmup = this.toSchedule.poll()) != null) {
+            if (!warmup.isFinished()) {
+                // Round up, so that the warmup is never shorter than asked for.
+                this.wheel.schedule(warmup, (warmup.due + TICK_MILLIS - 1) / TICK_MILLIS);
+            }
+        }
+
+        this.wheel.advance(System.currentTimeMillis() / TICK_MILLIS, this::fire);
+    }
+
+    private void fire(final Warmup warmup) {
+        if (!warmup.finish()) {
+            // Cancelled or replaced while it was waiting.
+            return;
+        }
+
+        this.warmups.remove(warmup.player, warmup);
+        this.fired.increment();
+        if (Sponge.server().player(warmup.player).isPresent()) {
+            // Only run if the player is still on the server.
+            try {
+                warmup.task.run();
+            } catch (final Exception e) {
+                e.printStackTrace();
             }
-            this.tasks.remove(player.uniqueId());
-            return false;
         }
     }
 
@@ -132,4 +161,33 @@ public class WarmupService implements IWarmupService, IReloadableService.Reloada
     public void onReload(final INucleusServiceCollection serviceCollection) {
         this.warmupConfig = serviceCollection.configProvider().getCoreConfig().getWarmupConfig();
     }
+
+    private static final class Warmup {
+
+        private final UUID player;
+        private final WarmupTask task;
+        private final long due;
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+
+        private Warmup(final UUID player, final WarmupTask task, final long due) {
+            this.player = player;
+            this.task = task;
+            this.due = due;
+        }
+
+        /**
+         * Marks the warmup as either run or cancelled.
+         *
+         * @return true if it had not already been
+         */
+        private boolean finish() {
+            return this.finished.compareAndSet(false, true);
+        }
+
+        private boolean isFinished() {
+            return this.finished.get();
+        }
+
+    }
+
 }
@@ -10,9 +10,13 @@ import org.spongepowered.api.util.Identifiable;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * A service that contains information about cooldowns.
+ *
+ * <p>Cooldowns are held in memory. If the core config asks for it, long cooldowns are also
+ * saved when a player logs out or the server stops, and restored when they next log in.</p>
  */
 @ImplementedBy(CooldownService.class)
 public interface ICooldownService {
@@ -53,4 +57,33 @@ public interface ICooldownService {
      */
     void clearCooldown(String key, Identifiable identifiable);
 
+    /**
+     * Restores the saved cooldowns of the player, keeping any that are already held if they
+     * expire later.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    void loadCooldowns(UUID uuid);
+
+    /**
+     * Saves the cooldowns of the player that are long enough to be kept across restarts, if
+     * that is enabled.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    void saveCooldowns(UUID uuid);
+
+    /**
+     * Saves the long cooldowns of every player that has one, if that is enabled.
+     */
+    void saveCooldowns();
+
+    /**
+     * Gets the number of cooldowns that are held, which may include some that have expired
+     * but have yet to be removed.
+     *
+     * @return The number of cooldowns
+     */
+    int size();
+
 }
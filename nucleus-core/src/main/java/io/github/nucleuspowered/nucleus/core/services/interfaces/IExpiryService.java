@@ -0,0 +1,67 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.interfaces;
+
+import com.google.inject.ImplementedBy;
+import io.github.nucleuspowered.nucleus.core.services.impl.expiry.ExpiryService;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Tracks when timed entries for players, such as temporary mutes and jailings, expire, and
+ * runs the handler for the entry's category on the main thread when they do.
+ *
+ * <p>Entries are checked once a second by a single task, and only entries that are due are
+ * visited.</p>
+ */
+@ImplementedBy(ExpiryService.class)
+public interface IExpiryService {
+
+    /**
+     * Registers the handler for a category, replacing any existing handler. The handler should
+     * check that the entry has actually expired, as it may have been replaced by the time the
+     * handler runs.
+     *
+     * @param category The category
+     * @param handler The handler, which accepts the {@link UUID} of the player
+     */
+    void registerHandler(String category, Consumer<UUID> handler);
+
+    /**
+     * Schedules the player's entry in the category to expire at the given time, replacing any
+     * existing deadline for that entry.
+     *
+     * @param category The category
+     * @param uuid The {@link UUID} of the player
+     * @param expiry When the entry expires
+     */
+    void schedule(String category, UUID uuid, Instant expiry);
+
+    /**
+     * Removes the player's entry in the category.
+     *
+     * @param category The category
+     * @param uuid The {@link UUID} of the player
+     * @return true if there was an entry
+     */
+    boolean cancel(String category, UUID uuid);
+
+    boolean isScheduled(String category, UUID uuid);
+
+    /**
+     * Gets the number of entries across all categories.
+     *
+     * @return The number of entries
+     */
+    int size();
+
+    /**
+     * Finds the entries that have expired and dispatches them to their handlers.
+     */
+    void tick();
+
+}
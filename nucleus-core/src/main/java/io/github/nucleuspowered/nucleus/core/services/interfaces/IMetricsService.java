@@ -0,0 +1,150 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.services.interfaces;
+
+import com.google.inject.ImplementedBy;
+import io.github.nucleuspowered.nucleus.core.services.impl.metrics.MetricsService;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Collects timings and counts from the busier parts of Nucleus, so that server owners can see
+ * where time is being spent.
+ *
+ * <p>Metrics are off unless they are enabled in the core config. While they are off, starting a
+ * {@link Timer} returns straight away and nothing is recorded.</p>
+ */
+@ImplementedBy(MetricsService.class)
+public interface IMetricsService {
+
+    /**
+     * Gets whether metrics are being recorded.
+     *
+     * @return true if so
+     */
+    boolean isEnabled();
+
+    /**
+     * Gets the timer with the given name, creating it if it does not exist. Callers should hold
+     * on to the timer rather than looking it up each time.
+     *
+     * @param name The name, in lower case with dots between words
+     * @return The {@link Timer}
+     */
+    Timer timer(String name);
+
+    /**
+     * Gets the counter with the given name, creating it if it does not exist.
+     *
+     * @param name The name, in lower case with dots between words
+     * @return The {@link Counter}
+     */
+    Counter counter(String name);
+
+    /**
+     * Registers a value that is read whenever the metrics are reported, replacing any with the
+     * same name.
+     *
+     * @param name The name, in lower case with dots between words
+     * @param gauge The supplier of the value
+     */
+    void registerGauge(String name, LongSupplier gauge);
+
+    /**
+     * Registers a set of values that are read whenever the metrics are reported, for when the
+     * names are not known in advance.
+     *
+     * @param gauges The supplier of the names and values
+     */
+    void registerGauges(Supplier<Map<String, Long>> gauges);
+
+    /**
+     * Gets the timers, sorted by name.
+     *
+     * @return The timers
+     */
+    Map<String, Timer> getTimers();
+
+    /**
+     * Gets the counters, sorted by name.
+     *
+     * @return The counters
+     */
+    Map<String, Counter> getCounters();
+
+    /**
+     * Reads the gauges, sorted by name.
+     *
+     * @return The current value of each gauge
+     */
+    Map<String, Long> getGauges();
+
+    /**
+     * Gets the metrics as a JSON document.
+     *
+     * @return The JSON
+     */
+    String toJson();
+
+    /**
+     * Gets the metrics in the Prometheus text exposition format.
+     *
+     * @return The text
+     */
+    String toPrometheus();
+
+    /**
+     * Writes the metrics to disk if metrics are enabled and the dump interval has passed since
+     * they were last written.
+     */
+    void dumpIfDue();
+
+    /**
+     * Times an operation.
+     */
+    interface Timer {
+
+        /**
+         * Marks the start of an operation.
+         *
+         * @return The value to pass to {@link #stop(long)}, which is zero if metrics are off
+         */
+        long start();
+
+        /**
+         * Marks the end of an operation that was started with {@link #start()}.
+         *
+         * @param start The value returned by {@link #start()}
+         */
+        void stop(long start);
+
+        long getCount();
+
+        long getTotalNanos();
+
+        long getMaxNanos();
+
+        double getMeanNanos();
+
+        long getQuantileNanos(double quantile);
+
+    }
+
+    /**
+     * Counts events.
+     */
+    interface Counter {
+
+        void increment();
+
+        void add(long amount);
+
+        long get();
+
+    }
+
+}
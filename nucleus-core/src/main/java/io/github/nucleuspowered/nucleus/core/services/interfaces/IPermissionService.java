@@ -10,6 +10,7 @@ import io.github.nucleuspowered.nucleus.core.services.impl.permission.NucleusPer
 import io.github.nucleuspowered.nucleus.core.services.interfaces.annotation.PermissionMetadata;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.data.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.core.util.PermissionMessageChannel;
+import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.Subject;
@@ -23,6 +24,7 @@ import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @ImplementedBy(NucleusPermissionService.class)
 public interface IPermissionService {
@@ -59,6 +61,16 @@ public interface IPermissionService {
 
     PermissionMessageChannel permissionMessageChannel(String permission);
 
+    /**
+     * Gets the online players that have the given permission. Membership is maintained as
+     * players join, leave and have their permissions changed, so this is cheap to call
+     * repeatedly.
+     *
+     * @param permission The permission
+     * @return The players, which must not be modified
+     */
+    List<ServerPlayer> onlinePlayersWithPermission(String permission);
+
     Collection<Metadata> getAllMetadata();
 
     Optional<Metadata> getMetadataFor(String permission);
@@ -79,6 +91,34 @@ public interface IPermissionService {
 
     void removePlayerContexts(UUID uuid);
 
+    /**
+     * Discards the cached permissions and options for the given online player.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    void invalidateSubjectCache(UUID uuid);
+
+    /**
+     * Discards the cached permissions and options for all players.
+     */
+    void invalidateSubjectCache();
+
+    /**
+     * Gets a value that is derived from the subject's permissions or options. For online players,
+     * the value is cached alongside their permissions, and is discarded when they are.
+     *
+     * @param subject The subject
+     * @param key The key that identifies the value
+     * @param function The function that computes the value
+     * @param <T> The type of value
+     * @return The value
+     */
+    <T> T getCachedForSubject(Subject subject, String key, Function<Subject, T> function);
+
+    long getSubjectCacheHits();
+
+    long getSubjectCacheMisses();
+
     void register(String id, Class<?> permissions);
 
     interface Metadata {
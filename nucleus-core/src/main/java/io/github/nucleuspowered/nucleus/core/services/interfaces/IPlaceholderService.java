@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.core.services.interfaces;
 import com.google.inject.ImplementedBy;
 import io.github.nucleuspowered.nucleus.api.placeholder.NucleusPlaceholderService;
 import io.github.nucleuspowered.nucleus.core.services.impl.placeholder.PlaceholderMetadata;
+import io.github.nucleuspowered.nucleus.core.services.impl.placeholder.PlaceholderRenderStatistics;
 import io.github.nucleuspowered.nucleus.core.services.impl.placeholder.PlaceholderService;
 import org.spongepowered.api.placeholder.PlaceholderParser;
 
@@ -23,4 +24,11 @@ public interface IPlaceholderService extends NucleusPlaceholderService {
     void registerToken(String tokenName, PlaceholderParser parser, boolean document);
 
     Map<String, PlaceholderMetadata> getNucleusParsers();
+
+    /**
+     * Gets the render statistics for each placeholder that has been rendered, by token name.
+     *
+     * @return The statistics
+     */
+    Map<String, PlaceholderRenderStatistics> getRenderStatistics();
 }
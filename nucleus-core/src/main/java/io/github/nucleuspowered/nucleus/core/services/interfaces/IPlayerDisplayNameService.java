@@ -8,15 +8,19 @@ import com.google.inject.ImplementedBy;
 import io.github.nucleuspowered.nucleus.core.services.impl.playername.PlayerDisplayNameService;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.util.Nameable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 @ImplementedBy(PlayerDisplayNameService.class)
@@ -43,8 +47,78 @@ public interface IPlayerDisplayNameService {
      */
     Map<UUID, List<String>> startsWith(String displayName);
 
+    /**
+     * Adds the name of an online player to the index used by {@link #startsWith(String)} and
+     * {@link #getUser(String)}.
+     *
+     * @param player The player
+     */
+    void addToNameIndex(ServerPlayer player);
+
+    /**
+     * Sets the nickname of an online player in the index used by {@link #startsWith(String)}
+     * and {@link #getUser(String)}.
+     *
+     * @param uuid The {@link UUID} of the player
+     * @param nickname The plain nickname, or null to remove it
+     */
+    void setIndexedNickname(UUID uuid, @Nullable String nickname);
+
+    /**
+     * Removes the name and nickname of a player from the index, for when they leave.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    void removeFromNameIndex(UUID uuid);
+
+    /**
+     * Gets the display name of the player.
+     *
+     * <p>Display names are cached. If the player is offline and their display name is not
+     * cached, their plain name may be returned while the user is loaded in the background,
+     * use {@link #getDisplayNameAsync(UUID)} if the full display name is required.</p>
+     *
+     * @param playerUUID The {@link UUID} of the player
+     * @return The display name
+     */
     Component getDisplayName(UUID playerUUID);
 
+    /**
+     * Gets the display name of the player, loading the user off the calling thread if the
+     * display name is not cached.
+     *
+     * @param playerUUID The {@link UUID} of the player
+     * @return A future that completes with the display name
+     */
+    CompletableFuture<Component> getDisplayNameAsync(UUID playerUUID);
+
+    /**
+     * Discards the cached display name for the player, for when something that makes up
+     * their display name changes.
+     *
+     * @param playerUUID The {@link UUID} of the player
+     */
+    void invalidateDisplayName(UUID playerUUID);
+
+    /**
+     * Discards all cached display names.
+     */
+    void invalidateDisplayNames();
+
+    long getDisplayNameCacheHits();
+
+    long getDisplayNameCacheMisses();
+
+    /**
+     * Gets the number of display names that have been built, for use with
+     * {@link #getDisplayNameLoadNanos()}.
+     *
+     * @return The number of display names built
+     */
+    long getDisplayNameLoads();
+
+    long getDisplayNameLoadNanos();
+
     default Component getDisplayName(final Player player) {
         return this.getDisplayName(player.uniqueId());
     }
@@ -82,7 +156,19 @@ public interface IPlayerDisplayNameService {
 
         Optional<User> resolve(String name);
 
-        Map<UUID, String> startsWith(String name);
+        /**
+         * Gets the players with names that start with the given name.
+         *
+         * <p>Names that are added to the index through
+         * {@link IPlayerDisplayNameService#setIndexedNickname(UUID, String)} will already be
+         * found, and do not need to be returned here.</p>
+         *
+         * @param name The start of the name
+         * @return The players and the names that matched
+         */
+        default Map<UUID, String> startsWith(final String name) {
+            return Collections.emptyMap();
+        }
 
     }
 
@@ -18,6 +18,7 @@ import io.github.nucleuspowered.storage.dataobjects.IDataObject;
 import io.github.nucleuspowered.storage.persistence.IStorageRepository;
 import io.github.nucleuspowered.storage.persistence.IStorageRepositoryFactory;
 import io.github.nucleuspowered.storage.services.IStorageService;
+import io.github.nucleuspowered.storage.services.StorageWriteScheduler;
 import org.spongepowered.api.ResourceKey;
 
 import java.util.Optional;
@@ -31,6 +32,8 @@ public interface IStorageManager {
 
     IStorageRepositoryFactory getFlatFileRepositoryFactory();
 
+    StorageWriteScheduler getWriteScheduler();
+
     // ugh
     <T extends IDataObject, S extends IStorageService<T>> void register(
             final IStorageModule<T, S, ? extends IStorageRepository, ? extends IDataTranslator<T, JsonObject>> module);
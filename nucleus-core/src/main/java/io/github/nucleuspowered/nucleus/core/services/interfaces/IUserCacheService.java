@@ -7,9 +7,11 @@ package io.github.nucleuspowered.nucleus.core.services.interfaces;
 import com.google.inject.ImplementedBy;
 import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.modular.IUserDataObject;
 import io.github.nucleuspowered.nucleus.core.services.impl.usercache.UserCacheService;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -40,6 +42,17 @@ public interface IUserCacheService {
 
     boolean fileWalk();
 
+    /**
+     * Rebuilds the cache from the stored user data.
+     *
+     * @param resume If true, users that are already in the cache are not reloaded. Used to continue
+     *               a walk that was interrupted.
+     * @param progressListener If not null, called after each group of users has been processed with the
+     *                         number of users processed and the total number of users to process
+     * @return true if the walk was run, false if a walk was already in progress
+     */
+    boolean fileWalk(boolean resume, @Nullable BiConsumer<Integer, Integer> progressListener);
+
     void setJailProcessor(Function<IUserDataObject, String> func);
 
     void setMutedProcessor(Predicate<IUserDataObject> func);
@@ -28,6 +28,28 @@ public interface IUserPreferenceService extends NucleusUserPreferenceService {
 
     <T> T getUnwrapped(UUID uuid, PreferenceKey<T> key);
 
+    /**
+     * Reads the preferences of a player that is joining the server, so that they can be read
+     * without going to their data object.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    void loadPreferences(UUID uuid);
+
+    /**
+     * Writes any pending preference changes for a player who is leaving the server, and
+     * discards their held preferences.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    void unloadPreferences(UUID uuid);
+
+    /**
+     * Writes all pending preference changes to the user data objects. This may load users, so
+     * should be called off the main thread where possible.
+     */
+    void flushPreferences();
+
     @Override NucleusKeysProvider keys();
 
 }
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds entries against the {@link Instant} they expire, so that finding the expired entries
+ * only visits the entries that are due rather than every entry.
+ *
+ * <p>Deadlines are rounded up to the resolution of the queue, so an entry is never returned
+ * before it has expired, but it may be returned up to one resolution late. This class is
+ * thread safe.</p>
+ *
+ * @param <K> The type of entry
+ */
+public final class ExpiryQueue<K> {
+
+    private final long resolutionMillis;
+    private final TimingWheel<K> wheel;
+
+    /**
+     * Creates a queue.
+     *
+     * @param resolutionMillis The resolution of the queue, in milliseconds
+     * @param slots The number of slots in the underlying {@link TimingWheel}
+     * @param now The current time
+     */
+    public ExpiryQueue(final long resolutionMillis, final int slots, final Instant now) {
+        if (resolutionMillis < 1) {
+            throw new IllegalArgumentException("resolutionMillis must be at least 1");
+        }
+        this.resolutionMillis = resolutionMillis;
+        this.wheel = new TimingWheel<>(slots, Math.floorDiv(now.toEpochMilli(), resolutionMillis));
+    }
+
+    /**
+     * Schedules the entry to expire at the given time, replacing any existing deadline.
+     *
+     * @param entry The entry
+     * @param expiry When the entry expires
+     */
+    public synchronized void schedule(final K entry, final Instant expiry) {
+        final long tick = Math.floorDiv(expiry.toEpochMilli() + this.resolutionMillis - 1, this.resolutionMillis);
+        this.wheel.schedule(entry, tick);
+    }
+
+    /**
+     * Removes the entry.
+     *
+     * @param entry The entry
+     * @return true if the entry was scheduled
+     */
+    public synchronized boolean cancel(final K entry) {
+        return this.wheel.cancel(entry);
+    }
+
+    public synchronized boolean isScheduled(final K entry) {
+        return this.wheel.isScheduled(entry);
+    }
+
+    public synchronized int size() {
+        return this.wheel.size();
+    }
+
+    /**
+     * Removes and returns the entries that have expired by the given time.
+     *
+     * @param now The current time
+     * @return The expired entries
+     */
+    public synchronized List<K> poll(final Instant now) {
+        final List<K> expired = new ArrayList<>();
+        this.wheel.advance(Math.floorDiv(now.toEpochMilli(), this.resolutionMillis), expired::add);
+        return expired;
+    }
+
+}
@@ -4,16 +4,20 @@
  */
 package io.github.nucleuspowered.nucleus.core.util;
 
+import com.google.common.collect.Iterables;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IPermissionService;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.ForwardingAudience;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 
+/**
+ * An {@link Audience} made up of the console and the online players with a permission. The
+ * players are taken from {@link IPermissionService#onlinePlayersWithPermission(String)}, so
+ * sending does not check every online player.
+ */
 public class PermissionMessageChannel implements ForwardingAudience {
 
     private final String permission;
@@ -26,15 +30,9 @@ public class PermissionMessageChannel implements ForwardingAudience {
 
     @Override
     public @NonNull Iterable<? extends Audience> audiences() {
-        final List<Audience> audiences = new ArrayList<>();
-        audiences.add(Sponge.systemSubject());
-        for (final ServerPlayer pl : Sponge.server().onlinePlayers()) {
-            if (this.permissionService.hasPermission(pl, this.permission)) {
-                audiences.add(pl);
-            }
-        }
-
-        return audiences;
+        return Iterables.concat(
+                Collections.singletonList(Sponge.systemSubject()),
+                this.permissionService.onlinePlayersWithPermission(this.permission));
     }
 
 }
@@ -0,0 +1,177 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.util;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A trie that maps string keys to values, and that can find the value for the longest key
+ * that starts a given string in time proportional to the length of that string, rather than
+ * the number of keys. It can also list every key that starts with a given prefix in time
+ * proportional to the length of the prefix plus the size of the matching keys.
+ *
+ * <p>This class is not thread safe. Concurrent reads are fine once all writes have been
+ * safely published.</p>
+ *
+ * @param <V> The type of value
+ */
+public final class PrefixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    private int size = 0;
+
+    /**
+     * Associates the value with the key, replacing any existing value.
+     *
+     * @param key The key
+     * @param value The value
+     * @return The previous value, if any
+     */
+    @Nullable
+    public V put(final String key, final V value) {
+        Node<V> node = this.root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+
+        final V previous = node.value;
+        node.value = value;
+        if (previous == null) {
+            this.size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Gets the value associated with exactly this key.
+     *
+     * @param key The key
+     * @return The value, or null
+     */
+    @Nullable
+    public V get(final String key) {
+        final Node<V> node = this.find(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Removes the value associated with the key, pruning any branches that become empty.
+     *
+     * @param key The key
+     * @return The removed value, if any
+     */
+    @Nullable
+    public V remove(final String key) {
+        final List<Node<V>> path = new ArrayList<>(key.length() + 1);
+        Node<V> node = this.root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            if (node == null) {
+                return null;
+            }
+            path.add(node);
+        }
+
+        if (node.value == null) {
+            return null;
+        }
+
+        final V previous = node.value;
+        node.value = null;
+        this.size--;
+
+        for (int i = key.length(); i > 0; i--) {
+            final Node<V> current = path.get(i);
+            if (current.value != null || !current.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(key.charAt(i - 1));
+        }
+
+        return previous;
+    }
+
+    /**
+     * Passes every key that starts with the prefix, and its value, to the action.
+     *
+     * @param prefix The prefix, which will match itself
+     * @param action The action to perform on each key and value
+     */
+    public void forEachWithPrefix(final String prefix, final BiConsumer<String, V> action) {
+        final Node<V> node = this.find(prefix);
+        if (node != null) {
+            this.forEach(new StringBuilder(prefix), node, action);
+        }
+    }
+
+    /**
+     * Gets the value for the longest key that the given string starts with.
+     *
+     * @param string The string
+     * @return The value, or null if no key is a prefix of the string
+     */
+    @Nullable
+    public V longestPrefixOf(final String string) {
+        Node<V> node = this.root;
+        V result = node.value;
+        for (int i = 0; i < string.length(); i++) {
+            node = node.children.get(string.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                result = node.value;
+            }
+        }
+
+        return result;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void clear() {
+        this.root.children.clear();
+        this.root.value = null;
+        this.size = 0;
+    }
+
+    private void forEach(final StringBuilder key, final Node<V> node, final BiConsumer<String, V> action) {
+        if (node.value != null) {
+            action.accept(key.toString(), node.value);
+        }
+
+        for (final Map.Entry<Character, Node<V>> child : node.children.entrySet()) {
+            key.append(child.getKey().charValue());
+            this.forEach(key, child.getValue(), action);
+            key.setLength(key.length() - 1);
+        }
+    }
+
+    @Nullable
+    private Node<V> find(final String key) {
+        Node<V> node = this.root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static final class Node<V> {
+
+        private final Map<Character, Node<V>> children = new HashMap<>(4);
+        @Nullable private V value;
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A hashed timing wheel, which holds entries against the tick at which they are due.
+ *
+ * <p>Scheduling, rescheduling and cancelling an entry are constant time operations, and
+ * advancing the wheel by one tick only visits the entries in a single slot. Entries that are
+ * due more than one revolution in the future share a slot with nearer entries, and are
+ * skipped until their tick is reached.</p>
+ *
+ * <p>This class is not thread safe. It is expected that a single thread (usually a repeating
+ * task) owns the wheel, and that other threads pass work to that thread.</p>
+ *
+ * @param <T> The type of entry
+ */
+public final class TimingWheel<T> {
+
+    private final List<Set<T>> slots;
+    private final Map<T, Long> scheduled = new HashMap<>();
+    private final int mask;
+    private long currentTick;
+
+    /**
+     * Creates a wheel.
+     *
+     * @param slotCount The number of slots. Will be rounded up to the next power of two.
+     * @param currentTick The tick the wheel starts at
+     */
+    public TimingWheel(final int slotCount, final long currentTick) {
+        final int size = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.slots.add(new HashSet<>());
+        }
+        this.mask = size - 1;
+        this.currentTick = currentTick;
+    }
+
+    /**
+     * Schedules the entry to be returned when the wheel reaches the given tick, replacing
+     * any existing schedule for the entry. Ticks that have already passed will be returned
+     * on the next call to {@link #advance(long, Consumer)}.
+     *
+     * @param entry The entry
+     * @param tick The tick the entry is due
+     */
+    public void schedule(final T entry, final long tick) {
+        final long dueTick = Math.max(tick, this.currentTick + 1);
+        final Long previous = this.scheduled.put(entry, dueTick);
+        if (previous != null) {
+            this.slot(previous).remove(entry);
+        }
+        this.slot(dueTick).add(entry);
+    }
+
+    /**
+     * Removes the entry from the wheel.
+     *
+     * @param entry The entry
+     * @return true if the entry was scheduled
+     */
+    public boolean cancel(final T entry) {
+        final Long previous = this.scheduled.remove(entry);
+        if (previous != null) {
+            this.slot(previous).remove(entry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets whether the entry is scheduled.
+     *
+     * @param entry The entry
+     * @return true if so
+     */
+    public boolean isScheduled(final T entry) {
+        return this.scheduled.containsKey(entry);
+    }
+
+    /**
+     * Gets the number of scheduled entries.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return this.scheduled.size();
+    }
+
+    /**
+     * Gets the tick that the wheel has advanced to.
+     *
+     * @return The tick
+     */
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    /**
+     * Advances the wheel to the given tick, removing each entry that has become due and passing
+     * it to the supplied consumer. The consumer may reschedule the entry it is given.
+     *
+     * @param tick The tick to advance to
+     * @param dueConsumer The consumer to pass due entries to
+     */
+    public void advance(final long tick, final Consumer<T> dueConsumer) {
+        if (tick <= this.currentTick) {
+            return;
+        }
+
+        // If we have fallen more than a revolution behind, each slot only needs to be visited once.
+        final long start = Math.max(this.currentTick + 1, tick - this.mask);
+        final List<T> due = new ArrayList<>();
+        for (long t = start; t <= tick; t++) {
+            final Iterator<T> iterator = this.slot(t).iterator();
+            while (iterator.hasNext()) {
+                final T entry = iterator.next();
+                if (this.scheduled.get(entry) <= tick) {
+                    iterator.remove();
+                    this.scheduled.remove(entry);
+                    due.add(entry);
+                }
+            }
+        }
+
+        this.currentTick = tick;
+        due.forEach(dueConsumer);
+    }
+
+    private Set<T> slot(final long tick) {
+        return this.slots.get((int) (tick & this.mask));
+    }
+
+}
@@ -10,12 +10,26 @@ import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AbstractKeyBasedDataObject<T extends IKeyedDataObject<T>> extends AbstractConfigurateBackedDataObject implements IKeyedDataObject<T> {
 
+    // Stands in for null values in the caches below.
+    private static final Object NULL = new Object();
+
     private transient boolean isDirty = false;
 
+    // Decoded values, so that repeated gets do not walk and deserialise the backing node. Collections
+    // and maps are copied on the way out, so that callers can't change the cached value.
+    private final Map<DataKey<?, ?>, Object> valueCache = new ConcurrentHashMap<>();
+
     @Override
     public final void markDirty() {
         this.isDirty = true;
@@ -33,7 +47,14 @@ public class AbstractKeyBasedDataObject<T extends IKeyedDataObject<T>> extends A
 
     @Override
     public boolean has(final DataKey<?, ? extends T> dataKey) {
-        return !this.getNode(dataKey.getDataPath()).virtual();
+        final Object cached = this.valueCache.get(dataKey);
+        if (cached != null && cached != NULL) {
+            return true;
+        }
+
+        synchronized (this) {
+            return !this.getNode(dataKey.getDataPath()).virtual();
+        }
     }
 
     public <V> Value<V> getAndSet(final DataKey<V, ? extends T> dataKey) {
@@ -43,11 +64,20 @@ public class AbstractKeyBasedDataObject<T extends IKeyedDataObject<T>> extends A
     @Nullable
     @SuppressWarnings("unchecked")
     public <V> V getNullable(final DataKey<V, ? extends T> dataKey) {
-        try {
-            return (V) this.getNode(dataKey.getDataPath()).get(dataKey.getKeyType());
-        } catch (final ConfigurateException e) {
-            e.printStackTrace();
-            return null;
+        final Object cached = this.valueCache.get(dataKey);
+        if (cached != null) {
+            return cached == NULL ? null : (V) copyOf(cached);
+        }
+
+        synchronized (this) {
+            try {
+                final V value = (V) this.getNode(dataKey.getDataPath()).get(dataKey.getKeyType());
+                this.valueCache.put(dataKey, value == null ? NULL : value);
+                return value == null ? null : (V) copyOf(value);
+            } catch (final ConfigurateException e) {
+                e.printStackTrace();
+                return null;
+            }
         }
     }
 
@@ -65,26 +95,51 @@ public class AbstractKeyBasedDataObject<T extends IKeyedDataObject<T>> extends A
         return Optional.ofNullable(this.getNullable(dataKey));
     }
 
-    public <V> boolean set(final DataKey<V, ? extends T> dataKey, final V data) {
+    public synchronized <V> boolean set(final DataKey<V, ? extends T> dataKey, final V data) {
         try {
             this.getNode(dataKey.getDataPath()).set(dataKey.getKeyType(), data);
-            this.markDirty();
-            return true;
-        } catch (final ConfigurateException e) {
+        } catch (final SerializationException e) {
             e.printStackTrace();
+            // The node may have been partly written, so read it again next time.
+            this.invalidate(dataKey);
             return false;
         }
+
+        this.invalidate(dataKey);
+        this.valueCache.put(dataKey, data == null ? NULL : copyOf(data));
+        return true;
     }
 
-    public void remove(final DataKey<?, ? extends T> dataKey) {
+    public synchronized void remove(final DataKey<?, ? extends T> dataKey) {
         try {
             this.getNode(dataKey.getDataPath()).set(null);
         } catch (final SerializationException e) {
             e.printStackTrace();
         }
+
+        this.invalidate(dataKey);
+        this.valueCache.put(dataKey, NULL);
+    }
+
+    private void invalidate(final DataKey<?, ? extends T> dataKey) {
+        // Any other cached key under the same top level node may be affected by this write.
+        final String topLevel = dataKey.getDataPath()[0];
+        this.valueCache.keySet().removeIf(x -> x.getDataPath()[0].equals(topLevel));
+        this.invalidateSnapshot(topLevel);
         this.markDirty();
     }
 
+    private static Object copyOf(final Object value) {
+        if (value instanceof List) {
+            return new ArrayList<>((List<?>) value);
+        } else if (value instanceof Set) {
+            return new LinkedHashSet<>((Set<?>) value);
+        } else if (value instanceof Map) {
+            return new LinkedHashMap<>((Map<?, ?>) value);
+        }
+        return value;
+    }
+
     private ConfigurationNode getNode(final String[] key) {
         ConfigurationNode r = this.backingNode;
         for (final String k : key) {
@@ -95,8 +150,9 @@ public class AbstractKeyBasedDataObject<T extends IKeyedDataObject<T>> extends A
     }
 
     @Override
-    public void setBackingNode(final ConfigurationNode node) {
+    public synchronized void setBackingNode(final ConfigurationNode node) {
         this.markDirty(false);
+        this.valueCache.clear();
         super.setBackingNode(node);
     }
 
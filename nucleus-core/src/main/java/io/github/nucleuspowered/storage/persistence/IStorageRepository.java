@@ -10,10 +10,12 @@ import io.github.nucleuspowered.storage.exceptions.DataLoadException;
 import io.github.nucleuspowered.storage.exceptions.DataQueryException;
 import io.github.nucleuspowered.storage.exceptions.DataSaveException;
 import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
+import io.github.nucleuspowered.storage.util.BatchLoadResult;
 import io.github.nucleuspowered.storage.util.KeyedObject;
 import org.spongepowered.configurate.ConfigurateException;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -106,8 +108,9 @@ public interface IStorageRepository {
          *
          * @param query The query.
          * @return Whether the object exists.
+         * @throws DataQueryException if the query could not be run
          */
-        boolean exists(Q query);
+        boolean exists(Q query) throws DataQueryException;
 
         /**
          * Gets an object based on the {@code query}
@@ -123,8 +126,9 @@ public interface IStorageRepository {
          * @param query The query
          * @return The number of items that satisfy the query, or -1 if the {@link #supportsNonKeyQueries()} is {@code false} and the query is more than
          *         just a key.
+         * @throws DataQueryException if the query could not be run
          */
-        int count(Q query);
+        int count(Q query) throws DataQueryException;
 
         /**
          * Saves the supplied {@code object} in the position suggested by the supplied {@code query}
@@ -165,6 +169,32 @@ public interface IStorageRepository {
          */
         Collection<K> getAllKeys() throws DataLoadException;
 
+        /**
+         * Gets the objects with the supplied keys.
+         *
+         * <p>A failure to load one key does not prevent the others from being loaded; the failure is
+         * instead recorded in {@link BatchLoadResult#getErrors()}. Keys that do not exist are omitted
+         * from the result.</p>
+         *
+         * <p>Implementations may override this if they can load multiple keys more efficiently than
+         * one at a time.</p>
+         *
+         * @param keys The keys
+         * @return The {@link BatchLoadResult}
+         */
+        default BatchLoadResult<K, O> getAll(final Collection<K> keys) {
+            final Map<K, O> loaded = new HashMap<>();
+            final Map<K, Exception> errors = new HashMap<>();
+            for (final K key : keys) {
+                try {
+                    this.get(key).ifPresent(x -> loaded.put(key, x));
+                } catch (final Exception e) {
+                    errors.put(key, e);
+                }
+            }
+            return new BatchLoadResult<>(loaded, errors);
+        }
+
         /**
          * Gets the objects that satisfy the {@code query}
          *
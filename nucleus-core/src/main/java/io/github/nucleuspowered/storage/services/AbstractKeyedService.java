@@ -9,6 +9,8 @@ import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.storage.dataaccess.IDataTranslator;
 import io.github.nucleuspowered.storage.dataobjects.keyed.DataKey;
 import io.github.nucleuspowered.storage.dataobjects.keyed.IKeyedDataObject;
@@ -17,21 +19,27 @@ import io.github.nucleuspowered.storage.exceptions.DataQueryException;
 import io.github.nucleuspowered.storage.exceptions.DataSaveException;
 import io.github.nucleuspowered.storage.persistence.IStorageRepository;
 import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
+import io.github.nucleuspowered.storage.util.BatchLoadResult;
 import io.github.nucleuspowered.storage.util.KeyedObject;
 import io.vavr.Tuple2;
 import io.vavr.Value;
 import io.vavr.collection.Stream;
 import io.vavr.control.Try;
+import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.plugin.PluginContainer;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
@@ -42,6 +50,8 @@ import java.util.stream.Collectors;
 public abstract class AbstractKeyedService<K, Q extends IQueryObject<K, Q>, D extends IKeyedDataObject<D>, O>
         implements IStorageService.Keyed.KeyedData<K, Q, D> {
 
+    private static final int MAX_CONCURRENT_READS = 4;
+
     private final LoadingCache<K, ReentrantReadWriteLock> dataLocks =
             Caffeine.newBuilder().expireAfterAccess(5, TimeUnit.MINUTES).build(new CacheLoader<K, ReentrantReadWriteLock>() {
                 @NonNull
@@ -60,15 +70,30 @@ public abstract class AbstractKeyedService<K, Q extends IQueryObject<K, Q>, D ex
     private final PluginContainer pluginContainer;
     private final Consumer<D> upgrader;
     private final Consumer<D> versionSetter;
+    private final StorageWriteScheduler writeScheduler;
+    private final Logger logger;
+    private final IMetricsService.Timer loadTimer;
+    private final IMetricsService.Timer batchLoadTimer;
+    private final IMetricsService.Timer saveTimer;
 
     public AbstractKeyedService(
             final Supplier<IDataTranslator<D, O>> dts,
             final Supplier<IStorageRepository.Keyed<K, Q, O>> storageRepositorySupplier,
             final Consumer<D> upgrader,
             final Consumer<D> versionSetter,
-            final PluginContainer pluginContainer
+            final StorageWriteScheduler writeScheduler,
+            final PluginContainer pluginContainer,
+            final Logger logger,
+            final IMetricsService.Timer loadTimer,
+            final IMetricsService.Timer batchLoadTimer,
+            final IMetricsService.Timer saveTimer
     ) {
         this.pluginContainer = pluginContainer;
+        this.writeScheduler = writeScheduler;
+        this.logger = logger;
+        this.loadTimer = loadTimer;
+        this.batchLoadTimer = batchLoadTimer;
+        this.saveTimer = saveTimer;
         this.dataTranslator = dts;
         this.upgrader = upgrader;
         this.versionSetter = versionSetter;
@@ -189,7 +214,13 @@ public abstract class AbstractKeyedService<K, Q extends IQueryObject<K, Q>, D ex
         final ReentrantReadWriteLock.WriteLock lock = this.dataLocks.get(key).writeLock();
         try {
             lock.lock();
-            final Optional<D> r = this.getFromKey(key);
+            final long start = this.loadTimer.start();
+            final Optional<D> r;
+            try {
+                r = this.getFromKey(key);
+            } finally {
+                this.loadTimer.stop(start);
+            }
             r.ifPresent(d -> {
                 this.upgrader.accept(d);
                 this.cache.put(key, d);
@@ -219,13 +250,80 @@ public abstract class AbstractKeyedService<K, Q extends IQueryObject<K, Q>, D ex
 
     @Override
     public CompletableFuture<Map<K, D>> getAll(@NonNull final Q query) {
+        if (query.restrictedToKeys() && query.queries().isEmpty()) {
+            return this.loadAll(query.keys()).thenApply(result -> {
+                result.getErrors().forEach((key, error) -> this.logger.error("Could not load " + key, error));
+                return result.getLoaded();
+            });
+        }
+
         return ServicesUtil.run(() -> {
-            final Map<K, D> res = this.getAllFromQuery(query);//.apply(query);
+            final long start = this.batchLoadTimer.start();
+            final Map<K, D> res;
+            try {
+                res = this.getAllFromQuery(query);//.apply(query);
+            } finally {
+                this.batchLoadTimer.stop(start);
+            }
             res.forEach(this.cache::put);
             return res;
         }, this.pluginContainer);
     }
 
+    @Override
+    public CompletableFuture<BatchLoadResult<K, D>> loadAll(@NonNull final Collection<K> keys) {
+        final Map<K, D> result = new ConcurrentHashMap<>();
+        final Map<K, Exception> errors = new ConcurrentHashMap<>();
+        final List<K> toLoad = new ArrayList<>();
+        for (final K key : keys) {
+            final D cached = this.cache.getIfPresent(key);
+            if (cached != null) {
+                result.put(key, cached);
+            } else {
+                toLoad.add(key);
+            }
+        }
+
+        if (toLoad.isEmpty()) {
+            return CompletableFuture.completedFuture(new BatchLoadResult<>(result, errors));
+        }
+
+        // Split the keys evenly between the readers.
+        final int batchSize = Math.max(1, (toLoad.size() + MAX_CONCURRENT_READS - 1) / MAX_CONCURRENT_READS);
+        return ServicesUtil.runAll(Lists.partition(toLoad, batchSize), MAX_CONCURRENT_READS, batch -> this.loadBatch(batch, result, errors),
+                this.pluginContainer).thenApply(x -> new BatchLoadResult<>(result, errors));
+    }
+
+    private void loadBatch(final Collection<K> keys, final Map<K, D> result, final Map<K, Exception> errors) {
+        final long start = this.batchLoadTimer.start();
+        final BatchLoadResult<K, O> batch;
+        try {
+            batch = this.storageRepositorySupplier.get().getAll(keys);
+        } finally {
+            this.batchLoadTimer.stop(start);
+        }
+
+        errors.putAll(batch.getErrors());
+        for (final Map.Entry<K, O> entry : batch.getLoaded().entrySet()) {
+            final ReentrantReadWriteLock.WriteLock lock = this.dataLocks.get(entry.getKey()).writeLock();
+            try {
+                lock.lock();
+                // Something else might have loaded it in the meantime, which might have changes we don't want to lose.
+                D d = this.cache.getIfPresent(entry.getKey());
+                if (d == null) {
+                    d = this.dataTranslator.get().fromDataAccessObject(entry.getValue());
+                    this.upgrader.accept(d);
+                    this.cache.put(entry.getKey(), d);
+                }
+                result.put(entry.getKey(), d);
+            } catch (final DataLoadException e) {
+                errors.put(entry.getKey(), e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     @Override
     public CompletableFuture<Boolean> exists(@NonNull final K key) {
         return ServicesUtil.run(() -> this.storageRepositorySupplier.get().exists(key), this.pluginContainer);
@@ -278,7 +376,12 @@ public abstract class AbstractKeyedService<K, Q extends IQueryObject<K, Q>, D ex
         try {
             lock.lock();
             this.cache.put(key, value);
-            this.saveObject(key, value);
+            final long start = this.saveTimer.start();
+            try {
+                this.saveObject(key, value);
+            } finally {
+                this.saveTimer.stop(start);
+            }
             value.markDirty(false);
         } finally {
             lock.unlock();
@@ -307,14 +410,13 @@ public abstract class AbstractKeyedService<K, Q extends IQueryObject<K, Q>, D ex
 
     @Override
     public CompletableFuture<Void> ensureSaved() {
-        return ServicesUtil.run(() -> {
-            for (final Map.Entry<K, D> objectToSave : new HashMap<>(this.cache.asMap()).entrySet()) {
-                if (objectToSave.getValue() != null && objectToSave.getValue().isDirty()) {
-                    this.save(objectToSave.getKey(), objectToSave.getValue());
-                }
+        final Map<K, D> toSave = new HashMap<>();
+        for (final Map.Entry<K, D> objectToSave : this.cache.asMap().entrySet()) {
+            if (objectToSave.getValue() != null && objectToSave.getValue().isDirty()) {
+                toSave.put(objectToSave.getKey(), objectToSave.getValue());
             }
-            return null;
-        }, this.pluginContainer);
+        }
+        return this.writeScheduler.drain(toSave.entrySet(), x -> this.saveOnThread(x.getKey(), x.getValue()));
     }
 
     private void onRemoval(@Nullable final K key, @Nullable final D dataObject, @NonNull final RemovalCause removalCause) {
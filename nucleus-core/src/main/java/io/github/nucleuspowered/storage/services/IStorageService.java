@@ -8,9 +8,11 @@ import io.github.nucleuspowered.storage.dataobjects.IDataObject;
 import io.github.nucleuspowered.storage.dataobjects.keyed.DataKey;
 import io.github.nucleuspowered.storage.dataobjects.keyed.IKeyedDataObject;
 import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
+import io.github.nucleuspowered.storage.util.BatchLoadResult;
 import io.github.nucleuspowered.storage.util.KeyedObject;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -215,6 +217,18 @@ public interface IStorageService<D extends IDataObject> {
          */
         CompletableFuture<Map<K, D>> getAll(@NonNull Q query);
 
+        /**
+         * Gets the objects with the specified keys.
+         *
+         * <p>Keys that could not be loaded do not fail the load, they are reported in
+         * {@link BatchLoadResult#getErrors()} instead. {@link #getAll(IQueryObject)} logs these
+         * errors and returns only the objects that loaded.</p>
+         *
+         * @param keys The keys
+         * @return The {@link CompletableFuture} containing the objects that loaded, and the errors for those that didn't
+         */
+        CompletableFuture<BatchLoadResult<K, D>> loadAll(@NonNull Collection<K> keys);
+
         /**
          * Gets whether the object with the associated key exists.
          *
@@ -4,11 +4,17 @@
  */
 package io.github.nucleuspowered.storage.services;
 
+import io.vavr.CheckedConsumer;
 import io.vavr.CheckedFunction0;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.plugin.PluginContainer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public final class ServicesUtil {
 
@@ -28,6 +34,44 @@ public final class ServicesUtil {
         return future;
     }
 
+    /**
+     * Runs the supplied task on each item on the async scheduler, with at most {@code maxConcurrency} tasks
+     * running at once.
+     *
+     * <p>A failure for one item is printed and does not prevent the other items from being processed.</p>
+     *
+     * @param items The items to process
+     * @param maxConcurrency The maximum number of items to process at once
+     * @param task The task to run for each item
+     * @param pluginContainer The plugin container
+     * @param <T> The type of item
+     * @return A future that completes when all items have been processed
+     */
+    public static <T> CompletableFuture<Void> runAll(final Collection<T> items, final int maxConcurrency, final CheckedConsumer<T> task,
+            final PluginContainer pluginContainer) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final Queue<T> queue = new ConcurrentLinkedQueue<>(items);
+        final int workers = Math.min(maxConcurrency, items.size());
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; ++i) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                T item;
+                while ((item = queue.poll()) != null) {
+                    try {
+                        task.accept(item);
+                    } catch (final Throwable e) {
+                        e.printStackTrace();
+                    }
+                }
+            }, Sponge.asyncScheduler().executor(pluginContainer)));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
     private static <R> void runInternal(final CompletableFuture<R> future, final CheckedFunction0<R> taskConsumer, final boolean printException) {
         try {
             future.complete(taskConsumer.apply());
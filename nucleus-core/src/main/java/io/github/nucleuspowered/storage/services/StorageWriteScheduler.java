@@ -0,0 +1,170 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.storage.services;
+
+import io.vavr.CheckedConsumer;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains batches of independent writes across a bounded number of workers on the async scheduler,
+ * and records throughput metrics for those writes.
+ *
+ * <p>Ordering between writes in the same batch is not guaranteed, so callers are responsible for
+ * any per-key locking.</p>
+ */
+public final class StorageWriteScheduler {
+
+    private final PluginContainer pluginContainer;
+    private final int maxWorkers;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder filesWritten = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    public StorageWriteScheduler(final PluginContainer pluginContainer) {
+        this(pluginContainer, Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors())));
+    }
+
+    public StorageWriteScheduler(final PluginContainer pluginContainer, final int maxWorkers) {
+        this.pluginContainer = pluginContainer;
+        this.maxWorkers = maxWorkers;
+    }
+
+    /**
+     * Writes each of the supplied items using the supplied writer, using at most {@link #maxWorkers} concurrent
+     * workers.
+     *
+     * <p>A failure to write one item is logged and does not prevent other items from being written.</p>
+     *
+     * @param items The items to write
+     * @param writer The action that writes an item
+     * @param <T> The type of item
+     * @return A future that completes when all items have been processed
+     */
+    public <T> CompletableFuture<Void> drain(final Collection<T> items, final CheckedConsumer<T> writer) {
+        this.queueDepth.addAndGet(items.size());
+        return ServicesUtil.runAll(items, this.maxWorkers, item -> {
+            try {
+                writer.accept(item);
+            } finally {
+                this.queueDepth.decrementAndGet();
+            }
+        }, this.pluginContainer);
+    }
+
+    /**
+     * Records that a file has been written.
+     *
+     * @param bytes The number of bytes that were written
+     */
+    public void recordWrite(final long bytes) {
+        this.filesWritten.increment();
+        this.bytesWritten.add(bytes);
+    }
+
+    /**
+     * Gets the number of writes that are waiting to be performed.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.queueDepth.get();
+    }
+
+    /**
+     * Gets the total number of files written since startup.
+     *
+     * @return The number of files
+     */
+    public long getTotalFilesWritten() {
+        return this.filesWritten.sum();
+    }
+
+    /**
+     * Gets the total number of bytes written since startup.
+     *
+     * @return The number of bytes
+     */
+    public long getTotalBytesWritten() {
+        return this.bytesWritten.sum();
+    }
+
+    /**
+     * Takes a snapshot of the current write totals. Use {@link Metrics#since(Metrics)} to get the
+     * throughput between two snapshots.
+     *
+     * @return The {@link Metrics}
+     */
+    public Metrics snapshot() {
+        return new Metrics(this.filesWritten.sum(), this.bytesWritten.sum(), System.nanoTime(), this.queueDepth.get());
+    }
+
+    public static final class Metrics {
+
+        private final long files;
+        private final long bytes;
+        private final long nanos;
+        private final int queueDepth;
+
+        Metrics(final long files, final long bytes, final long nanos, final int queueDepth) {
+            this.files = files;
+            this.bytes = bytes;
+            this.nanos = nanos;
+            this.queueDepth = queueDepth;
+        }
+
+        /**
+         * Gets the writes that occurred between the supplied, earlier snapshot and this one.
+         *
+         * @param earlier The earlier snapshot
+         * @return The difference
+         */
+        public Metrics since(final Metrics earlier) {
+            return new Metrics(
+                    this.files - earlier.files,
+                    this.bytes - earlier.bytes,
+                    this.nanos - earlier.nanos,
+                    this.queueDepth);
+        }
+
+        public long getFiles() {
+            return this.files;
+        }
+
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        public long getDurationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(this.nanos);
+        }
+
+        public int getQueueDepth() {
+            return this.queueDepth;
+        }
+
+        public double getFilesPerSecond() {
+            return this.perSecond(this.files);
+        }
+
+        public double getBytesPerSecond() {
+            return this.perSecond(this.bytes);
+        }
+
+        private double perSecond(final long amount) {
+            if (this.nanos == 0) {
+                return 0;
+            }
+            return amount * (double) TimeUnit.SECONDS.toNanos(1) / this.nanos;
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.storage.util;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The result of loading a number of keys at once.
+ *
+ * <p>Keys that do not exist are in neither {@link #getLoaded()} nor {@link #getErrors()}.</p>
+ *
+ * @param <K> The key type
+ * @param <O> The object type
+ */
+public final class BatchLoadResult<K, O> {
+
+    private final Map<K, O> loaded;
+    private final Map<K, Exception> errors;
+
+    public BatchLoadResult(final Map<K, O> loaded, final Map<K, Exception> errors) {
+        this.loaded = Collections.unmodifiableMap(loaded);
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * The objects that were loaded successfully.
+     *
+     * @return The objects
+     */
+    public Map<K, O> getLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * The keys that could not be loaded, along with the reason.
+     *
+     * @return The errors
+     */
+    public Map<K, Exception> getErrors() {
+        return this.errors;
+    }
+
+}
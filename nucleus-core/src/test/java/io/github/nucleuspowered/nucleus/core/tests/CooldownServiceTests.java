@@ -0,0 +1,183 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.tests;
+
+import io.github.nucleuspowered.nucleus.core.core.CoreKeys;
+import io.github.nucleuspowered.nucleus.core.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.impl.cooldown.CooldownService;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataobjects.modular.IUserDataObject;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.queryobjects.IUserQueryObject;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IConfigProvider;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IExpiryService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IStorageManager;
+import io.github.nucleuspowered.storage.services.IStorageService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.spongepowered.api.util.Identifiable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public class CooldownServiceTests {
+
+    private final UUID uuid = UUID.randomUUID();
+    private final Identifiable player = Mockito.mock(Identifiable.class);
+    private final TestExpiryService expiryService = new TestExpiryService();
+    private final CoreConfig coreConfig = Mockito.mock(CoreConfig.class);
+    private final IUserDataObject dataObject = Mockito.mock(IUserDataObject.class);
+    private final IStorageManager storageManager = Mockito.mock(IStorageManager.class);
+    private CooldownService cooldownService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Mockito.when(this.player.uniqueId()).thenReturn(this.uuid);
+
+        final IStorageService.Keyed.KeyedData<UUID, IUserQueryObject, IUserDataObject> userService =
+                Mockito.mock(IStorageService.Keyed.KeyedData.class);
+        Mockito.when(userService.getOrNewOnThread(this.uuid)).thenReturn(this.dataObject);
+        Mockito.when(this.storageManager.getUserService()).thenReturn(userService);
+
+        final IConfigProvider configProvider = Mockito.mock(IConfigProvider.class);
+        Mockito.when(configProvider.getCoreConfig()).thenReturn(this.coreConfig);
+
+        final INucleusServiceCollection serviceCollection = Mockito.mock(INucleusServiceCollection.class);
+        Mockito.when(serviceCollection.expiryService()).thenReturn(this.expiryService);
+        Mockito.when(serviceCollection.configProvider()).thenReturn(configProvider);
+        Mockito.when(serviceCollection.storageManager()).thenReturn(this.storageManager);
+        this.cooldownService = new CooldownService(serviceCollection);
+    }
+
+    @Test
+    public void testCooldownCanBeSetAndCleared() {
+        this.cooldownService.setCooldown("a", this.player, Duration.ofMinutes(1));
+
+        Assert.assertTrue(this.cooldownService.hasCooldown("a", this.player));
+        Assert.assertFalse(this.cooldownService.hasCooldown("b", this.player));
+        final Duration remaining = this.cooldownService.getCooldown("a", this.player).get();
+        Assert.assertTrue(remaining.compareTo(Duration.ofMinutes(1)) <= 0);
+        Assert.assertFalse(remaining.isNegative());
+        Assert.assertEquals(1, this.cooldownService.size());
+        Assert.assertNotNull(this.expiryService.scheduled.get(this.uuid));
+
+        this.cooldownService.clearCooldown("a", this.player);
+        Assert.assertFalse(this.cooldownService.hasCooldown("a", this.player));
+        Assert.assertEquals(0, this.cooldownService.size());
+    }
+
+    @Test
+    public void testSettingAZeroLengthCooldownClearsIt() {
+        this.cooldownService.setCooldown("a", this.player, Duration.ofMinutes(1));
+        this.cooldownService.setCooldown("a", this.player, Duration.ZERO);
+
+        Assert.assertFalse(this.cooldownService.hasCooldown("a", this.player));
+        Assert.assertEquals(0, this.cooldownService.size());
+    }
+
+    @Test
+    public void testSweepOnlyRemovesExpiredCooldowns() throws InterruptedException {
+        this.cooldownService.setCooldown("short", this.player, Duration.ofMillis(1));
+        this.cooldownService.setCooldown("long", this.player, Duration.ofMinutes(1));
+        final Instant longExpiry = this.expiryService.scheduled.get(this.uuid);
+        Thread.sleep(10);
+
+        this.expiryService.handler.accept(this.uuid);
+        Assert.assertEquals(1, this.cooldownService.size());
+        Assert.assertTrue(this.cooldownService.hasCooldown("long", this.player));
+        Assert.assertEquals(longExpiry, this.expiryService.scheduled.get(this.uuid));
+
+        this.cooldownService.clearCooldown("long", this.player);
+        this.expiryService.handler.accept(this.uuid);
+        Assert.assertEquals(0, this.cooldownService.size());
+    }
+
+    @Test
+    public void testSettingACooldownWhileTheTableIsSweptIsNotLost() throws InterruptedException {
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final Thread sweeper = new Thread(() -> {
+            while (!done.get()) {
+                this.expiryService.handler.accept(this.uuid);
+            }
+        });
+        sweeper.start();
+
+        try {
+            for (int i = 0; i < 20000; i++) {
+                // Clearing leaves the table empty, so the sweeper may drop it at any point.
+                this.cooldownService.setCooldown("a", this.player, Duration.ofMinutes(1));
+                Assert.assertTrue("Cooldown lost on iteration " + i, this.cooldownService.hasCooldown("a", this.player));
+                this.cooldownService.clearCooldown("a", this.player);
+            }
+        } finally {
+            done.set(true);
+            sweeper.join();
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testOnlyCooldownsLongerThanTheThresholdAreSaved() {
+        Mockito.when(this.coreConfig.getPersistCooldownsLongerThan()).thenReturn(60L);
+        this.cooldownService.setCooldown("short", this.player, Duration.ofSeconds(30));
+        this.cooldownService.setCooldown("long", this.player, Duration.ofMinutes(5));
+
+        this.cooldownService.saveCooldowns(this.uuid);
+
+        final ArgumentCaptor<Map> saved = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(this.dataObject).set(Mockito.eq(CoreKeys.COOLDOWNS), saved.capture());
+        Assert.assertEquals(1, saved.getValue().size());
+        Assert.assertTrue(saved.getValue().containsKey("long"));
+    }
+
+    @Test
+    public void testNothingIsSavedWhenPersistingIsOff() {
+        Mockito.when(this.coreConfig.getPersistCooldownsLongerThan()).thenReturn(0L);
+        this.cooldownService.setCooldown("long", this.player, Duration.ofMinutes(5));
+
+        this.cooldownService.saveCooldowns(this.uuid);
+
+        Mockito.verifyZeroInteractions(this.storageManager);
+    }
+
+    private static final class TestExpiryService implements IExpiryService {
+
+        private volatile Consumer<UUID> handler;
+        private final Map<UUID, Instant> scheduled = new ConcurrentHashMap<>();
+
+        @Override public void registerHandler(final String category, final Consumer<UUID> handler) {
+            this.handler = handler;
+        }
+
+        @Override public void schedule(final String category, final UUID uuid, final Instant expiry) {
+            this.scheduled.put(uuid, expiry);
+        }
+
+        @Override public boolean cancel(final String category, final UUID uuid) {
+            return this.scheduled.remove(uuid) != null;
+        }
+
+        @Override public boolean isScheduled(final String category, final UUID uuid) {
+            return this.scheduled.containsKey(uuid);
+        }
+
+        @Override public int size() {
+            return this.scheduled.size();
+        }
+
+        @Override public void tick() {
+        }
+
+    }
+
+}
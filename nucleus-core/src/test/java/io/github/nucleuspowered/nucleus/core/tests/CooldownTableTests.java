@@ -0,0 +1,164 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.tests;
+
+import io.github.nucleuspowered.nucleus.core.services.impl.cooldown.CooldownTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class CooldownTableTests {
+
+    @Test
+    public void testCooldownIsReturnedUntilItExpires() {
+        final CooldownTable table = new CooldownTable();
+        table.set(3, 1000);
+
+        Assert.assertEquals(1, table.size());
+        Assert.assertEquals(1000, table.get(3, 999));
+        Assert.assertEquals(1, table.size());
+
+        // Reading it once it has expired removes it.
+        Assert.assertEquals(0, table.get(3, 1000));
+        Assert.assertEquals(0, table.size());
+        Assert.assertEquals(0, table.get(3, 0));
+    }
+
+    @Test
+    public void testUnknownIdsHaveNoCooldown() {
+        final CooldownTable table = new CooldownTable();
+
+        Assert.assertEquals(0, table.get(10, 0));
+        Assert.assertFalse(table.clear(10));
+        Assert.assertEquals(0, table.sweep(0));
+        Assert.assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testSetGrowsTheTable() {
+        final CooldownTable table = new CooldownTable();
+        table.set(0, 100);
+        table.set(100, 200);
+        table.set(5, 300);
+
+        Assert.assertEquals(3, table.size());
+        Assert.assertEquals(100, table.get(0, 0));
+        Assert.assertEquals(300, table.get(5, 0));
+        Assert.assertEquals(200, table.get(100, 0));
+        Assert.assertEquals(0, table.get(50, 0));
+    }
+
+    @Test
+    public void testReplacingACooldownDoesNotChangeTheSize() {
+        final CooldownTable table = new CooldownTable();
+        table.set(1, 100);
+        table.set(1, 200);
+
+        Assert.assertEquals(1, table.size());
+        Assert.assertEquals(200, table.get(1, 150));
+    }
+
+    @Test
+    public void testClear() {
+        final CooldownTable table = new CooldownTable();
+        table.set(1, 100);
+        table.set(2, 100);
+
+        Assert.assertTrue(table.clear(1));
+        Assert.assertFalse(table.clear(1));
+        Assert.assertEquals(1, table.size());
+        Assert.assertEquals(0, table.get(1, 0));
+
+        // Cleared cooldowns can be set again.
+        table.set(1, 300);
+        Assert.assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testSweepRemovesExpiredCooldownsAndReturnsTheLatestExpiry() {
+        final CooldownTable table = new CooldownTable();
+        table.set(0, 100);
+        table.set(1, 300);
+        table.set(2, 200);
+
+        Assert.assertEquals(300, table.sweep(150));
+        Assert.assertEquals(2, table.size());
+        Assert.assertEquals(0, table.get(0, 0));
+
+        Assert.assertEquals(0, table.sweep(300));
+        Assert.assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testSnapshotOnlyContainsRunningCooldowns() {
+        final CooldownTable table = new CooldownTable();
+        table.set(0, 100);
+        table.set(2, 300);
+
+        final long[] snapshot = table.snapshot(200);
+        Assert.assertTrue(snapshot.length >= 3);
+        Assert.assertEquals(0, snapshot[0]);
+        Assert.assertEquals(0, snapshot[1]);
+        Assert.assertEquals(300, snapshot[2]);
+        Assert.assertEquals(1, table.size());
+
+        // The snapshot is a copy.
+        snapshot[2] = 0;
+        Assert.assertEquals(300, table.get(2, 200));
+    }
+
+    @Test
+    public void testManyPlayersWithManyCooldowns() {
+        final int players = 5000;
+        final int keys = 50;
+        final long duration = 600_000;
+        final Random random = new Random(42);
+        final CooldownTable[] tables = new CooldownTable[players];
+        final long[][] expiries = new long[players][keys];
+        for (int p = 0; p < players; p++) {
+            tables[p] = new CooldownTable();
+            for (int k = 0; k < keys; k++) {
+                expiries[p][k] = 1 + random.nextInt((int) duration);
+                tables[p].set(k, expiries[p][k]);
+            }
+        }
+
+        Assert.assertEquals(players * keys, CooldownTableTests.totalSize(tables));
+
+        for (long now = 60_000; now <= duration; now += 60_000) {
+            int expected = 0;
+            for (int p = 0; p < players; p++) {
+                long latest = 0;
+                for (int k = 0; k < keys; k++) {
+                    if (expiries[p][k] > now) {
+                        expected++;
+                        latest = Math.max(latest, expiries[p][k]);
+                    }
+                }
+
+                Assert.assertEquals(latest, tables[p].sweep(now));
+            }
+
+            Assert.assertEquals(expected, CooldownTableTests.totalSize(tables));
+        }
+
+        Assert.assertEquals(0, CooldownTableTests.totalSize(tables));
+        for (final CooldownTable table : tables) {
+            for (int k = 0; k < keys; k++) {
+                Assert.assertEquals(0, table.get(k, 0));
+            }
+        }
+    }
+
+    private static int totalSize(final CooldownTable[] tables) {
+        int size = 0;
+        for (final CooldownTable table : tables) {
+            size += table.size();
+        }
+        return size;
+    }
+
+}
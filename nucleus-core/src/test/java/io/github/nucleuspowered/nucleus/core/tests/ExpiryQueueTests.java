@@ -0,0 +1,116 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.tests;
+
+import io.github.nucleuspowered.nucleus.core.util.ExpiryQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class ExpiryQueueTests {
+
+    private static final Instant START = Instant.ofEpochSecond(1_600_000_000L);
+
+    @Test
+    public void testEntriesAreNotReturnedBeforeTheyExpire() {
+        final ExpiryQueue<String> queue = new ExpiryQueue<>(1000, 64, START);
+        queue.schedule("a", START.plusMillis(1500));
+
+        Assert.assertTrue(queue.poll(START.plusMillis(1000)).isEmpty());
+        Assert.assertTrue(queue.poll(START.plusMillis(1999)).isEmpty());
+        Assert.assertEquals(Collections.singletonList("a"), queue.poll(START.plusMillis(2000)));
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testEntriesThatHaveAlreadyExpiredAreReturnedOnTheNextPoll() {
+        final ExpiryQueue<String> queue = new ExpiryQueue<>(1000, 64, START);
+        queue.schedule("a", START.minusSeconds(30));
+
+        Assert.assertEquals(Collections.singletonList("a"), queue.poll(START.plusSeconds(1)));
+    }
+
+    @Test
+    public void testManySanctionsThroughTheirLifecycle() {
+        final int sanctions = 5000;
+        final int seconds = 600;
+        final Random random = new Random(42);
+        final ExpiryQueue<Integer> queue = new ExpiryQueue<>(1000, 512, START);
+
+        // When each sanction expires, and how long is left on those whose player is offline.
+        final Map<Integer, Instant> expiries = new HashMap<>();
+        final Map<Integer, Long> pausedMillis = new HashMap<>();
+        final Set<Integer> lifted = new HashSet<>();
+        final Set<Integer> fired = new HashSet<>();
+        for (int i = 0; i < sanctions; i++) {
+            final Instant expiry = START.plusMillis(1 + random.nextInt(seconds * 1000));
+            expiries.put(i, expiry);
+            queue.schedule(i, expiry);
+        }
+
+        for (int second = 1; second <= seconds; second++) {
+            final Instant now = START.plusSeconds(second);
+            for (int change = 0; change < 20; change++) {
+                final int i = random.nextInt(sanctions);
+                if (fired.contains(i) || lifted.contains(i)) {
+                    continue;
+                }
+
+                switch (random.nextInt(3)) {
+                    case 0:
+                        // unmuted or unjailed early
+                        queue.cancel(i);
+                        pausedMillis.remove(i);
+                        lifted.add(i);
+                        break;
+                    case 1:
+                        // logged out, so the time stops
+                        if (queue.cancel(i)) {
+                            pausedMillis.put(i, Math.max(1, expiries.get(i).toEpochMilli() - now.toEpochMilli()));
+                        }
+                        break;
+                    default:
+                        // logged in, so the time starts again
+                        final Long remaining = pausedMillis.remove(i);
+                        if (remaining != null) {
+                            final Instant expiry = now.plusMillis(remaining);
+                            expiries.put(i, expiry);
+                            queue.schedule(i, expiry);
+                        }
+                }
+            }
+
+            for (final Integer i : queue.poll(now)) {
+                Assert.assertFalse("Lifted sanction fired", lifted.contains(i));
+                Assert.assertFalse("Paused sanction fired", pausedMillis.containsKey(i));
+                Assert.assertTrue("Sanction fired twice", fired.add(i));
+                Assert.assertFalse("Sanction fired early", expiries.get(i).isAfter(now));
+                Assert.assertTrue("Sanction fired late", expiries.get(i).plusSeconds(1).isAfter(now));
+            }
+        }
+
+        // Sanctions that were re-armed late may still be running.
+        final Instant end = START.plusSeconds(seconds * 3);
+        for (final Integer i : queue.poll(end)) {
+            Assert.assertTrue("Sanction fired twice", fired.add(i));
+            Assert.assertFalse("Sanction fired early", expiries.get(i).isAfter(end));
+        }
+
+        for (int i = 0; i < sanctions; i++) {
+            if (!lifted.contains(i) && !pausedMillis.containsKey(i)) {
+                Assert.assertTrue("Sanction " + i + " never fired", fired.contains(i));
+            }
+        }
+        Assert.assertEquals(0, queue.size());
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.tests;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.nucleuspowered.nucleus.core.services.impl.storage.dataaccess.JsonNodeTranslator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+public class JsonNodeTranslatorTests {
+
+    private static final String JSON = "{\"homes\":{\"home\":{\"world\":\"minecraft:overworld\",\"x\":1.5,\"y\":64,\"z\":-20.25,"
+            + "\"rotation\":[0,90.5,0]}},\"kits\":{\"starter\":1609459200000},\"mail\":[],\"muted\":false,\"nickname\":null,"
+            + "\"empty\":{}}";
+
+    @Test
+    public void testJsonToNodeMatchesLoader() throws Exception {
+        final ConfigurationNode expected = GsonConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(JSON)))
+                .build()
+                .load();
+        final ConfigurationNode actual = BasicConfigurationNode.root();
+        JsonNodeTranslator.toNode(new JsonParser().parse(JSON), actual);
+
+        Assert.assertEquals(expected.raw(), actual.raw());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final JsonObject original = new JsonParser().parse(JSON).getAsJsonObject();
+        final ConfigurationNode node = BasicConfigurationNode.root();
+        JsonNodeTranslator.toNode(original, node);
+        final JsonElement result = JsonNodeTranslator.fromNode(node);
+
+        Assert.assertEquals(original.get("homes"), result.getAsJsonObject().get("homes"));
+        Assert.assertEquals(original.get("kits"), result.getAsJsonObject().get("kits"));
+        Assert.assertEquals(original.get("mail"), result.getAsJsonObject().get("mail"));
+        Assert.assertEquals(original.get("muted"), result.getAsJsonObject().get("muted"));
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.tests;
+
+import io.github.nucleuspowered.nucleus.core.util.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class LatencyHistogramTests {
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMaxNanos());
+        Assert.assertEquals(0, histogram.getMeanNanos(), 0);
+        Assert.assertEquals(0, histogram.getQuantileNanos(0.99));
+    }
+
+    @Test
+    public void testCountTotalMeanAndMaxAreExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(1_000_000);
+
+        Assert.assertEquals(3, histogram.getCount());
+        Assert.assertEquals(1_000_400, histogram.getTotalNanos());
+        Assert.assertEquals(1_000_400 / 3.0, histogram.getMeanNanos(), 0.001);
+        Assert.assertEquals(1_000_000, histogram.getMaxNanos());
+        Assert.assertEquals(1_000_000, histogram.getQuantileNanos(1));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 8; i++) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(0, histogram.getQuantileNanos(0));
+        Assert.assertEquals(3, histogram.getQuantileNanos(0.5));
+        Assert.assertEquals(7, histogram.getQuantileNanos(1));
+    }
+
+    @Test
+    public void testNegativeDurationsAreRecordedAsZero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals(0, histogram.getTotalNanos());
+        Assert.assertEquals(0, histogram.getQuantileNanos(0.5));
+    }
+
+    @Test
+    public void testQuantilesAreWithinAnEighthOfTheTrueValue() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final Random random = new Random(42);
+        final List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            // Between a microsecond and a second.
+            final long value = (long) Math.pow(10, 3 + random.nextDouble() * 6);
+            values.add(value);
+            histogram.record(value);
+        }
+        Collections.sort(values);
+
+        for (final double quantile : new double[] { 0.1, 0.5, 0.9, 0.99, 0.999 }) {
+            final long expected = values.get((int) Math.ceil(quantile * values.size()) - 1);
+            final long actual = histogram.getQuantileNanos(quantile);
+            Assert.assertTrue("p" + quantile + " was " + actual + ", expected " + expected, actual >= expected);
+            Assert.assertTrue("p" + quantile + " was " + actual + ", expected " + expected, actual <= expected + expected / 8);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.tests;
+
+import io.github.nucleuspowered.nucleus.core.services.impl.textstyle.LegacyCodeMask;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LegacyCodeMaskTests {
+
+    private static int mask(final String codes) {
+        int mask = 0;
+        for (final char c : codes.toCharArray()) {
+            mask |= LegacyCodeMask.bitFor(c);
+        }
+        return mask;
+    }
+
+    @Test
+    public void testOnlyMaskedCodesAreStripped() {
+        Assert.assertEquals("hello &bthere &lfriend", LegacyCodeMask.strip("&ahello &bthere &lfriend", mask("a")));
+        Assert.assertEquals("hello there friend", LegacyCodeMask.strip("&ahello &bthere &lfriend", mask("abl")));
+    }
+
+    @Test
+    public void testStrippingIsCaseInsensitive() {
+        Assert.assertEquals("hello", LegacyCodeMask.strip("&Ahello", mask("a")));
+    }
+
+    @Test
+    public void testNestedCodesAreStripped() {
+        Assert.assertEquals("hello", LegacyCodeMask.strip("&&aahello", mask("a")));
+        Assert.assertEquals("hello", LegacyCodeMask.strip("&&&aaahello", mask("a")));
+        Assert.assertEquals("&&bhello", LegacyCodeMask.strip("&&a&bhello", mask("a")));
+    }
+
+    @Test
+    public void testResetAndOtherCharactersAreKept() {
+        Assert.assertEquals("&rhello & goodbye &", LegacyCodeMask.strip("&rhello & goodbye &", mask("0123456789abcdeflonmk")));
+    }
+
+    @Test
+    public void testEmptyMaskReturnsMessage() {
+        final String message = "&ahello";
+        Assert.assertSame(message, LegacyCodeMask.strip(message, 0));
+    }
+
+    @Test
+    public void testContainsIsCaseSensitive() {
+        Assert.assertTrue(LegacyCodeMask.containsCaseSensitive("hi &a", mask("a")));
+        Assert.assertFalse(LegacyCodeMask.containsCaseSensitive("hi &A", mask("a")));
+        Assert.assertFalse(LegacyCodeMask.containsCaseSensitive("hi &b", mask("a")));
+        Assert.assertFalse(LegacyCodeMask.containsCaseSensitive("hi &", mask("a")));
+    }
+
+}
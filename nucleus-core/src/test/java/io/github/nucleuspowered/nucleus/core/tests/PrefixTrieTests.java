@@ -0,0 +1,94 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.tests;
+
+import io.github.nucleuspowered.nucleus.core.util.PrefixTrie;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PrefixTrieTests {
+
+    @Test
+    public void testLongestPrefixIsReturned() {
+        final PrefixTrie<String> trie = new PrefixTrie<>();
+        trie.put("nucleus.kits.", "kits");
+        trie.put("nucleus.kits.exempt.", "exempt");
+
+        Assert.assertEquals("kits", trie.longestPrefixOf("nucleus.kits.starter"));
+        Assert.assertEquals("exempt", trie.longestPrefixOf("nucleus.kits.exempt.cooldown.starter"));
+        Assert.assertNull(trie.longestPrefixOf("nucleus.kit"));
+        Assert.assertNull(trie.longestPrefixOf("nucleus.home.base"));
+    }
+
+    @Test
+    public void testExactLookupDoesNotMatchPrefixes() {
+        final PrefixTrie<Integer> trie = new PrefixTrie<>();
+        trie.put("abc", 1);
+
+        Assert.assertEquals(Integer.valueOf(1), trie.get("abc"));
+        Assert.assertNull(trie.get("ab"));
+        Assert.assertNull(trie.get("abcd"));
+    }
+
+    @Test
+    public void testPutAndRemoveTrackSize() {
+        final PrefixTrie<Integer> trie = new PrefixTrie<>();
+        Assert.assertNull(trie.put("a", 1));
+        Assert.assertEquals(Integer.valueOf(1), trie.put("a", 2));
+        trie.put("ab", 3);
+        Assert.assertEquals(2, trie.size());
+
+        Assert.assertEquals(Integer.valueOf(2), trie.remove("a"));
+        Assert.assertNull(trie.remove("a"));
+        Assert.assertEquals(1, trie.size());
+        Assert.assertEquals(Integer.valueOf(3), trie.longestPrefixOf("abc"));
+        Assert.assertNull(trie.longestPrefixOf("ax"));
+    }
+
+    @Test
+    public void testForEachWithPrefixVisitsOnlyMatchingKeys() {
+        final PrefixTrie<Integer> trie = new PrefixTrie<>();
+        trie.put("dual", 1);
+        trie.put("dualcore", 2);
+        trie.put("duck", 3);
+        trie.put("zero", 4);
+
+        final Map<String, Integer> found = new HashMap<>();
+        trie.forEachWithPrefix("dua", found::put);
+        final Map<String, Integer> expected = new HashMap<>();
+        expected.put("dual", 1);
+        expected.put("dualcore", 2);
+        Assert.assertEquals(expected, found);
+
+        found.clear();
+        trie.forEachWithPrefix("", found::put);
+        Assert.assertEquals(4, found.size());
+
+        found.clear();
+        trie.forEachWithPrefix("x", found::put);
+        Assert.assertTrue(found.isEmpty());
+    }
+
+    @Test
+    public void testRemovePrunesEmptyBranches() {
+        final PrefixTrie<Integer> trie = new PrefixTrie<>();
+        trie.put("abc", 1);
+        trie.put("abd", 2);
+        trie.remove("abc");
+        trie.remove("abd");
+
+        final Map<String, Integer> found = new HashMap<>();
+        trie.forEachWithPrefix("a", found::put);
+        Assert.assertTrue(found.isEmpty());
+        Assert.assertEquals(0, trie.size());
+
+        trie.put("abc", 3);
+        Assert.assertEquals(Integer.valueOf(3), trie.get("abc"));
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.core.tests;
+
+import io.github.nucleuspowered.nucleus.core.util.TimingWheel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TimingWheelTests {
+
+    @Test
+    public void testEntriesAreReturnedWhenDue() {
+        final TimingWheel<String> wheel = new TimingWheel<>(8, 0);
+        wheel.schedule("a", 2);
+        wheel.schedule("b", 5);
+
+        final List<String> due = new ArrayList<>();
+        wheel.advance(1, due::add);
+        Assert.assertTrue(due.isEmpty());
+
+        wheel.advance(2, due::add);
+        Assert.assertEquals(Collections.singletonList("a"), due);
+
+        due.clear();
+        wheel.advance(10, due::add);
+        Assert.assertEquals(Collections.singletonList("b"), due);
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testEntriesBeyondOneRevolutionAreNotReturnedEarly() {
+        final TimingWheel<String> wheel = new TimingWheel<>(4, 0);
+        wheel.schedule("a", 1);
+        wheel.schedule("b", 5); // same slot as "a"
+
+        final List<String> due = new ArrayList<>();
+        wheel.advance(1, due::add);
+        Assert.assertEquals(Collections.singletonList("a"), due);
+
+        due.clear();
+        wheel.advance(4, due::add);
+        Assert.assertTrue(due.isEmpty());
+
+        wheel.advance(5, due::add);
+        Assert.assertEquals(Collections.singletonList("b"), due);
+    }
+
+    @Test
+    public void testRescheduleAndCancel() {
+        final TimingWheel<String> wheel = new TimingWheel<>(8, 0);
+        wheel.schedule("a", 2);
+        wheel.schedule("a", 6);
+        wheel.schedule("b", 3);
+        Assert.assertTrue(wheel.cancel("b"));
+        Assert.assertFalse(wheel.cancel("b"));
+
+        final List<String> due = new ArrayList<>();
+        wheel.advance(5, due::add);
+        Assert.assertTrue(due.isEmpty());
+
+        wheel.advance(6, due::add);
+        Assert.assertEquals(Collections.singletonList("a"), due);
+    }
+
+    @Test
+    public void testAdvancingPastSeveralRevolutionsReturnsEverything() {
+        final TimingWheel<String> wheel = new TimingWheel<>(4, 0);
+        wheel.schedule("a", 1);
+        wheel.schedule("b", 3);
+        wheel.schedule("c", 9);
+        wheel.schedule("d", 100);
+
+        final List<String> due = new ArrayList<>();
+        wheel.advance(50, due::add);
+        Collections.sort(due);
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), due);
+        Assert.assertTrue(wheel.isScheduled("d"));
+    }
+
+}
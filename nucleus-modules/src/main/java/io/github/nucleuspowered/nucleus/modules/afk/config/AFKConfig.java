@@ -98,6 +98,10 @@ public class AFKConfig {
         @LocalisedComment("config.afk.triggers.oninteract")
         private boolean onInteract = true;
 
+        @Setting(value = "movement-sample-interval")
+        @LocalisedComment("config.afk.triggers.movementsampleinterval")
+        private long movementSampleInterval = 1000;
+
         public boolean isOnChat() {
             return this.onChat;
         }
@@ -117,5 +121,9 @@ public class AFKConfig {
         public boolean isOnInteract() {
             return this.onInteract;
         }
+
+        public long getMovementSampleInterval() {
+            return Math.max(0, this.movementSampleInterval);
+        }
     }
 }
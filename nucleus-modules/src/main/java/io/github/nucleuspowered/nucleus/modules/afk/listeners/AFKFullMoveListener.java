@@ -25,7 +25,7 @@ public class AFKFullMoveListener extends AbstractAFKListener implements Listener
 
     @Listener(order = Order.LAST)
     public void onPlayerMove(final MoveEntityEvent event, @Root final ServerPlayer player) {
-        this.update(player);
+        this.updateFromMovement(player);
     }
 
     @Override
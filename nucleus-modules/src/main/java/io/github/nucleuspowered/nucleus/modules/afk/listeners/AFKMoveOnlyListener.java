@@ -29,7 +29,7 @@ public class AFKMoveOnlyListener extends AbstractAFKListener implements Listener
             @Getter("originalPosition") final Vector3d from,
             @Getter("destinationPosition") final Vector3d to) {
         if (!from.equals(to)) {
-            this.update(player);
+            this.updateFromMovement(player);
         }
     }
 
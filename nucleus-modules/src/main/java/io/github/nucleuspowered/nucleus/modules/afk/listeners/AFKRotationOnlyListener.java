@@ -29,7 +29,7 @@ public class AFKRotationOnlyListener extends AbstractAFKListener implements List
             @Getter("fromRotation") final Vector3d from,
             @Getter("toRotation") final Vector3d to) {
         if (!from.equals(to)) {
-            this.update(player);
+            this.updateFromMovement(player);
         }
     }
 
@@ -23,6 +23,14 @@ abstract class AbstractAFKListener implements ListenerBase {
         this.handler.stageUserActivityUpdate(player);
     }
 
+    final void updateFromMovement(final ServerPlayer player) {
+        this.handler.stageMovementActivity(player);
+    }
+
+    final void remove(final ServerPlayer player) {
+        this.handler.onPlayerQuit(player.uniqueId());
+    }
+
     final boolean getTriggerConfigEntry(final AFKConfig config, final Predicate<AFKConfig.Triggers> triggersPredicate) {
         return triggersPredicate.test(config.getTriggers());
     }
@@ -26,4 +26,9 @@ public class BasicAFKListener extends AbstractAFKListener {
         this.update(player);
     }
 
+    @Listener(order = Order.LAST)
+    public void onPlayerQuit(final ServerSideConnectionEvent.Disconnect event, @Getter("player") final ServerPlayer player) {
+        this.remove(player);
+    }
+
 }
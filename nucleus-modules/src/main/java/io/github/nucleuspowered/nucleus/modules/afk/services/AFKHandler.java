@@ -4,8 +4,6 @@
  */
 package io.github.nucleuspowered.nucleus.modules.afk.services;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.api.module.afk.NucleusAFKService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
@@ -23,11 +21,11 @@ import io.github.nucleuspowered.nucleus.core.services.interfaces.IPermissionServ
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.core.util.AdventureUtils;
 import io.github.nucleuspowered.nucleus.core.util.PermissionMessageChannel;
+import io.github.nucleuspowered.nucleus.core.util.TimingWheel;
 import io.github.nucleuspowered.nucleus.core.util.Tuples;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.text.Component;
-import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.Keys;
@@ -43,13 +41,16 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -58,17 +59,26 @@ import java.util.stream.Stream;
 @APIService(NucleusAFKService.class)
 public class AFKHandler implements NucleusAFKService, IReloadableService.Reloadable, ServiceBase {
 
+    private static final long TICK_MILLIS = 1000;
+
+    // Players that cannot go AFK or be kicked are checked again after one revolution of the wheel.
+    private static final int WHEEL_SLOTS = 64;
+
     private final Map<UUID, AFKData> data = new ConcurrentHashMap<>();
     private final INucleusServiceCollection serviceCollection;
     private AFKConfig config = new AFKConfig();
 
-    @GuardedBy("lock")
-    private final Set<UUID> activity = new HashSet<>();
+    // Only accessed from the AFK task, other threads pass work to it using the queues below.
+    private final TimingWheel<AFKData> deadlines = new TimingWheel<>(WHEEL_SLOTS, System.currentTimeMillis() / TICK_MILLIS);
+    private final Queue<AFKData> activity = new ConcurrentLinkedQueue<>();
+    private final Queue<AFKData> toReschedule = new ConcurrentLinkedQueue<>();
+
+    // The sets are only modified within compute calls, so that containsKey can be called without locking.
+    private final Map<UUID, Set<UUID>> disabledTracking = new ConcurrentHashMap<>();
 
-    @GuardedBy("lock2")
-    private final Multimap<UUID, UUID> disabledTracking = HashMultimap.create();
-    private final Object lock = new Object();
-    private final Object lock2 = new Object();
+    private final LongAdder movementEventsSeen = new LongAdder();
+    private final LongAdder movementEventsRecorded = new LongAdder();
+    private long movementSampleInterval = 1000;
 
     private final String afkOption = "nucleus.afk.toggletime";
     private final String afkKickOption = "nucleus.afk.kicktime";
@@ -82,90 +92,170 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
     @Inject
     public AFKHandler(final INucleusServiceCollection serviceCollection) {
         this.serviceCollection = serviceCollection;
+        serviceCollection.metricsService().registerGauge("afk.movement.seen", this::getMovementEventsSeen);
+        serviceCollection.metricsService().registerGauge("afk.movement.recorded", this::getMovementEventsRecorded);
     }
 
     public void stageUserActivityUpdate(final ServerPlayer player) {
         this.stageUserActivityUpdate(player.uniqueId());
     }
 
-    private void stageUserActivityUpdate(final UUID uuid) {
-        synchronized (this.lock) {
-            synchronized (this.lock2) {
-                if (this.disabledTracking.containsKey(uuid)) {
-                    return;
-                }
+    /**
+     * Stages activity from a movement or rotation event. At most one event per player is recorded in
+     * each sample interval, any others are dropped before any other work is done.
+     *
+     * @param player The player that moved
+     */
+    public void stageMovementActivity(final ServerPlayer player) {
+        this.movementEventsSeen.increment();
+        final AFKData afkData = this.data.get(player.uniqueId());
+        if (afkData != null && this.movementSampleInterval > 0) {
+            final long now = System.currentTimeMillis();
+            if (now - afkData.lastMovementSample < this.movementSampleInterval) {
+                return;
             }
-
-            this.activity.add(uuid);
+            afkData.lastMovementSample = now;
         }
+
+        this.movementEventsRecorded.increment();
+        this.stageUserActivityUpdate(player.uniqueId());
     }
 
-    public void onTick() {
-        synchronized (this.lock) {
-            this.activity.forEach(u -> this.data.compute(u, ((uuid, afkData) -> afkData == null ? new AFKData(uuid) :
-                    this.updateActivity(uuid, afkData))));
-            this.activity.clear();
+    public long getMovementEventsSeen() {
+        return this.movementEventsSeen.sum();
+    }
+
+    public long getMovementEventsRecorded() {
+        return this.movementEventsRecorded.sum();
+    }
+
+    private void stageUserActivityUpdate(final UUID uuid) {
+        if (this.disabledTracking.containsKey(uuid)) {
+            return;
         }
 
-        final List<UUID> uuidList = Sponge.server().onlinePlayers().stream().map(Player::uniqueId).collect(Collectors.toList());
+        final AFKData afkData = this.getOrCreateData(uuid);
+        if (afkData.stagedActivity.getAndSet(System.currentTimeMillis()) == 0) {
+            this.activity.add(afkData);
+        }
+    }
 
-        // Remove all offline players.
-        final Set<Map.Entry<UUID, AFKData>> entries = this.data.entrySet();
-        entries.removeIf(refactor -> !uuidList.contains(refactor.getKey()));
-        entries.stream().filter(x -> !x.getValue().cacheValid).forEach(x -> x.getValue().updateFromPermissions());
+    public void onPlayerQuit(final UUID uuid) {
+        this.data.remove(uuid);
+    }
 
+    /**
+     * Processes staged activity, then checks the players whose AFK or kick deadline has passed.
+     *
+     * <p>Players are held in a {@link TimingWheel} against the time they next need to be checked, so
+     * each tick only visits players with activity and players that are due.</p>
+     */
+    public void onTick() {
         final long now = System.currentTimeMillis();
-
-        // Check AFK status.
-        entries.stream().filter(x -> x.getValue().isKnownAfk && !x.getValue().willKick && x.getValue().timeToKick > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime > e.getValue().timeToKick) {
-                // Kick them
-                e.getValue().willKick = true;
-                final Component t;
-                if (this.kickMessage == null || this.kickMessage.isEmpty()) {
-                    t = this.serviceCollection.messageProvider().getMessageForDefault("afk.kickreason");
-                } else {
-                    t = this.kickMessage.asComponent();
+        AFKData afkData;
+        while ((afkData = this.activity.poll()) != null) {
+            // If this is zero, the activity was discarded when the player was set AFK.
+            if (afkData.stagedActivity.getAndSet(0) != 0 && this.isTracked(afkData)) {
+                final boolean wasAfk = afkData.isKnownAfk;
+                this.updateActivity(afkData.uuid, afkData);
+                if (wasAfk || !this.deadlines.isScheduled(afkData)) {
+                    this.schedule(afkData, now);
                 }
+            }
+        }
 
-                final NucleusTextTemplate messageToServer = this.onKick == null ? NucleusTextTemplateImpl.empty() : this.onKick;
-
-                Sponge.server().player(e.getKey()).ifPresent(player -> {
-                    final Audience mc;
-                    if (this.config.isBroadcastOnKick()) {
-                        mc = Sponge.server();
-                    } else {
-                        mc = new PermissionMessageChannel(this.serviceCollection.permissionService(), AFKPermissions.AFK_NOTIFY);
-                    }
-
-                    // TODO: CSM for thread
-                    final AFKEvents.Kick events = new AFKEvents.Kick(player.uniqueId(), messageToServer.getForObject(player), mc,
-                            Sponge.server().causeStackManager().currentCause());
-                    if (Sponge.eventManager().post(events)) {
-                        // Cancelled.
-                        return;
-                    }
-
-                    final Component toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForObject(player) : t.asComponent();
-                    Sponge.server().scheduler().executor(this.serviceCollection.pluginContainer()).execute(() -> player.kick(toSend));
-                    final Component eventMessage = events.message();
-                    if (!AdventureUtils.isEmpty(eventMessage)) {
-                        events.audience().ifPresent(x -> x.sendMessage(eventMessage, MessageType.SYSTEM));
-                    }
-                });
+        while ((afkData = this.toReschedule.poll()) != null) {
+            if (this.isTracked(afkData)) {
+                this.schedule(afkData, now);
             }
-        });
+        }
+
+        this.deadlines.advance(now / TICK_MILLIS, x -> this.onDeadline(x, now));
+    }
 
-        // Check AFK status.
-        entries.stream().filter(x -> !x.getValue().isKnownAfk && x.getValue().timeToAfk > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime  > e.getValue().timeToAfk) {
-                Sponge.server().player(e.getKey()).ifPresent(this::setAfkInternal);
+    private void onDeadline(final AFKData afkData, final long now) {
+        if (!this.isTracked(afkData)) {
+            return;
+        }
+
+        final ServerPlayer player = Sponge.server().player(afkData.uuid).orElse(null);
+        if (player == null) {
+            this.data.remove(afkData.uuid, afkData);
+            return;
+        }
+
+        afkData.updateFromPermissions();
+        if (afkData.isKnownAfk) {
+            if (!afkData.willKick && afkData.timeToKick > 0 && now - afkData.lastActivityTime > afkData.timeToKick) {
+                this.kick(afkData, player);
             }
+        } else if (afkData.timeToAfk > 0 && now - afkData.lastActivityTime > afkData.timeToAfk) {
+            this.setAfkInternal(player);
+        }
+
+        this.schedule(afkData, now);
+    }
+
+    private void kick(final AFKData afkData, final ServerPlayer player) {
+        afkData.willKick = true;
+        final Component t;
+        if (this.kickMessage == null || this.kickMessage.isEmpty()) {
+            t = this.serviceCollection.messageProvider().getMessageForDefault("afk.kickreason");
+        } else {
+            t = this.kickMessage.asComponent();
+        }
+
+        final NucleusTextTemplate messageToServer = this.onKick == null ? NucleusTextTemplateImpl.empty() : this.onKick;
+        final Audience mc;
+        if (this.config.isBroadcastOnKick()) {
+            mc = Sponge.server();
+        } else {
+            mc = new PermissionMessageChannel(this.serviceCollection.permissionService(), AFKPermissions.AFK_NOTIFY);
+        }
+
+        // TODO: CSM for thread
+        final AFKEvents.Kick events = new AFKEvents.Kick(player.uniqueId(), messageToServer.getForObject(player), mc,
+                Sponge.server().causeStackManager().currentCause());
+        if (Sponge.eventManager().post(events)) {
+            // Cancelled.
+            return;
+        }
+
+        final Component toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForObject(player) : t.asComponent();
+        Sponge.server().scheduler().executor(this.serviceCollection.pluginContainer()).execute(() -> player.kick(toSend));
+        final Component eventMessage = events.message();
+        if (!AdventureUtils.isEmpty(eventMessage)) {
+            events.audience().ifPresent(x -> x.sendMessage(eventMessage, MessageType.SYSTEM));
+        }
+    }
+
+    private void schedule(final AFKData afkData, final long now) {
+        afkData.updateFromPermissions();
+        this.deadlines.schedule(afkData, afkData.nextCheck(now) / TICK_MILLIS + 1);
+    }
+
+    private boolean isTracked(final AFKData afkData) {
+        return this.data.get(afkData.uuid) == afkData;
+    }
+
+    private AFKData getOrCreateData(final UUID uuid) {
+        final AFKData afkData = this.data.get(uuid);
+        if (afkData != null) {
+            return afkData;
+        }
+
+        return this.data.computeIfAbsent(uuid, u -> {
+            final AFKData newData = new AFKData(u, false);
+            this.toReschedule.add(newData);
+            return newData;
         });
     }
 
     public void invalidateAfkCache() {
-        this.data.forEach((k, v) -> v.cacheValid = false);
+        this.data.forEach((k, v) -> {
+            v.cacheValid = false;
+            this.toReschedule.add(v);
+        });
     }
 
     public boolean isAFK(final UUID uuid) {
@@ -178,7 +268,7 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
 
     public boolean setAfkInternal(final UUID uuid, final boolean force) {
         // final UUID uuid = player.uniqueId();
-        final AFKData a = this.data.compute(uuid, ((u, afkData) -> afkData == null ? new AFKData(u) : afkData));
+        final AFKData a = this.getOrCreateData(uuid);
         if (force) {
             a.isKnownAfk = false;
         } else if (a.isKnownAfk) {
@@ -186,10 +276,8 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
         }
 
         if (a.canGoAfk()) {
-            // Don't accident undo setting AFK, remove any activity from the list.
-            synchronized (this.lock) {
-                this.activity.remove(uuid);
-            }
+            // Don't accident undo setting AFK, discard any staged activity.
+            a.stagedActivity.set(0);
 
             final Tuples.NullableTuple<Component, Audience> ttmc = this.getAFKMessage(Sponge.server().player(uuid).get(), true);
             final AFKEvents.To event = new AFKEvents.To(uuid, ttmc.getFirstUnwrapped(), ttmc.getSecondUnwrapped(),
@@ -199,6 +287,7 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
             this.actionEvent(event, "command.afk.to.nobc", "command.afk.to.console");
 
             a.isKnownAfk = true;
+            this.toReschedule.add(a);
             return true;
         }
 
@@ -208,6 +297,7 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
     @Override
     public void onReload(final INucleusServiceCollection serviceCollection) {
         this.config = serviceCollection.configProvider().getModuleConfig(AFKConfig.class);
+        this.movementSampleInterval = this.config.getTriggers().getMovementSampleInterval();
         final MessagesConfig messages = this.config.getMessages();
         final INucleusTextTemplateFactory factory = serviceCollection.textTemplateFactory();
         if (this.config.isAlertSenderOnAfk()) {
@@ -271,7 +361,7 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
     }
 
     @Override public boolean setAFK(final UUID player, final boolean isAfk) {
-        final AFKData data = this.data.computeIfAbsent(player, AFKData::new);
+        final AFKData data = this.getOrCreateData(player);
         if (data.isKnownAfk == isAfk) {
             // Already AFK
             return false;
@@ -280,6 +370,7 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
         if (isAfk) {
             return this.setAfkInternal(player, false);
         } else {
+            this.toReschedule.add(data);
             return !this.updateActivity(player, data).isKnownAfk;
         }
     }
@@ -289,7 +380,7 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
     }
 
     @Override public Instant lastActivity(final UUID player) {
-        return Instant.ofEpochMilli(this.data.computeIfAbsent(player, AFKData::new).lastActivityTime);
+        return Instant.ofEpochMilli(this.getOrCreateData(player).lastActivityTime);
     }
 
     @Override public Optional<Duration> timeForInactivity(final UUID user) {
@@ -339,17 +430,18 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
 
     @Override public NoExceptionAutoClosable disableTrackingForPlayer(final UUID player, final Duration time) {
         // Disable tracking now with a new UUID.
-        final Consumer<ScheduledTask> consumer = t -> {
-            synchronized (this.lock2) {
-                this.disabledTracking.remove(player, t.uniqueId());
-            }
-        };
+        final Consumer<ScheduledTask> consumer = t -> this.disabledTracking.computeIfPresent(player, (k, v) -> {
+            v.remove(t.uniqueId());
+            return v.isEmpty() ? null : v;
+        });
         final Task n = Task.builder().execute(consumer).delay(time).plugin(this.serviceCollection.pluginContainer()).build();
         final ScheduledTask task = Sponge.server().scheduler().submit(n);
 
-        synchronized (this.lock2) {
-            this.disabledTracking.put(player, task.uniqueId());
-        }
+        this.disabledTracking.compute(player, (k, v) -> {
+            final Set<UUID> tasks = v == null ? new HashSet<>() : v;
+            tasks.add(task.uniqueId());
+            return tasks;
+        });
 
         return () -> {
             task.cancel();
@@ -388,18 +480,20 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
 
         private final UUID uuid;
 
-        private long lastActivityTime = System.currentTimeMillis();
-        boolean isKnownAfk = false;
+        // The time of the most recent activity that has not yet been processed, or zero if there is none.
+        private final AtomicLong stagedActivity = new AtomicLong();
+
+        // Only touched by the movement listeners, which fire on the main thread.
+        private long lastMovementSample = 0;
+
+        private volatile long lastActivityTime = System.currentTimeMillis();
+        volatile boolean isKnownAfk = false;
         private boolean willKick = false;
 
         private boolean cacheValid = false;
         private long timeToAfk = -1;
         private long timeToKick = -1;
 
-        private AFKData(final UUID uuid) {
-            this(uuid, true);
-        }
-
         private AFKData(final UUID uuid, final boolean permCheck) {
             this.uuid = uuid;
             if (permCheck) {
@@ -407,6 +501,24 @@ public class AFKHandler implements NucleusAFKService, IReloadableService.Reloada
             }
         }
 
+        /**
+         * Gets the time at which this player next needs to be checked.
+         *
+         * @param now The current time
+         * @return The time, in milliseconds since the epoch
+         */
+        private long nextCheck(final long now) {
+            if (!this.isKnownAfk) {
+                if (this.timeToAfk > 0) {
+                    return this.lastActivityTime + this.timeToAfk;
+                }
+            } else if (!this.willKick && this.timeToKick > 0) {
+                return this.lastActivityTime + this.timeToKick;
+            }
+
+            return now + WHEEL_SLOTS * TICK_MILLIS;
+        }
+
         private boolean canGoAfk() {
             this.cacheValid = false;
             this.updateFromPermissions();
@@ -46,6 +46,10 @@ public class ChatConfig {
     @LocalisedComment("config.chat.modifymessage")
     private boolean modifyMessage = true;
 
+    @Setting(value = "cache-templates")
+    @LocalisedComment("config.chat.cachetemplates")
+    private boolean cacheTemplates = false;
+
     public String getMePrefix() {
         return this.mePrefix;
     }
@@ -85,4 +89,8 @@ public class ChatConfig {
     public boolean isModifyMessage() {
         return this.modifyMessage;
     }
+
+    public boolean isCacheTemplates() {
+        return this.cacheTemplates;
+    }
 }
@@ -9,28 +9,34 @@ import io.github.nucleuspowered.nucleus.api.placeholder.NucleusPlaceholderServic
 import io.github.nucleuspowered.nucleus.core.scaffold.listener.ListenerBase;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IChatMessageFormatterService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IMetricsService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IPermissionService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.ITextStyleService;
-import io.github.nucleuspowered.nucleus.core.util.AdventureUtils;
 import io.github.nucleuspowered.nucleus.modules.chat.ChatPermissions;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
-import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.services.ChatService;
-import net.kyori.adventure.audience.Audience;
-import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.LinearComponents;
 import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.PlayerChatEvent;
+import org.spongepowered.api.event.network.ServerSideConnectionEvent;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -40,10 +46,16 @@ import java.util.regex.Pattern;
  */
 public class ChatListener implements IReloadableService.Reloadable, ListenerBase.Conditional {
 
+    private static final Pattern BLUE_UNDERLINE = Pattern.compile("&9&n([A-Za-z0-9-.]+)(&r)?");
+    private static final Pattern BLUE_UNDERLINE_CONTENT = Pattern.compile("[A-Za-z0-9-.]+");
+
     private final ChatService chatService;
     private final ITextStyleService textStyleService;
     private final IPermissionService permissionService;
     private final IChatMessageFormatterService chatMessageFormatterService;
+    private final IMetricsService.Timer formatTimer;
+
+    private final Map<UUID, NamePattern> namePatterns = new ConcurrentHashMap<>();
 
     private ChatConfig chatConfig;
 
@@ -54,6 +66,7 @@ public class ChatListener implements IReloadableService.Reloadable, ListenerBase
         this.chatConfig = serviceCollection.configProvider().getModuleConfig(ChatConfig.class);
         this.permissionService = serviceCollection.permissionService();
         this.chatMessageFormatterService = serviceCollection.chatMessageFormatter();
+        this.formatTimer = serviceCollection.metricsService().timer("chat.format");
     }
 
     // We do this first so that other plugins can alter it later if needs be.
@@ -71,7 +84,21 @@ public class ChatListener implements IReloadableService.Reloadable, ListenerBase
         }
     }
 
+    @Listener
+    public void onPlayerQuit(final ServerSideConnectionEvent.Disconnect event, @Getter("player") final ServerPlayer player) {
+        this.namePatterns.remove(player.uniqueId());
+    }
+
     private void onPlayerChatEvent(final PlayerChatEvent event, @Root final ServerPlayer player) {
+        final long start = this.formatTimer.start();
+        try {
+            this.formatChat(event, player);
+        } finally {
+            this.formatTimer.stop(start);
+        }
+    }
+
+    private void formatChat(final PlayerChatEvent event, final ServerPlayer player) {
         if (this.chatMessageFormatterService.getNucleusChannel(player.uniqueId())
                 .map(IChatMessageFormatterService.Channel::willFormat).orElse(false)) {
             return;
@@ -85,65 +112,117 @@ public class ChatListener implements IReloadableService.Reloadable, ListenerBase
         }
 
         if (this.chatConfig.isTryRemoveMinecraftPrefix()) {
-            final Pattern removal = Pattern.compile("<" + player.name() + ">");
+            final Pattern removal = this.getMinecraftPrefixPattern(player);
             baseMessage = baseMessage.replaceText(function -> function.match(removal).replacement(Component.empty()));
         }
 
-        final ChatService.TemplateCache ctc;
-        if (this.chatConfig.isUseGroupTemplates()) {
-            ctc = this.chatService.getTemplateNow(player);
-        } else {
-            ctc = this.chatService.getDefaultTemplate();
-        }
-
-        final TextComponent.Builder builder = Component.text();
-        final Component header = ctc.getPrefix().getForObject(player);
-        final Component footer = ctc.getSuffix().getForObject(player);
-        if (!AdventureUtils.isEmpty(header)) {
-            builder.append(header);
-        }
-        final Component body = this.chatConfig.isModifyMessage() ? this.useMessage(player, baseMessage, ctc) : baseMessage;
-        if (!AdventureUtils.isEmpty(footer)) {
-            builder.append(footer);
-        }
+        final ChatService.PlayerTemplate template = this.chatService.getPlayerTemplate(player);
+        final Component header = template.getHeader();
+        final Component footer = template.getFooter();
+        final Component body = this.chatConfig.isModifyMessage() ? this.useMessage(player, baseMessage, template) : baseMessage;
         event.setMessage(body);
         event.setChatFormatter((sender, target, message, originalMessage) ->
                 Optional.of(LinearComponents.linear(header, message, footer)));
     }
 
+    private Pattern getMinecraftPrefixPattern(final ServerPlayer player) {
+        final String name = player.name();
+        final NamePattern current = this.namePatterns.get(player.uniqueId());
+        if (current != null && current.name.equals(name)) {
+            return current.pattern;
+        }
+
+        final NamePattern namePattern = new NamePattern(name);
+        this.namePatterns.put(player.uniqueId(), namePattern);
+        return namePattern.pattern;
+    }
+
     @Override
     public boolean shouldEnable(final INucleusServiceCollection serviceCollection) {
         return serviceCollection.configProvider().getModuleConfig(ChatConfig.class).isModifychat();
     }
 
-    private TextComponent useMessage(final ServerPlayer player, final Component rawMessage, final ChatService.TemplateCache templateCache) {
-        final ChatTemplateConfig chatTemplateConfig = templateCache.getConfig();
-        String m = LegacyComponentSerializer.legacyAmpersand().serialize(rawMessage);
-        if (this.chatConfig.isRemoveBlueUnderline()) {
-            m = m.replaceAll("&9&n([A-Za-z0-9-.]+)(&r)?", "$1");
+    private TextComponent useMessage(final ServerPlayer player, final Component rawMessage, final ChatService.PlayerTemplate template) {
+        final boolean urls = this.permissionService.hasPermission(player, ChatPermissions.CHAT_URLS);
+        return Component.text()
+                .style(template.getChatStyle())
+                .color(template.getChatColour())
+                .append(this.transform(player, rawMessage, urls))
+                .build();
+    }
+
+    /**
+     * Formats the text in each {@link TextComponent} in the tree, keeping the structure and
+     * styles of the original message. Messages from a player's client are usually a single
+     * text component.
+     */
+    private Component transform(final ServerPlayer player, final Component component, final boolean urls) {
+        if (component instanceof TextComponent) {
+            final TextComponent text = (TextComponent) component;
+            Style style = text.style();
+            if (this.chatConfig.isRemoveBlueUnderline()
+                    && NamedTextColor.BLUE.equals(style.color())
+                    && style.hasDecoration(TextDecoration.UNDERLINED)
+                    && BLUE_UNDERLINE_CONTENT.matcher(text.content()).matches()) {
+                style = style.color(null).decoration(TextDecoration.UNDERLINED, TextDecoration.State.NOT_SET);
+            }
+
+            final Component content = this.formatContent(player, text.content(), urls);
+            if (style.isEmpty() && text.children().isEmpty()) {
+                return content;
+            }
+
+            final TextComponent.Builder builder = Component.text().style(style).append(content);
+            for (final Component child : text.children()) {
+                builder.append(this.transform(player, child, urls));
+            }
+            return builder.build();
         }
 
-        m = this.textStyleService.stripPermissionless(ChatPermissions.CHAT_COLOR, ChatPermissions.CHAT_STYLE, player, m);
+        if (component.children().isEmpty()) {
+            return component;
+        }
 
-        final Component result;
-        if (this.permissionService.hasPermission(player, ChatPermissions.CHAT_URLS)) {
-            result = this.textStyleService.addUrls(m, !this.chatConfig.isRemoveBlueUnderline());
-        } else {
-            result = LegacyComponentSerializer.legacyAmpersand().deserialize(m);
+        final List<Component> children = new ArrayList<>(component.children().size());
+        for (final Component child : component.children()) {
+            children.add(this.transform(player, child, urls));
         }
+        return component.children(children);
+    }
 
-        final String chatcol = this.permissionService.getOptionFromSubject(player, "chatcolour", "chatcolor").orElseGet(chatTemplateConfig::getChatcolour);
-        final String chatstyle = this.permissionService.getOptionFromSubject(player, "chatstyle").orElseGet(chatTemplateConfig::getChatstyle);
+    private Component formatContent(final ServerPlayer player, final String content, final boolean urls) {
+        if (content.isEmpty()) {
+            return Component.empty();
+        }
 
-        return Component.text()
-                .color(this.textStyleService.getColourFromString(chatcol).orElse(null))
-                .style(this.textStyleService.getTextStyleFromString(chatstyle))
-                .append(result)
-                .build();
+        String m = content;
+        if (this.chatConfig.isRemoveBlueUnderline() && m.contains("&9&n")) {
+            m = BLUE_UNDERLINE.matcher(m).replaceAll("$1");
+        }
+
+        m = this.textStyleService.stripPermissionless(ChatPermissions.CHAT_COLOR, ChatPermissions.CHAT_STYLE, player, m);
+        if (urls) {
+            return this.textStyleService.addUrls(m, !this.chatConfig.isRemoveBlueUnderline());
+        } else if (m.indexOf('&') == -1) {
+            return Component.text(m);
+        }
+
+        return LegacyComponentSerializer.legacyAmpersand().deserialize(m);
     }
 
     @Override
     public void onReload(final INucleusServiceCollection serviceCollection) {
         this.chatConfig = serviceCollection.configProvider().getModuleConfig(ChatConfig.class);
     }
+
+    private static final class NamePattern {
+
+        private final String name;
+        private final Pattern pattern;
+
+        private NamePattern(final String name) {
+            this.name = name;
+            this.pattern = Pattern.compile("<" + Pattern.quote(name) + ">");
+        }
+    }
 }
@@ -8,31 +8,47 @@ import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.core.services.impl.texttemplatefactory.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.INucleusTextTemplateFactory;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IPermissionService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IPlayerDisplayNameService;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.ITextStyleService;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
 import io.github.nucleuspowered.nucleus.core.scaffold.service.ServiceBase;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 import org.spongepowered.api.service.permission.Subject;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Contains the logic for caching templates and the template selection logic.
  */
 public class ChatService implements IReloadableService.Reloadable, ServiceBase {
 
+    private static final String PLAYER_TEMPLATE_KEY = "nucleus.chat.template";
+
     private final INucleusTextTemplateFactory textTemplateFactory;
+    private final IPermissionService permissionService;
+    private final IPlayerDisplayNameService displayNameService;
+    private final ITextStyleService textStyleService;
     private ChatConfig config = new ChatConfig();
-    private final Map<String, TemplateCache> templateCacheMap = new HashMap<>();
+    private final Map<String, TemplateCache> templateCacheMap = new ConcurrentHashMap<>();
     private TemplateCache defaultTemplate =
             new TemplateCache(new ChatTemplateConfig(), NucleusTextTemplateImpl.empty(), NucleusTextTemplateImpl.empty());
 
     @Inject
-    public ChatService(final INucleusTextTemplateFactory textTemplateFactory) {
-        this.textTemplateFactory = textTemplateFactory;
+    public ChatService(final INucleusServiceCollection serviceCollection) {
+        this.textTemplateFactory = serviceCollection.textTemplateFactory();
+        this.permissionService = serviceCollection.permissionService();
+        this.displayNameService = serviceCollection.playerDisplayNameService();
+        this.textStyleService = serviceCollection.textStyleService();
     }
 
     public TemplateCache getTemplateNow(final Subject subject) {
@@ -40,11 +56,56 @@ public class ChatService implements IReloadableService.Reloadable, ServiceBase {
             return this.defaultTemplate;
         }
 
-        return subject.option("nucleus.chat.group")
+        return this.permissionService.getOptionFromSubject(subject, "nucleus.chat.group")
                 .map(this::getTemplateCache)
                 .orElse(this.defaultTemplate);
     }
 
+    /**
+     * Gets the rendered template for the player.
+     *
+     * <p>The render is cached with the player's permissions, so it is discarded when their
+     * options or groups change. It is also rebuilt if their name or display name changes, or
+     * if the templates are reloaded.</p>
+     *
+     * @param player The player
+     * @return The rendered template
+     */
+    public PlayerTemplate getPlayerTemplate(final ServerPlayer player) {
+        final TemplateCache templateCache = this.getTemplateNow(player);
+        if (!this.config.isCacheTemplates()) {
+            return this.render(player, templateCache, this.displayNameService.getDisplayName(player));
+        }
+
+        final AtomicReference<PlayerTemplate> holder =
+                this.permissionService.getCachedForSubject(player, PLAYER_TEMPLATE_KEY, s -> new AtomicReference<>());
+        final Component displayName = this.displayNameService.getDisplayName(player);
+        final PlayerTemplate current = holder.get();
+        if (current != null && current.isValidFor(templateCache, player.name(), displayName)) {
+            return current;
+        }
+
+        final PlayerTemplate rendered = this.render(player, templateCache, displayName);
+        holder.set(rendered);
+        return rendered;
+    }
+
+    private PlayerTemplate render(final ServerPlayer player, final TemplateCache templateCache, final Component displayName) {
+        final ChatTemplateConfig chatTemplateConfig = templateCache.getConfig();
+        final String chatcol = this.permissionService.getOptionFromSubject(player, "chatcolour", "chatcolor")
+                .orElseGet(chatTemplateConfig::getChatcolour);
+        final String chatstyle = this.permissionService.getOptionFromSubject(player, "chatstyle")
+                .orElseGet(chatTemplateConfig::getChatstyle);
+        return new PlayerTemplate(
+                templateCache,
+                player.name(),
+                displayName,
+                templateCache.getPrefix().getForObject(player),
+                templateCache.getSuffix().getForObject(player),
+                this.textStyleService.getColourFromString(chatcol).orElse(null),
+                this.textStyleService.getTextStyleFromString(chatstyle));
+    }
+
     private TemplateCache getTemplateCache(final String cache) {
         return this.templateCacheMap.computeIfAbsent(cache, key -> {
             final ChatTemplateConfig config = this.config.getGroupTemplates().get(key);
@@ -98,4 +159,60 @@ public class ChatService implements IReloadableService.Reloadable, ServiceBase {
             return this.suffix;
         }
     }
+
+    /**
+     * A {@link TemplateCache} that has been rendered for a specific player, along with the
+     * style that their messages should take.
+     */
+    public static final class PlayerTemplate {
+        private final TemplateCache template;
+        private final String name;
+        private final Component displayName;
+        private final Component header;
+        private final Component footer;
+        @Nullable private final TextColor chatColour;
+        private final Style chatStyle;
+
+        PlayerTemplate(
+                final TemplateCache template,
+                final String name,
+                final Component displayName,
+                final Component header,
+                final Component footer,
+                @Nullable final TextColor chatColour,
+                final Style chatStyle) {
+            this.template = template;
+            this.name = name;
+            this.displayName = displayName;
+            this.header = header;
+            this.footer = footer;
+            this.chatColour = chatColour;
+            this.chatStyle = chatStyle;
+        }
+
+        boolean isValidFor(final TemplateCache template, final String name, final Component displayName) {
+            return this.template == template && this.name.equals(name) && this.displayName.equals(displayName);
+        }
+
+        public TemplateCache getTemplate() {
+            return this.template;
+        }
+
+        public Component getHeader() {
+            return this.header;
+        }
+
+        public Component getFooter() {
+            return this.footer;
+        }
+
+        @Nullable
+        public TextColor getChatColour() {
+            return this.chatColour;
+        }
+
+        public Style getChatStyle() {
+            return this.chatStyle;
+        }
+    }
 }
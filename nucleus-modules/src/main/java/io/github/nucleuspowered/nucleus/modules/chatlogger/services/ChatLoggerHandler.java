@@ -20,6 +20,7 @@ public class ChatLoggerHandler extends AbstractLoggingHandler implements Service
     @Inject
     public ChatLoggerHandler(final INucleusServiceCollection serviceCollection) {
         super("chat", "chat", serviceCollection.messageProvider(), serviceCollection.logger());
+        this.registerMetrics(serviceCollection.metricsService());
     }
 
     @Override
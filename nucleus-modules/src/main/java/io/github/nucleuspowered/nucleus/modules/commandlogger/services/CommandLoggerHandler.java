@@ -21,6 +21,7 @@ public class CommandLoggerHandler extends AbstractLoggingHandler implements IRel
     @Inject
     public CommandLoggerHandler(final INucleusServiceCollection serviceCollection) {
         super("command", "cmds", serviceCollection.messageProvider(), serviceCollection.logger());
+        this.registerMetrics(serviceCollection.metricsService());
     }
 
     @Override
@@ -17,6 +17,7 @@ import io.github.nucleuspowered.nucleus.modules.jail.JailKeys;
 import io.github.nucleuspowered.nucleus.modules.jail.config.JailConfig;
 import io.github.nucleuspowered.nucleus.modules.jail.events.JailEvent;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IExpiryService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IMessageProviderService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IPlayerDisplayNameService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
@@ -47,6 +48,8 @@ import java.util.UUID;
 
 public final class JailService implements NucleusJailService, IReloadableService.DataLocationReloadable, IReloadableService.Reloadable {
 
+    private static final String EXPIRY_CATEGORY = "jail";
+
     public static final Jailing NOT_JAILED = new Jailing() {
         @Override public String getReason() {
             return null;
@@ -85,6 +88,7 @@ public final class JailService implements NucleusJailService, IReloadableService
     private boolean isOnlineOnly = false;
 
     private final INucleusServiceCollection serviceCollection;
+    private final IExpiryService expiryService;
     private final Map<String, Jail> jails = new HashMap<>();
     private final LoadingCache<UUID, Jailing> jailings;
 
@@ -94,6 +98,8 @@ public final class JailService implements NucleusJailService, IReloadableService
                 .build(key -> this.serviceCollection.storageManager().getOrCreateUserOnThread(key).get(JailKeys.JAIL_DATA)
                         .<Jailing>map(data -> JailingEntry.fromJailingData(key, data, this.isOnlineOnly))
                         .orElse(JailService.NOT_JAILED));
+        this.expiryService = serviceCollection.expiryService();
+        this.expiryService.registerHandler(EXPIRY_CATEGORY, this::onExpiry);
     }
 
     @Override
@@ -161,7 +167,9 @@ public final class JailService implements NucleusJailService, IReloadableService
                 Instant.now(),
                 duration);
         this.jailings.put(victim, jailingEntry);
-        this.serviceCollection.storageManager().getUserService().setAndSave(victim, JailKeys.JAIL_DATA, jailingEntry.asJailData(this.isOnlineOnly));
+        this.scheduleExpiry(victim, jailingEntry);
+        this.serviceCollection.storageManager().getUserService().setAndSave(victim, JailKeys.JAIL_DATA, jailingEntry.asJailData(this.isOnlineOnly))
+                .thenRun(() -> this.serviceCollection.userCacheService().updateCacheForPlayer(victim));
         // Time to jail
         final Optional<ServerPlayer> serverPlayer = Sponge.server().player(victim);
         if (serverPlayer.isPresent()) {
@@ -215,7 +223,9 @@ public final class JailService implements NucleusJailService, IReloadableService
         }));
 
         this.jailings.put(user, JailService.NOT_JAILED);
-        this.serviceCollection.storageManager().getUserService().removeAndSave(user, JailKeys.JAIL_DATA);
+        this.expiryService.cancel(EXPIRY_CATEGORY, user);
+        this.serviceCollection.storageManager().getUserService().removeAndSave(user, JailKeys.JAIL_DATA)
+                .thenRun(() -> this.serviceCollection.userCacheService().updateCacheForPlayer(user));
         this.serviceCollection.schedulerService().runOnMainThread(() -> {
             final ServerLocation serverLocation = this.serviceCollection.teleportService().getSafeLocation(
                     destination,
@@ -247,11 +257,14 @@ public final class JailService implements NucleusJailService, IReloadableService
             this.serviceCollection.storageManager().getUserService().setAndSave(player, JailKeys.JAIL_DATA, ((JailingEntry) jailData).asJailData(this.isOnlineOnly));
         }
         this.jailings.invalidate(player);
+        this.expiryService.cancel(EXPIRY_CATEGORY, player);
     }
 
     public Jailing onPlayerLogin(final UUID player) {
         this.jailings.refresh(player);
-        return this.jailings.get(player);
+        final Jailing jailing = this.jailings.get(player);
+        this.scheduleExpiry(player, jailing);
+        return jailing;
     }
 
     @Override
@@ -330,15 +343,27 @@ public final class JailService implements NucleusJailService, IReloadableService
         }
     }
 
-    public void checkExpiry() {
-        for (final ServerPlayer uuid : Sponge.server().onlinePlayers()) {
-            final Jailing jailing = this.jailings.get(uuid.uniqueId());
-            if (jailing != null && jailing != JailService.NOT_JAILED && jailing.expired()) {
-                this.serviceCollection.schedulerService().runOnMainThread(() -> this.unjailPlayer(uuid.uniqueId()));
+    private void onExpiry(final UUID uuid) {
+        final Jailing jailing = this.jailings.getIfPresent(uuid);
+        if (jailing != null && jailing != JailService.NOT_JAILED) {
+            if (jailing.expired()) {
+                this.unjailPlayer(uuid);
+            } else {
+                // The jailing was replaced after this was due.
+                this.scheduleExpiry(uuid, jailing);
             }
         }
     }
 
+    private void scheduleExpiry(final UUID uuid, @Nullable final Jailing jailing) {
+        final Optional<Instant> expiry = jailing instanceof JailingEntry ? ((JailingEntry) jailing).getExpiryInstant() : Optional.empty();
+        if (expiry.isPresent()) {
+            this.expiryService.schedule(EXPIRY_CATEGORY, uuid, expiry.get());
+        } else {
+            this.expiryService.cancel(EXPIRY_CATEGORY, uuid);
+        }
+    }
+
     public Optional<Jail> getPlayerJail(final UUID uniqueId) {
         return this.getPlayerJailData(uniqueId).flatMap(x -> this.getJail(x.getJailName()));
     }
@@ -97,6 +97,15 @@ public abstract class JailingEntry implements Jailing {
         return Optional.empty();
     }
 
+    /**
+     * Gets when this jailing expires, if it is currently ticking down.
+     *
+     * @return The {@link Instant}, if any
+     */
+    public Optional<Instant> getExpiryInstant() {
+        return Optional.empty();
+    }
+
     public abstract JailData asJailData(final boolean tickOnlineOnly);
 
     public final static class Untimed extends JailingEntry {
@@ -159,6 +168,11 @@ public abstract class JailingEntry implements Jailing {
             return this.endTime.isBefore(Instant.now());
         }
 
+        @Override
+        public Optional<Instant> getExpiryInstant() {
+            return Optional.of(this.endTime);
+        }
+
         @Override
         public boolean isCurrentlyTicking() {
             return true;
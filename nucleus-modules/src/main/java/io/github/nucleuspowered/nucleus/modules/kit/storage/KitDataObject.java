@@ -37,8 +37,9 @@ public class KitDataObject extends AbstractConfigurateBackedDataObject implement
     }
 
     @Override
-    public void setKitMap(final Map<String, Kit> map) throws Exception {
+    public synchronized void setKitMap(final Map<String, Kit> map) throws Exception {
         SingleKitTypeSerialiser.INSTANCE.serialize(map, this.backingNode);
+        this.invalidateSnapshot();
         this.cached = Collections.unmodifiableMap(map);
     }
 
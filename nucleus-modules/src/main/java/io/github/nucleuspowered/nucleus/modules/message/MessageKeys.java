@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.message;
 import io.github.nucleuspowered.nucleus.api.core.NucleusUserPreferenceService;
 import io.github.nucleuspowered.nucleus.core.services.impl.userprefs.NucleusKeysProvider;
 import io.github.nucleuspowered.nucleus.core.services.impl.userprefs.PreferenceKeyImpl;
+import io.github.nucleuspowered.nucleus.modules.message.services.MessageHandler;
 
 public final class MessageKeys {
 
@@ -22,7 +23,9 @@ public final class MessageKeys {
             true,
             ((serviceCollection, user) -> serviceCollection.permissionService().hasPermission(user, MessagePermissions.BASE_SOCIALSPY)
                     && !serviceCollection.permissionService().hasPermission(user, MessagePermissions.SOCIALSPY_FORCE)),
-            "userpref.socialspy"
+            "userpref.socialspy",
+            (serviceCollection, user, value) ->
+                    serviceCollection.getServiceUnchecked(MessageHandler.class).onSocialSpyPreferenceSet(user, value)
     );
 
 }
@@ -8,19 +8,43 @@ import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.modules.message.services.MessageHandler;
 import io.github.nucleuspowered.nucleus.core.scaffold.listener.ListenerBase;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.network.ServerSideConnectionEvent;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class MessageListener implements ListenerBase {
 
     private final MessageHandler messageHandler;
+    private final PluginContainer pluginContainer;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean(false);
 
     @Inject
     public MessageListener(final INucleusServiceCollection serviceCollection) {
         this.messageHandler = serviceCollection.getServiceUnchecked(MessageHandler.class);
+        this.pluginContainer = serviceCollection.pluginContainer();
+    }
+
+    @Listener(order = Order.POST)
+    public void onSubjectDataUpdate(final SubjectDataUpdateEvent event) {
+        // This may be fired off the main thread, and before cached permissions have been cleared, so the
+        // social spies are refreshed on the next tick. A burst of updates only causes one refresh.
+        if (this.refreshScheduled.compareAndSet(false, true)) {
+            Sponge.server().scheduler().submit(Task.builder()
+                    .execute(() -> {
+                        this.refreshScheduled.set(false);
+                        this.messageHandler.refreshSocialSpies();
+                    })
+                    .plugin(this.pluginContainer)
+                    .build());
+        }
     }
 
     @Listener(order = Order.LAST)
@@ -34,11 +34,11 @@ import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 import org.spongepowered.api.event.CauseStackManager;
-import org.spongepowered.api.util.Identifiable;
 import org.spongepowered.api.util.Tristate;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -59,12 +59,14 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
     private final SystemMessageTarget systemMessageTarget;
     private final Map<UUID, PlayerMessageTarget> players = new HashMap<>();
     private final Map<String, CustomMessageTarget> targetNames = new HashMap<>();
+    private final SocialSpyIndex socialSpies = new SocialSpyIndex();
 
     @Inject
     public MessageHandler(final INucleusServiceCollection serviceCollection) {
         this.serviceCollection = serviceCollection;
         this.systemMessageTarget =
                 new SystemSubjectMessageTarget(serviceCollection.playerDisplayNameService().getDisplayName(Util.CONSOLE_FAKE_UUID));
+        serviceCollection.metricsService().registerGauge("socialspy.spies", this.socialSpies::size);
     }
 
     @Override
@@ -73,6 +75,60 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
         this.useLevels = this.messageConfig.isSocialSpyLevels();
         this.sameLevel = this.messageConfig.isSocialSpySameLevel();
         this.serverLevel = this.messageConfig.getServerLevel();
+        this.refreshSocialSpies();
+    }
+
+    /**
+     * Recalculates whether each online player is a social spy, and at what level.
+     */
+    public void refreshSocialSpies() {
+        for (final ServerPlayer player : Sponge.server().onlinePlayers()) {
+            this.refreshSocialSpy(player);
+        }
+    }
+
+    /**
+     * Recalculates whether the player is a social spy, and at what level.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    public void refreshSocialSpy(final UUID uuid) {
+        final Optional<ServerPlayer> player = Sponge.server().player(uuid);
+        if (player.isPresent()) {
+            this.refreshSocialSpy(player.get());
+        } else {
+            this.socialSpies.remove(uuid);
+        }
+    }
+
+    private void refreshSocialSpy(final ServerPlayer player) {
+        this.updateSocialSpy(player, this.isSocialSpy(player.uniqueId()));
+    }
+
+    /**
+     * Updates the index when the social spy preference is set. As the preference is
+     * stored asynchronously, the new value is used directly.
+     *
+     * @param uuid The {@link UUID} of the player
+     * @param preference The new preference, or null for the default
+     */
+    public void onSocialSpyPreferenceSet(final UUID uuid, @Nullable final Boolean preference) {
+        final Optional<ServerPlayer> player = Sponge.server().player(uuid);
+        if (player.isPresent()) {
+            final Tristate ts = this.forcedSocialSpyState(uuid);
+            final boolean isSpy;
+            if (ts == Tristate.UNDEFINED) {
+                isSpy = preference == null ? MessageKeys.SOCIAL_SPY.getDefaultValue().orElse(false) : preference;
+            } else {
+                isSpy = ts.asBoolean();
+            }
+            this.updateSocialSpy(player.get(), isSpy);
+        }
+    }
+
+    private void updateSocialSpy(final ServerPlayer player, final boolean isSpy) {
+        final int level = isSpy && this.useLevels ? this.getSocialSpyLevel(player) : 0;
+        this.socialSpies.update(player.uniqueId(), isSpy, level);
     }
 
     @Override
@@ -104,6 +160,11 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
     @Override
     public int getSocialSpyLevel(final UUID uuid) {
         if (this.useLevels) {
+            final Optional<ServerPlayer> player = Sponge.server().player(uuid);
+            if (player.isPresent()) {
+                return this.getSocialSpyLevel(player.get());
+            }
+
             final User user = Sponge.server().userManager().load(uuid).join().orElseThrow(() -> new IllegalArgumentException("Cannot get user with "
                     + "UUID " + uuid.toString()));
             return this.serviceCollection.permissionService().getPositiveIntOptionFromSubject(user, MessagePermissions.SOCIALSPY_LEVEL_KEY).orElse(0);
@@ -111,6 +172,10 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
         return 0;
     }
 
+    private int getSocialSpyLevel(final ServerPlayer player) {
+        return this.serviceCollection.permissionService().getPositiveIntOptionFromSubject(player, MessagePermissions.SOCIALSPY_LEVEL_KEY).orElse(0);
+    }
+
     @Override
     public Tristate forcedSocialSpyState(final UUID user) {
         final IPermissionService permissionService = this.serviceCollection.permissionService();
@@ -132,6 +197,7 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
             return false;
         }
 
+        // The preference key updates the index when it is set.
         this.serviceCollection.userPreferenceService().set(user, MessageKeys.SOCIAL_SPY, isSocialSpy);
         return true;
     }
@@ -177,23 +243,18 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
                 .collect(Collectors.toSet());
 
         // Get those who aren't the subjects and have social spy on.
-        final Set<ServerPlayer> sources = Sponge.server().onlinePlayers()
-                .stream()
-                .filter(x -> !uuidsToSpyOn.contains(x.uniqueId()))
-                .filter(x -> this.isSocialSpy(x.uniqueId()))
-                .collect(Collectors.toSet());
-
         if (!this.useLevels) {
-            return sources.stream().map(Identifiable::uniqueId).collect(Collectors.toSet());
+            return this.socialSpies.spiesAtOrAbove(uuidsToSpyOn, Integer.MIN_VALUE);
         }
 
         // Get the highest level from the sources to spy on.
         final int highestLevel = toSpyOn.stream().mapToInt(this::getSocialSpyLevelForSource).max().orElse(0);
-        return sources.stream()
-            .filter(x -> this.sameLevel ? this.getSocialSpyLevel(x.uniqueId()) >= highestLevel :
-                    this.getSocialSpyLevel(x.uniqueId()) > highestLevel)
-            .map(Identifiable::uniqueId)
-            .collect(Collectors.toSet());
+        if (this.sameLevel) {
+            return this.socialSpies.spiesAtOrAbove(uuidsToSpyOn, highestLevel);
+        } else if (highestLevel == Integer.MAX_VALUE) {
+            return new HashSet<>();
+        }
+        return this.socialSpies.spiesAtOrAbove(uuidsToSpyOn, highestLevel + 1);
     }
 
     @Override
@@ -339,10 +400,12 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
                 this.serviceCollection.userPreferenceService(),
                 this.serviceCollection.permissionService(),
                 this.serviceCollection.playerDisplayNameService()));
+        this.refreshSocialSpy(uuid);
     }
 
     public void removePlayer(final UUID uuid) {
         this.players.remove(uuid);
+        this.socialSpies.remove(uuid);
     }
 
     private UUID getUUID(final MessageTarget sender) {
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.message.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The online players who have social spy enabled, ordered from the highest social spy level
+ * to the lowest.
+ *
+ * <p>Updates copy the backing array, so reads never lock and always see a consistent set.
+ * Updates are expected to be rare compared to reads, happening on join, quit, toggle and
+ * permission changes.</p>
+ */
+final class SocialSpyIndex {
+
+    private static final Spy[] EMPTY = new Spy[0];
+    private static final Comparator<Spy> HIGHEST_LEVEL_FIRST = Comparator.comparingInt((Spy x) -> x.level).reversed();
+
+    private volatile Spy[] spies = EMPTY;
+
+    /**
+     * Adds, updates or removes the player.
+     *
+     * @param uuid The {@link UUID} of the player
+     * @param isSpy Whether the player should be in the index
+     * @param level The player's social spy level
+     */
+    synchronized void update(final UUID uuid, final boolean isSpy, final int level) {
+        final List<Spy> next = new ArrayList<>(this.spies.length + 1);
+        for (final Spy spy : this.spies) {
+            if (!spy.uuid.equals(uuid)) {
+                next.add(spy);
+            }
+        }
+
+        if (isSpy) {
+            next.add(new Spy(uuid, level));
+            next.sort(HIGHEST_LEVEL_FIRST);
+        } else if (next.size() == this.spies.length) {
+            // nothing to do
+            return;
+        }
+
+        this.spies = next.toArray(EMPTY);
+    }
+
+    synchronized void remove(final UUID uuid) {
+        this.update(uuid, false, 0);
+    }
+
+    /**
+     * Gets the spies that are not excluded, and whose level is at least the minimum.
+     *
+     * @param exclude The players to leave out
+     * @param minimumLevel The minimum level a spy must have
+     * @return The spies
+     */
+    Set<UUID> spiesAtOrAbove(final Collection<UUID> exclude, final int minimumLevel) {
+        final Spy[] current = this.spies;
+        final Set<UUID> result = new HashSet<>();
+        for (final Spy spy : current) {
+            if (spy.level < minimumLevel) {
+                // sorted, so nobody else qualifies
+                break;
+            }
+
+            if (!exclude.contains(spy.uuid)) {
+                result.add(spy.uuid);
+            }
+        }
+
+        return result;
+    }
+
+    int size() {
+        return this.spies.length;
+    }
+
+    private static final class Spy {
+
+        private final UUID uuid;
+        private final int level;
+
+        private Spy(final UUID uuid, final int level) {
+            this.uuid = uuid;
+            this.level = level;
+        }
+    }
+
+}
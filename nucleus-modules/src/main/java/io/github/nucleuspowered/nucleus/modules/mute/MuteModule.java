@@ -15,11 +15,9 @@ import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfig;
 import io.github.nucleuspowered.nucleus.modules.mute.infoprovider.MuteInfoProvider;
 import io.github.nucleuspowered.nucleus.modules.mute.listeners.MuteCommandListener;
 import io.github.nucleuspowered.nucleus.modules.mute.listeners.MuteListener;
-import io.github.nucleuspowered.nucleus.modules.mute.runnables.MuteTask;
 import io.github.nucleuspowered.nucleus.modules.mute.services.MuteService;
 import io.github.nucleuspowered.nucleus.core.scaffold.command.ICommandExecutor;
 import io.github.nucleuspowered.nucleus.core.scaffold.listener.ListenerBase;
-import io.github.nucleuspowered.nucleus.core.scaffold.task.TaskBase;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.core.services.impl.playerinformation.NucleusProvider;
 import net.kyori.adventure.text.Component;
@@ -30,7 +28,6 @@ import org.spongepowered.api.placeholder.PlaceholderParser;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Optional;
 
 public class MuteModule implements IModule.Configurable<MuteConfig> { // ConfigurableModule<MuteConfig, MuteConfigAdapter> {
@@ -80,11 +77,6 @@ public class MuteModule implements IModule.Configurable<MuteConfig> { // Configu
         );
     }
 
-    @Override
-    public Collection<Class<? extends TaskBase>> getAsyncTasks() {
-        return Collections.singleton(MuteTask.class);
-    }
-
     @Override
     public Optional<NucleusProvider> getInfoProvider() {
         return Optional.of(new MuteInfoProvider());
@@ -12,6 +12,7 @@ import io.github.nucleuspowered.nucleus.modules.mute.MuteKeys;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfig;
 import io.github.nucleuspowered.nucleus.modules.mute.events.MuteEvent;
 import io.github.nucleuspowered.nucleus.core.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.core.services.interfaces.IExpiryService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IMessageProviderService;
 import io.github.nucleuspowered.nucleus.core.services.interfaces.IReloadableService;
 import net.kyori.adventure.text.Component;
@@ -28,6 +29,8 @@ import java.util.UUID;
 
 public final class MuteService implements NucleusMuteService, IReloadableService.DataLocationReloadable, IReloadableService.Reloadable {
 
+    private static final String EXPIRY_CATEGORY = "mute";
+
     public static final Mute NOT_MUTED = new Mute() {
         @Override public String getReason() {
             return null;
@@ -60,6 +63,7 @@ public final class MuteService implements NucleusMuteService, IReloadableService
     private final List<UUID> voicedUsers = new ArrayList<>();
 
     private final INucleusServiceCollection serviceCollection;
+    private final IExpiryService expiryService;
     private final LoadingCache<UUID, Mute> mutes;
 
     public MuteService(final INucleusServiceCollection serviceCollection) {
@@ -68,14 +72,28 @@ public final class MuteService implements NucleusMuteService, IReloadableService
                 .build(key -> this.serviceCollection.storageManager().getOrCreateUserOnThread(key).get(MuteKeys.MUTE_DATA)
                         .<Mute>map(data -> MutedEntry.fromMuteData(key, data, this.isOnlineOnly))
                         .orElse(MuteService.NOT_MUTED));
+        this.expiryService = serviceCollection.expiryService();
+        this.expiryService.registerHandler(EXPIRY_CATEGORY, this::onExpiry);
+    }
+
+    private void onExpiry(final UUID uuid) {
+        final Mute mute = this.mutes.getIfPresent(uuid);
+        if (mute != null && mute != MuteService.NOT_MUTED) {
+            if (mute.expired()) {
+                this.unmutePlayer(uuid);
+            } else {
+                // The mute was replaced after this was due.
+                this.scheduleExpiry(uuid, mute);
+            }
+        }
     }
 
-    public void checkExpiry() {
-        for (final ServerPlayer uuid : Sponge.server().onlinePlayers()) {
-            final Mute mute = this.mutes.get(uuid.uniqueId());
-            if (mute != null && mute != MuteService.NOT_MUTED && mute.expired()) {
-                this.serviceCollection.schedulerService().runOnMainThread(() -> this.unmutePlayer(uuid.uniqueId()));
-            }
+    private void scheduleExpiry(final UUID uuid, final Mute mute) {
+        final Optional<Instant> expiry = mute instanceof MutedEntry ? ((MutedEntry) mute).getExpiryInstant() : Optional.empty();
+        if (expiry.isPresent()) {
+            this.expiryService.schedule(EXPIRY_CATEGORY, uuid, expiry.get());
+        } else {
+            this.expiryService.cancel(EXPIRY_CATEGORY, uuid);
         }
     }
 
@@ -113,7 +131,8 @@ public final class MuteService implements NucleusMuteService, IReloadableService
             uuid = null;
         }
         final MutedEntry entry = MutedEntry.fromMutingRequest(user, reason, uuid, Instant.now(), duration);
-        this.serviceCollection.storageManager().getUserService().setAndSave(user, MuteKeys.MUTE_DATA, entry.asMuteData(this.isOnlineOnly));
+        this.serviceCollection.storageManager().getUserService().setAndSave(user, MuteKeys.MUTE_DATA, entry.asMuteData(this.isOnlineOnly))
+                .thenRun(() -> this.serviceCollection.userCacheService().updateCacheForPlayer(user));
         Sponge.eventManager().post(new MuteEvent.Muted(
                 Sponge.server().causeStackManager().currentCause(),
                 user,
@@ -124,6 +143,7 @@ public final class MuteService implements NucleusMuteService, IReloadableService
         Sponge.server().player(user).ifPresent(x -> {
             this.mutes.invalidate(user);
             this.mutes.put(user, entry);
+            this.scheduleExpiry(user, entry);
             this.onMute(entry, x);
         });
         return true;
@@ -133,8 +153,10 @@ public final class MuteService implements NucleusMuteService, IReloadableService
     public boolean unmutePlayer(final UUID uuid) {
         final Optional<Mute> mute = this.getPlayerMuteInfo(uuid);
         if (mute.isPresent()) {
-            this.serviceCollection.storageManager().getUserService().removeAndSave(uuid, MuteKeys.MUTE_DATA);
+            this.serviceCollection.storageManager().getUserService().removeAndSave(uuid, MuteKeys.MUTE_DATA)
+                    .thenRun(() -> this.serviceCollection.userCacheService().updateCacheForPlayer(uuid));
             this.mutes.invalidate(uuid);
+            this.expiryService.cancel(EXPIRY_CATEGORY, uuid);
             Sponge.eventManager().post(new MuteEvent.Unmuted(
                     Sponge.server().causeStackManager().currentCause(),
                     uuid,
@@ -158,12 +180,14 @@ public final class MuteService implements NucleusMuteService, IReloadableService
                     .setAndSave(player, MuteKeys.MUTE_DATA, ((MutedEntry) muteData).asMuteData(this.isOnlineOnly));
         }
         this.mutes.invalidate(player);
+        this.expiryService.cancel(EXPIRY_CATEGORY, player);
     }
 
     public void onPlayerLogin(final ServerPlayer player) {
         this.mutes.refresh(player.uniqueId());
         final Mute mute = this.mutes.get(player.uniqueId());
         if (mute != MuteService.NOT_MUTED && mute instanceof MutedEntry) {
+            this.scheduleExpiry(player.uniqueId(), mute);
             this.onMute(mute, player);
         }
     }
@@ -72,6 +72,15 @@ public abstract class MutedEntry implements Mute {
         return Optional.empty();
     }
 
+    /**
+     * Gets when this mute expires, if it is currently ticking down.
+     *
+     * @return The {@link Instant}, if any
+     */
+    public Optional<Instant> getExpiryInstant() {
+        return Optional.empty();
+    }
+
     public abstract MuteData asMuteData(final boolean tickOnlineOnly);
 
     public final static class Untimed extends MutedEntry {
@@ -130,6 +139,11 @@ public abstract class MutedEntry implements Mute {
             return this.endTime.isBefore(Instant.now());
         }
 
+        @Override
+        public Optional<Instant> getExpiryInstant() {
+            return Optional.of(this.endTime);
+        }
+
         @Override
         public boolean isCurrentlyTicking() {
             return true;
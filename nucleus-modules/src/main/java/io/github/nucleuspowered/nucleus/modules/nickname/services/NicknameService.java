@@ -48,7 +48,6 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.UUID;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @APIService(NucleusNicknameService.class)
 public class NicknameService implements NucleusNicknameService, IReloadableService.Reloadable, ServiceBase {
@@ -83,9 +82,7 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
                         return NicknameService.this.getFromCache(name).map(ServerPlayer::user);
                     }
 
-                    @Override public Map<UUID, String> startsWith(final String name) {
-                        return NicknameService.this.startsWithUUIDStringMap(name);
-                    }
+                    // Nicknames of online players are in the name index, so startsWith is not needed.
                 }
         );
     }
@@ -97,6 +94,9 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
     public void updateCache(final UUID player, final Component text) {
         this.cache.put(player, text.toString());
         this.textCache.put(player, text);
+        if (Sponge.server().player(player).isPresent()) {
+            this.playerDisplayNameService.setIndexedNickname(player, PlainComponentSerializer.plain().serialize(text).trim());
+        }
     }
 
     public Optional<ServerPlayer> getFromCache(final String text) {
@@ -143,27 +143,11 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
         return Collections.unmodifiableMap(mapToReturn);
     }
 
-    public Map<String, UUID> startsWithGetMap(final String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    public Map<UUID, String> startsWithUUIDStringMap(final String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
-    }
-
-
-    public List<UUID> startsWith(final String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
-    }
-
     public void removeFromCache(final UUID player) {
         this.cache.remove(player);
         this.textCache.remove(player);
         this.cached.remove(player);
+        this.playerDisplayNameService.setIndexedNickname(player, null);
     }
 
     @Override
@@ -218,6 +202,7 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
 
         this.storageManager.getUserService().removeAndSave(uuid, NicknameKeys.USER_NICKNAME_JSON);
         this.removeFromCache(uuid);
+        this.playerDisplayNameService.invalidateDisplayName(uuid);
         Sponge.eventManager().post(new ChangeNicknameEventPost(cause, currentNickname, null, uuid));
 
         final Optional<User> user = Sponge.server().userManager().load(uuid).join();
@@ -304,6 +289,7 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
 
         this.storageManager.getUserService().setAndSave(pl, NicknameKeys.USER_NICKNAME_JSON, GsonComponentSerializer.gson().serialize(nickname));
         this.updateCache(pl, nickname);
+        this.playerDisplayNameService.invalidateDisplayName(pl);
 
         Sponge.eventManager().post(new ChangeNicknameEventPost(Sponge.server().causeStackManager().currentCause(),
                 currentNickname, nickname, pl));